@@ -0,0 +1,134 @@
+package com.ufc.blog.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Move para a camada fria ({@code comments.archived}) os comentários de posts arquivados há mais de
+ * {@code app.archive.after}, medido pela última alteração do post. No PostgreSQL particionado
+ * (ver {@link CommentPartitioning}) o {@code UPDATE} leva as linhas para {@code comments_cold}, deixando as
+ * partições quentes só com comentários de posts ativos; em outros bancos apenas marca as linhas.
+ *
+ * <p>Roda a cada {@code app.archive.interval-ms}, em lotes de {@code app.archive.batch-size} comentários, cada
+ * um na sua transação. Cada lote trava as linhas dos posts e confere de novo o status, de modo que um post
+ * desarquivado durante a execução não tem comentários movidos depois da restauração ({@link #restore}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommentArchiver {
+
+    private static final String MOVED = "blog.comments.tier.moves";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+    @Value("${app.archive.after:P90D}")
+    private Duration after;
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.archive.interval-ms:3600000}", initialDelayString = "${app.archive.interval-ms:3600000}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long moved = archiveBefore(LocalDateTime.now().minus(after));
+        if (moved > 0) {
+            log.info("{} comentários de posts arquivados movidos para a camada fria em {} ms", moved, System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Move para a camada fria os comentários dos posts arquivados sem alteração desde {@code cutoff}.
+     *
+     * @return número de comentários movidos
+     */
+    public long archiveBefore(LocalDateTime cutoff) {
+        long moved = 0;
+        List<Long> postIds;
+        while (!(postIds = jdbcTemplate.queryForList("""
+                SELECT p.id FROM posts p
+                WHERE p.status = 'ARCHIVED' AND p.updated_at < ?
+                  AND EXISTS (SELECT 1 FROM comments c WHERE c.post_id = p.id AND c.archived = FALSE)
+                ORDER BY p.id LIMIT ?""", Long.class, cutoff, batchSize)).isEmpty()) {
+            List<Long> candidates = postIds;
+            long movedNow = 0;
+            Integer batch;
+            while ((batch = transactionTemplate.execute(status -> moveBatch(candidates, cutoff))) != null && batch > 0) {
+                movedNow += batch;
+            }
+            if (movedNow == 0) {
+                // Posts desarquivados ou editados desde a seleção: ficam para a próxima execução.
+                break;
+            }
+            moved += movedNow;
+        }
+        counter("cold").increment(moved);
+        return moved;
+    }
+
+    /**
+     * Traz de volta para a camada quente os comentários de um post que deixou de estar arquivado.
+     * Roda na transação da mudança de status, depois de o novo status ter sido gravado.
+     *
+     * @return número de comentários restaurados
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int restore(Long postId) {
+        int restored = jdbcTemplate.update("UPDATE comments SET archived = FALSE WHERE post_id = ? AND archived = TRUE", postId);
+        if (restored > 0) {
+            counter("hot").increment(restored);
+            log.info("{} comentários do post {} restaurados para a camada quente", restored, postId);
+        }
+        return restored;
+    }
+
+    /**
+     * Trava os posts que continuam arquivados e move um lote dos seus comentários.
+     */
+    private int moveBatch(List<Long> postIds, LocalDateTime cutoff) {
+        Object[] args = new Object[postIds.size() + 1];
+        System.arraycopy(postIds.toArray(), 0, args, 0, postIds.size());
+        args[postIds.size()] = cutoff;
+        List<Long> locked = jdbcTemplate.queryForList("SELECT id FROM posts WHERE id IN (" + placeholders(postIds.size())
+                + ") AND status = 'ARCHIVED' AND updated_at < ? FOR UPDATE", Long.class, args);
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        Object[] limited = new Object[locked.size() + 1];
+        System.arraycopy(locked.toArray(), 0, limited, 0, locked.size());
+        limited[locked.size()] = batchSize;
+        return jdbcTemplate.update("UPDATE comments SET archived = TRUE WHERE id IN (SELECT id FROM comments WHERE post_id IN ("
+                + placeholders(locked.size()) + ") AND archived = FALSE ORDER BY id LIMIT ?)", limited);
+    }
+
+    private Counter counter(String tier) {
+        return Counter.builder(MOVED)
+                .description("Comentários movidos entre as camadas quente e fria")
+                .tag("to", tier)
+                .register(meterRegistry);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
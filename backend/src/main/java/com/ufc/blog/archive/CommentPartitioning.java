@@ -0,0 +1,162 @@
+package com.ufc.blog.archive;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Particionamento da tabela {@code comments} no PostgreSQL: primeiro pela camada ({@code archived}), depois
+ * pelo mês de criação.
+ * <pre>
+ * comments              PARTITION BY LIST (archived)
+ * ├── comments_hot      FOR VALUES IN (FALSE), PARTITION BY RANGE (created_at)
+ * │   ├── comments_hot_2025_09 ...
+ * │   └── comments_hot_default
+ * └── comments_cold     FOR VALUES IN (TRUE), PARTITION BY RANGE (created_at)  [app.archive.partitioning.cold-tablespace]
+ *     ├── comments_cold_2025_09 ...
+ *     └── comments_cold_default
+ * </pre>
+ * O {@link CommentArchiver} move linhas entre as camadas com um {@code UPDATE} de {@code archived}; o
+ * mapeamento JPA não muda, e os finders leem a tabela {@code comments} como antes.
+ *
+ * <p>Opt-in ({@code app.archive.partitioning.enabled}): a conversão roda uma vez, na inicialização, depois que o
+ * Hibernate ({@code ddl-auto: update}) criou as tabelas, numa única transação que recria a tabela e copia as linhas.
+ * A chave primária passa a ser {@code (id, archived, created_at)}, porque o PostgreSQL exige a chave de partição em
+ * toda restrição de unicidade; pelo mesmo motivo {@code ingestion_id} é só indexado, nos dois esquemas, com o
+ * mesmo nome de índice que o mapeamento declara.
+ * Os meses seguintes são criados com {@code app.archive.partitioning.months-ahead} de antecedência, na inicialização
+ * e diariamente. Em outros bancos não faz nada.
+ *
+ * <p>{@code posts} não é particionada: comentários, corpos, visualizações e pontuações têm chave estrangeira para
+ * {@code posts.id}, que não sobreviveria ao particionamento, e a linha do post é estreita (o corpo fica em
+ * {@code post_bodies}).
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class CommentPartitioning {
+
+    static final List<String> TIERS = List.of("comments_hot", "comments_cold");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.archive.partitioning.enabled:false}")
+    private boolean enabled;
+    @Value("${app.archive.partitioning.months-ahead:3}")
+    private int monthsAhead;
+    @Value("${app.archive.partitioning.cold-tablespace:}")
+    private String coldTablespace;
+
+    private volatile boolean partitioned;
+
+    @PostConstruct
+    void migrate() {
+        if (!isPostgres()) {
+            return;
+        }
+        partitioned = "p".equals(jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass('comments')", String.class));
+        if (!partitioned && enabled) {
+            convert();
+            partitioned = true;
+        }
+        createUpcoming();
+    }
+
+    /**
+     * Indica se {@code comments} está particionada (apenas no PostgreSQL).
+     */
+    public boolean isPartitioned() {
+        return partitioned;
+    }
+
+    /**
+     * Cria as partições mensais do mês corrente até {@code months-ahead} meses à frente, nas duas camadas.
+     */
+    @Scheduled(cron = "${app.archive.partitioning.maintenance-cron:0 0 3 * * *}")
+    public void createUpcoming() {
+        if (!partitioned) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (String tier : TIERS) {
+            for (int i = 0; i <= monthsAhead; i++) {
+                try {
+                    createMonth(tier, current.plusMonths(i));
+                } catch (DataAccessException e) {
+                    // Linhas do mês já gravadas na partição padrão impedem a criação; o mês segue na padrão.
+                    log.warn("Partição de {} para {} não criada: {}", tier, current.plusMonths(i), e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Recria {@code comments} como tabela particionada e copia as linhas, numa única transação.
+     */
+    private void convert() {
+        long start = System.currentTimeMillis();
+        Long rows = transactionTemplate.execute(status -> {
+            List<String> foreignKeys = jdbcTemplate.queryForList("""
+                    SELECT 'ADD CONSTRAINT ' || quote_ident(conname) || ' ' || pg_get_constraintdef(oid)
+                    FROM pg_constraint WHERE conrelid = 'comments'::regclass AND contype = 'f'""", String.class);
+            LocalDateTime oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM comments", LocalDateTime.class);
+
+            jdbcTemplate.execute("ALTER TABLE comments RENAME TO comments_unpartitioned");
+            jdbcTemplate.execute("CREATE TABLE comments (LIKE comments_unpartitioned INCLUDING DEFAULTS) PARTITION BY LIST (archived)");
+            jdbcTemplate.execute("CREATE TABLE comments_hot PARTITION OF comments FOR VALUES IN (FALSE) PARTITION BY RANGE (created_at)");
+            jdbcTemplate.execute("CREATE TABLE comments_cold PARTITION OF comments FOR VALUES IN (TRUE) PARTITION BY RANGE (created_at)"
+                    + (coldTablespace.isBlank() ? "" : " TABLESPACE " + coldTablespace));
+            for (String tier : TIERS) {
+                jdbcTemplate.execute("CREATE TABLE " + tier + "_default PARTITION OF " + tier + " DEFAULT");
+                for (YearMonth month = oldest != null ? YearMonth.from(oldest) : YearMonth.now();
+                     !month.isAfter(YearMonth.now()); month = month.plusMonths(1)) {
+                    createMonth(tier, month);
+                }
+            }
+
+            int copied = jdbcTemplate.update("INSERT INTO comments SELECT * FROM comments_unpartitioned");
+            jdbcTemplate.execute("DROP TABLE comments_unpartitioned");
+
+            // A coluna identity não é copiada pelo LIKE (e só é aceita em tabelas particionadas a partir do PostgreSQL 17).
+            jdbcTemplate.execute("CREATE SEQUENCE comments_id_seq OWNED BY comments.id");
+            jdbcTemplate.execute("SELECT setval('comments_id_seq', COALESCE((SELECT MAX(id) FROM comments), 0) + 1, false)");
+            jdbcTemplate.execute("ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_id_seq')");
+
+            jdbcTemplate.execute("ALTER TABLE comments ADD PRIMARY KEY (id, archived, created_at)");
+            foreignKeys.forEach(fk -> jdbcTemplate.execute("ALTER TABLE comments " + fk));
+            jdbcTemplate.execute("CREATE INDEX comments_post_created_idx ON comments (post_id, created_at)");
+            jdbcTemplate.execute("CREATE INDEX comments_author_idx ON comments (author_id)");
+            jdbcTemplate.execute("CREATE INDEX comments_ingestion_idx ON comments (ingestion_id)");
+            return (long) copied;
+        });
+        log.info("Tabela comments particionada por camada e mês: {} linhas copiadas em {} ms",
+                rows, System.currentTimeMillis() - start);
+    }
+
+    private void createMonth(String tier, YearMonth month) {
+        LocalDate from = month.atDay(1);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS %s_%d_%02d PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')"
+                .formatted(tier, month.getYear(), month.getMonthValue(), tier, from, from.plusMonths(1)));
+    }
+
+    private boolean isPostgres() {
+        return "PostgreSQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+    }
+}
@@ -0,0 +1,109 @@
+package com.ufc.blog.archive;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * {@code GET /actuator/partitions}: partições de {@code comments} com o número estimado de linhas e, para as
+ * consultas dos principais finders de comentários, as partições que o PostgreSQL lê segundo o {@code EXPLAIN},
+ * com os parâmetros do post mais recente. Sem particionamento, só informa {@code partitioned: false}.
+ */
+@Endpoint(id = "partitions")
+@RequiredArgsConstructor
+public class PartitionPruningEndpoint {
+
+    /**
+     * Tabela lida por um nó do plano; índices aparecem em {@code "Index Name"}, não aqui.
+     */
+    private static final Pattern SCANNED = Pattern.compile("\"Relation Name\":\\s*\"(\\w+)\"");
+
+    /**
+     * SQL equivalente ao gerado para cada finder, com parâmetros na ordem (post, criação do post, autor).
+     */
+    private static final Map<String, String> FINDERS = Map.of(
+            "CommentRepository.findHotByPostId",
+            "SELECT * FROM comments WHERE post_id = ? AND archived = FALSE AND created_at >= ?",
+            "CommentRepository.findByPostIdSince",
+            "SELECT * FROM comments WHERE post_id = ? AND created_at >= ?",
+            "CommentRepository.findByAuthorId",
+            "SELECT * FROM comments WHERE author_id = ?");
+
+    private final CommentPartitioning commentPartitioning;
+    private final JdbcTemplate jdbcTemplate;
+
+    @ReadOperation
+    public PartitionReport report() {
+        if (!commentPartitioning.isPartitioned()) {
+            return new PartitionReport(false, List.of(), List.of());
+        }
+        List<Partition> partitions = jdbcTemplate.query("""
+                SELECT c.relname, parent.relname, pg_get_expr(c.relpartbound, c.oid), c.reltuples::bigint
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class parent ON parent.oid = i.inhparent
+                WHERE parent.relname IN ('comments', 'comments_hot', 'comments_cold')
+                ORDER BY parent.relname, c.relname""",
+                (rs, i) -> new Partition(rs.getString(1), rs.getString(2), rs.getString(3), Math.max(0, rs.getLong(4))));
+        Set<String> leaves = partitions.stream()
+                .map(Partition::name)
+                .filter(name -> !CommentPartitioning.TIERS.contains(name))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        List<Map<String, Object>> sample = jdbcTemplate.queryForList("SELECT id, created_at, author_id FROM posts ORDER BY id DESC LIMIT 1");
+        List<FinderPlan> finders = new ArrayList<>();
+        if (!sample.isEmpty()) {
+            Map<String, Object> post = sample.getFirst();
+            Object postId = post.get("id");
+            Timestamp createdAt = (Timestamp) post.get("created_at");
+            Object authorId = post.get("author_id");
+            FINDERS.forEach((finder, sql) -> {
+                Object[] args = sql.contains("author_id") ? new Object[]{authorId} : new Object[]{postId, createdAt};
+                Set<String> scanned = scannedPartitions(sql, args, leaves);
+                finders.add(new FinderPlan(finder, sql, List.copyOf(scanned), leaves.size(), scanned.size() < leaves.size()));
+            });
+        }
+        return new PartitionReport(true, partitions, finders);
+    }
+
+    /**
+     * Partições folha que aparecem como relação lida no plano em JSON.
+     */
+    private Set<String> scannedPartitions(String sql, Object[] args, Set<String> leaves) {
+        Set<String> scanned = new LinkedHashSet<>();
+        for (String plan : jdbcTemplate.queryForList("EXPLAIN (FORMAT JSON) " + sql, String.class, args)) {
+            Matcher matcher = SCANNED.matcher(plan);
+            while (matcher.find()) {
+                if (leaves.contains(matcher.group(1))) {
+                    scanned.add(matcher.group(1));
+                }
+            }
+        }
+        return scanned;
+    }
+
+    public record Partition(String name, String parent, String bounds, long estimatedRows) {
+    }
+
+    /**
+     * @param scannedPartitions partições folha lidas pelo plano
+     * @param totalPartitions   partições folha existentes
+     * @param pruned            se o plano descartou alguma partição
+     */
+    public record FinderPlan(String finder, String sql, List<String> scannedPartitions, int totalPartitions, boolean pruned) {
+    }
+
+    public record PartitionReport(boolean partitioned, List<Partition> partitions, List<FinderPlan> finders) {
+    }
+}
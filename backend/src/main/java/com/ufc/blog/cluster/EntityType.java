@@ -0,0 +1,10 @@
+package com.ufc.blog.cluster;
+
+/**
+ * Entidades cujas mudanças são propagadas entre as instâncias.
+ */
+public enum EntityType {
+    USER,
+    POST,
+    COMMENT
+}
@@ -0,0 +1,49 @@
+package com.ufc.blog.cluster;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Transporte entre contextos Spring da mesma JVM ({@code app.cluster.transport: in-jvm}), para testes com várias
+ * instâncias num único processo. A entrega é síncrona, na thread que envia; se alguma instância falhar, o lote
+ * inteiro é reenviado, e as que já o receberam descartam a repetição pela versão.
+ */
+public class InJvmInvalidationTransport implements InvalidationTransport {
+
+    private static final Map<String, Consumer<List<Invalidation>>> NODES = new ConcurrentHashMap<>();
+
+    private String nodeId;
+
+    @Override
+    public void send(String origin, List<Invalidation> batch) {
+        RuntimeException failure = null;
+        for (Map.Entry<String, Consumer<List<Invalidation>>> node : NODES.entrySet()) {
+            if (node.getKey().equals(origin)) {
+                continue;
+            }
+            try {
+                node.getValue().accept(batch);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void start(String nodeId, Consumer<List<Invalidation>> receiver) {
+        this.nodeId = nodeId;
+        NODES.put(nodeId, receiver);
+    }
+
+    @Override
+    public void stop() {
+        if (nodeId != null) {
+            NODES.remove(nodeId);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.ufc.blog.cluster;
+
+/**
+ * Aviso de que uma entidade mudou, trocado entre as instâncias.
+ *
+ * @param origin   instância que fez a mudança
+ * @param sequence posição do aviso entre os da origem, crescente; só é comparada com avisos da mesma origem
+ * @param type     tipo da entidade
+ * @param id       ID da entidade
+ * @param deleted  se a entidade foi removida
+ */
+public record Invalidation(String origin, long sequence, EntityType type, Long id, boolean deleted) {
+
+    /**
+     * Entre dois avisos da mesma entidade e da mesma origem, fica o mais recente.
+     */
+    static Invalidation latest(Invalidation a, Invalidation b) {
+        return b.sequence() > a.sequence() ? b : a;
+    }
+}
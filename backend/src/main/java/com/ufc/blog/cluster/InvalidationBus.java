@@ -0,0 +1,278 @@
+package com.ufc.blog.cluster;
+
+import com.ufc.blog.entity.CacheInvalidation;
+import com.ufc.blog.event.CommentCreatedEvent;
+import com.ufc.blog.event.CommentDeletedEvent;
+import com.ufc.blog.event.EntityInvalidatedEvent;
+import com.ufc.blog.event.PostDeletedEvent;
+import com.ufc.blog.event.PostStatusChangedEvent;
+import com.ufc.blog.event.PostUpdatedEvent;
+import com.ufc.blog.event.UserChangedEvent;
+import com.ufc.blog.event.UserDeletedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Barramento de invalidação entre instâncias. As mudanças de usuários, posts e comentários publicadas pelos
+ * caminhos de escrita (controllers e tarefas em segundo plano, sempre depois do commit) viram avisos
+ * {@link Invalidation} enviados às outras instâncias pelo {@link InvalidationTransport} configurado em
+ * {@code app.cluster.transport}; lá chegam como {@link EntityInvalidatedEvent}, para que cada cache local
+ * descarte ou recarregue a entrada. Sem transporte ({@code none}, o padrão) nada sai da instância.
+ *
+ * <p>Os avisos ficam numa fila que guarda só o mais recente de cada entidade e é enviada em lotes a cada
+ * {@code app.cluster.flush-interval-ms}; um lote que falha volta para a fila. Cada aviso leva a origem (o
+ * {@code app.cluster.node-id} mais um identificador aleatório por inicialização) e uma sequência crescente dessa
+ * origem. Quem recebe descarta os avisos repetidos ou atrasados comparando a sequência apenas com a do último aviso
+ * aplicado da mesma origem para a mesma entidade; relógios de instâncias diferentes nunca são comparados.
+ *
+ * <p>Para proteger os caches contra sobrescrita com dados velhos, cada instância mantém um carimbo local por
+ * entidade, trocado a cada mudança local ou aviso aplicado: quem carrega uma entrada guarda {@link #version} antes
+ * de ler o banco e só a grava se {@link #isCurrent} confirmar que nenhuma mudança chegou durante a leitura.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InvalidationBus {
+
+    private static final String INVALIDATIONS = "blog.cluster.invalidations";
+    private static final long PRUNE_INTERVAL_MILLIS = 60_000;
+
+    private final ObjectProvider<InvalidationTransport> transportProvider;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.cluster.node-id:}")
+    private String configuredNodeId;
+    @Value("${app.cluster.batch-size:500}")
+    private int batchSize;
+    @Value("${app.cluster.version-retention:PT1H}")
+    private Duration versionRetention;
+
+    private String nodeId;
+    private InvalidationTransport transport;
+    private final Map<Key, Invalidation> outbound = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<OriginKey, Applied> applied = new ConcurrentHashMap<>();
+    private final Map<Key, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private volatile long prunedAt = System.currentTimeMillis();
+
+    private Counter sent;
+    private Counter received;
+    private Counter stale;
+
+    @PostConstruct
+    void init() {
+        // O sufixo aleatório separa as sequências de cada inicialização, que recomeçam do zero.
+        String instance = UUID.randomUUID().toString();
+        nodeId = configuredNodeId.isBlank() ? instance : configuredNodeId + "/" + instance;
+        if (nodeId.length() > CacheInvalidation.MAX_ORIGIN_LENGTH) {
+            // Com a origem maior que a coluna, todo envio falharia e seria reenfileirado para sempre.
+            throw new IllegalStateException("app.cluster.node-id '" + configuredNodeId + "' tem mais de "
+                    + (CacheInvalidation.MAX_ORIGIN_LENGTH - instance.length() - 1) + " caracteres");
+        }
+        transport = transportProvider.getIfAvailable();
+        sent = counter("sent");
+        received = counter("received");
+        stale = counter("stale");
+        Gauge.builder("blog.cluster.invalidations.pending", outbound, Map::size)
+                .description("Avisos de invalidação aguardando envio")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (transport != null) {
+            transport.start(nodeId, this::receive);
+            log.info("Barramento de invalidação ativo na instância {} com {}", nodeId, transport.getClass().getSimpleName());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (transport != null) {
+            flush();
+            transport.stop();
+        }
+    }
+
+    // ===== Mudanças locais =====
+
+    @EventListener
+    public void onPostUpdated(PostUpdatedEvent event) {
+        publish(EntityType.POST, event.postId(), false);
+    }
+
+    @EventListener
+    public void onPostStatusChanged(PostStatusChangedEvent event) {
+        publish(EntityType.POST, event.postId(), false);
+    }
+
+    @EventListener
+    public void onPostDeleted(PostDeletedEvent event) {
+        publish(EntityType.POST, event.postId(), true);
+    }
+
+    @EventListener
+    public void onCommentCreated(CommentCreatedEvent event) {
+        // No modo write-behind o comentário ainda não tem ID; o post não muda de versão por isso.
+        if (event.comment().getId() != null) {
+            publish(EntityType.COMMENT, event.comment().getId(), false);
+        }
+    }
+
+    @EventListener
+    public void onCommentDeleted(CommentDeletedEvent event) {
+        publish(EntityType.COMMENT, event.commentId(), true);
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        publish(EntityType.USER, event.userId(), false);
+    }
+
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        publish(EntityType.USER, event.userId(), true);
+    }
+
+    /**
+     * Registra a mudança de uma entidade nesta instância e a enfileira para as outras.
+     */
+    public void publish(EntityType type, Long id, boolean deleted) {
+        Key key = new Key(type, id);
+        touch(key);
+        if (transport != null) {
+            outbound.merge(key, new Invalidation(nodeId, sequence.incrementAndGet(), type, id, deleted), Invalidation::latest);
+        }
+    }
+
+    // ===== Versões =====
+
+    /**
+     * Carimbo local da última mudança conhecida da entidade, ou 0 se nenhuma mudança recente foi vista. Só tem
+     * significado nesta instância.
+     */
+    public long version(EntityType type, Long id) {
+        return versions.getOrDefault(new Key(type, id), 0L);
+    }
+
+    /**
+     * Indica se a entidade não mudou desde que {@link #version} devolveu {@code version}.
+     */
+    public boolean isCurrent(EntityType type, Long id, long version) {
+        return version(type, id) == version;
+    }
+
+    // ===== Envio e recebimento =====
+
+    @Scheduled(fixedDelayString = "${app.cluster.flush-interval-ms:200}")
+    public void flush() {
+        pruneVersions();
+        if (transport == null || outbound.isEmpty()) {
+            return;
+        }
+        List<Invalidation> batch = new ArrayList<>();
+        for (Key key : outbound.keySet()) {
+            Invalidation invalidation = outbound.remove(key);
+            if (invalidation != null) {
+                batch.add(invalidation);
+            }
+        }
+        for (int from = 0; from < batch.size(); from += batchSize) {
+            List<Invalidation> chunk = batch.subList(from, Math.min(batch.size(), from + batchSize));
+            try {
+                transport.send(nodeId, chunk);
+                sent.increment(chunk.size());
+            } catch (RuntimeException e) {
+                // Devolve o restante à fila; avisos mais novos que chegaram nesse meio-tempo prevalecem.
+                batch.subList(from, batch.size()).forEach(i -> outbound.merge(new Key(i.type(), i.id()), i, Invalidation::latest));
+                log.warn("Falha ao enviar {} avisos de invalidação; nova tentativa no próximo ciclo: {}",
+                        batch.size() - from, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Aplica um lote vindo de outras instâncias. O aviso só é registrado como aplicado depois de os listeners
+     * rodarem; se algum falhar, a exceção é propagada para o transporte entregar o lote de novo.
+     */
+    void receive(List<Invalidation> batch) {
+        Map<OriginKey, Invalidation> coalesced = new LinkedHashMap<>();
+        batch.forEach(i -> coalesced.merge(new OriginKey(i.origin(), i.type(), i.id()), i, Invalidation::latest));
+        for (Map.Entry<OriginKey, Invalidation> entry : coalesced.entrySet()) {
+            Invalidation invalidation = entry.getValue();
+            Applied previous = applied.get(entry.getKey());
+            if (previous != null && previous.sequence() >= invalidation.sequence()) {
+                stale.increment();
+                continue;
+            }
+            touch(new Key(invalidation.type(), invalidation.id()));
+            eventPublisher.publishEvent(new EntityInvalidatedEvent(invalidation.type(), invalidation.id(), invalidation.deleted()));
+            applied.merge(entry.getKey(), new Applied(invalidation.sequence(), System.currentTimeMillis()),
+                    (a, b) -> b.sequence() > a.sequence() ? b : a);
+            received.increment();
+        }
+    }
+
+    /**
+     * Troca o carimbo local da entidade; estritamente crescente nesta instância.
+     */
+    private void touch(Key key) {
+        long now = System.currentTimeMillis();
+        versions.put(key, clock.updateAndGet(last -> Math.max(now, last + 1)));
+    }
+
+    /**
+     * Esquece carimbos e sequências aplicadas mais antigos que {@code app.cluster.version-retention} (medidos pelo
+     * relógio desta instância): avisos tão atrasados não chegam mais.
+     */
+    private void pruneVersions() {
+        long now = System.currentTimeMillis();
+        if (now - prunedAt < PRUNE_INTERVAL_MILLIS) {
+            return;
+        }
+        prunedAt = now;
+        long cutoff = now - versionRetention.toMillis();
+        versions.values().removeIf(version -> version < cutoff);
+        applied.values().removeIf(a -> a.appliedAt() < cutoff);
+    }
+
+    private Counter counter(String result) {
+        return Counter.builder(INVALIDATIONS)
+                .description("Avisos de invalidação enviados, aplicados e descartados por serem antigos")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Key(EntityType type, Long id) {
+    }
+
+    private record OriginKey(String origin, EntityType type, Long id) {
+    }
+
+    private record Applied(long sequence, long appliedAt) {
+    }
+}
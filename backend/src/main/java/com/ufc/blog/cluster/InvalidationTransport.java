@@ -0,0 +1,26 @@
+package com.ufc.blog.cluster;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Meio pelo qual o {@link InvalidationBus} troca avisos com as outras instâncias. A entrega é pelo menos uma vez:
+ * o mesmo aviso pode chegar repetido, e o barramento descarta os que não são mais novos que o último aplicado.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Entrega o lote às outras instâncias.
+     *
+     * @throws RuntimeException se o lote não puder ser entregue; o barramento o reenvia no próximo ciclo
+     */
+    void send(String origin, List<Invalidation> batch);
+
+    /**
+     * Passa a entregar ao {@code receiver} os lotes enviados pelas outras instâncias. Se o {@code receiver} lançar
+     * uma exceção, o lote é entregue de novo.
+     */
+    void start(String nodeId, Consumer<List<Invalidation>> receiver);
+
+    void stop();
+}
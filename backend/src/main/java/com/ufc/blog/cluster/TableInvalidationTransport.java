@@ -0,0 +1,150 @@
+package com.ufc.blog.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Transporte pelo próprio banco ({@code app.cluster.transport: table}), sem infraestrutura extra: cada lote é
+ * gravado em {@code cache_invalidations} numa transação, e cada instância lê as linhas novas das outras a cada
+ * {@code app.cluster.table.poll-interval-ms}, em ordem de {@code id}.
+ *
+ * <p>Os IDs são reservados na inserção mas ficam visíveis na ordem de commit, então uma linha de ID menor pode
+ * aparecer depois de uma maior. Por isso o cursor só passa das linhas gravadas há mais de
+ * {@code app.cluster.table.commit-grace}; as mais novas são relidas a cada ciclo e as já entregues são ignoradas.
+ * {@code created_at} e os cortes de carência e retenção usam o relógio do banco, nunca o das instâncias. O cursor
+ * só avança depois de o lote ser aplicado, garantindo entrega pelo menos uma vez. A leitura começa no fim da
+ * tabela: uma instância que sobe não tem nada em cache para invalidar.
+ */
+@Slf4j
+public class TableInvalidationTransport implements InvalidationTransport {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration commitGrace;
+    private final Duration retention;
+
+    private volatile String nodeId;
+    private volatile Consumer<List<Invalidation>> receiver;
+    private long cursor;
+    private final Set<Long> delivered = new HashSet<>();
+
+    public TableInvalidationTransport(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                      int batchSize, Duration commitGrace, Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.commitGrace = commitGrace;
+        this.retention = retention;
+    }
+
+    @Override
+    public void send(String origin, List<Invalidation> batch) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate("""
+                        INSERT INTO cache_invalidations (origin, entity_type, entity_id, version, deleted, created_at)
+                        VALUES (?, ?, ?, ?, ?, LOCALTIMESTAMP)""", batch, batch.size(), (ps, invalidation) -> {
+                    ps.setString(1, origin);
+                    ps.setString(2, invalidation.type().name());
+                    ps.setLong(3, invalidation.id());
+                    ps.setLong(4, invalidation.sequence());
+                    ps.setBoolean(5, invalidation.deleted());
+                }));
+    }
+
+    @Override
+    public synchronized void start(String nodeId, Consumer<List<Invalidation>> receiver) {
+        Long last = jdbcTemplate.queryForObject("SELECT MAX(id) FROM cache_invalidations", Long.class);
+        this.cursor = last != null ? last : 0;
+        this.nodeId = nodeId;
+        this.receiver = receiver;
+        log.info("Barramento de invalidação lendo cache_invalidations a partir do ID {}", cursor);
+    }
+
+    @Override
+    public void stop() {
+        receiver = null;
+    }
+
+    @Scheduled(fixedDelayString = "${app.cluster.table.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        Consumer<List<Invalidation>> target = receiver;
+        if (target == null) {
+            return;
+        }
+        try {
+            LocalDateTime settled = databaseNow().minus(commitGrace);
+            List<Row> rows = jdbcTemplate.query("""
+                            SELECT id, origin, entity_type, entity_id, version, deleted, created_at
+                            FROM cache_invalidations WHERE id > ? ORDER BY id LIMIT ?""",
+                    (rs, i) -> new Row(rs.getLong(1), rs.getString(2),
+                            new Invalidation(rs.getString(2), rs.getLong(5), EntityType.valueOf(rs.getString(3)), rs.getLong(4), rs.getBoolean(6)),
+                            rs.getTimestamp(7).toLocalDateTime()),
+                    cursor, batchSize);
+
+            List<Invalidation> batch = new ArrayList<>();
+            List<Long> ids = new ArrayList<>();
+            for (Row row : rows) {
+                if (!row.origin().equals(nodeId) && !delivered.contains(row.id())) {
+                    batch.add(row.invalidation());
+                    ids.add(row.id());
+                }
+            }
+            if (!batch.isEmpty()) {
+                target.accept(batch);
+                delivered.addAll(ids);
+            }
+
+            for (Row row : rows) {
+                if (!row.createdAt().isBefore(settled)) {
+                    break;
+                }
+                cursor = row.id();
+            }
+            delivered.removeIf(id -> id <= cursor);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao ler ou aplicar avisos de cache_invalidations; nova tentativa no próximo ciclo: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Apaga, em lotes, as linhas mais antigas que {@code app.cluster.table.retention}. Todas as instâncias
+     * fazem a limpeza; apagar uma linha já apagada não tem efeito.
+     */
+    @Scheduled(fixedDelayString = "${app.cluster.table.cleanup-interval-ms:600000}",
+            initialDelayString = "${app.cluster.table.cleanup-interval-ms:600000}")
+    public void cleanup() {
+        Timestamp cutoff = Timestamp.valueOf(databaseNow().minus(retention));
+        int deleted;
+        long total = 0;
+        do {
+            deleted = jdbcTemplate.update("""
+                    DELETE FROM cache_invalidations WHERE id IN (
+                        SELECT id FROM cache_invalidations WHERE created_at < ? ORDER BY id LIMIT ?)""", cutoff, batchSize);
+            total += deleted;
+        } while (deleted > 0);
+        if (total > 0) {
+            log.debug("{} avisos de invalidação antigos apagados", total);
+        }
+    }
+
+    /**
+     * Hora do banco, a mesma usada em {@code created_at}: os relógios das instâncias não entram na conta.
+     */
+    private LocalDateTime databaseNow() {
+        return jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", LocalDateTime.class);
+    }
+
+    private record Row(long id, String origin, Invalidation invalidation, LocalDateTime createdAt) {
+    }
+}
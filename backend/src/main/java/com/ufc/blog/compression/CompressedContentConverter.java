@@ -0,0 +1,26 @@
+package com.ufc.blog.compression;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Grava o conteúdo de texto no formato do {@link ContentCodec}. Como o corpo do post é carregado
+ * sob demanda, a descompressão só acontece quando o corpo é de fato lido.
+ */
+@Converter
+@RequiredArgsConstructor
+public class CompressedContentConverter implements AttributeConverter<String, byte[]> {
+
+    private final ContentCodec contentCodec;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String content) {
+        return content != null ? contentCodec.encode(content) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] stored) {
+        return stored != null ? contentCodec.decode(stored) : null;
+    }
+}
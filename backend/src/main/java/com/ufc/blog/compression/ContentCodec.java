@@ -0,0 +1,215 @@
+package com.ufc.blog.compression;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Formato de armazenamento do corpo dos posts ({@code post_bodies.content_data}).
+ *
+ * <p>O primeiro byte identifica o codec, de modo que linhas gravadas com qualquer codec anterior
+ * continuam legíveis:
+ * <ul>
+ *     <li>{@code 0} – texto UTF-8 sem compressão (conteúdos abaixo de {@code app.content-compression.threshold-bytes});</li>
+ *     <li>{@code 1} – tamanho original (int) + Deflate;</li>
+ *     <li>{@code 2} – ID do dicionário (short) + tamanho original (int) + Deflate com dicionário pré-definido.</li>
+ * </ul>
+ * Um primeiro byte a partir de {@code 0x03} não identifica codec e nunca começa texto com cabeçalho: a linha é lida
+ * inteira como UTF-8 sem compressão. É o caso de corpos gravados direto em SQL, como os do {@code data.sql}, que
+ * não têm como escrever o byte {@code 0} de forma portável entre bancos.
+ * O dicionário é treinado sobre os próprios posts ({@link DictionaryTrainer}) e guardado em
+ * {@code content_dictionaries}; cada linha referencia o dicionário com que foi gravada.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContentCodec {
+
+    public static final byte RAW = 0;
+    public static final byte DEFLATE = 1;
+    public static final byte DEFLATE_DICTIONARY = 2;
+
+    /**
+     * Resolvido sob demanda: o codec é usado pelo conversor JPA, criado junto com o
+     * {@code EntityManagerFactory}, antes de o {@code JdbcTemplate} estar disponível.
+     */
+    private final ObjectProvider<JdbcTemplate> jdbcTemplate;
+
+    @Value("${app.content-compression.enabled:true}")
+    private boolean enabled;
+    @Value("${app.content-compression.threshold-bytes:1024}")
+    private int thresholdBytes;
+    @Value("${app.content-compression.level:6}")
+    private int level;
+
+    private final Map<Integer, byte[]> dictionaries = new ConcurrentHashMap<>();
+    private volatile Dictionary current;
+    private volatile boolean currentLoaded;
+
+    /**
+     * Codifica o conteúdo com o melhor codec disponível: Deflate com o dicionário atual (se houver)
+     * acima do limite de tamanho, texto puro abaixo dele ou quando a compressão não reduz o tamanho.
+     */
+    public byte[] encode(String content) {
+        byte[] utf8 = content.getBytes(StandardCharsets.UTF_8);
+        if (!enabled || utf8.length < thresholdBytes) {
+            return raw(utf8);
+        }
+        Dictionary dictionary = currentDictionary();
+        byte[] compressed = dictionary != null ? deflate(utf8, dictionary) : deflate(utf8, null);
+        return compressed.length < utf8.length + 1 ? compressed : raw(utf8);
+    }
+
+    /**
+     * Codifica com um codec específico, sem limite de tamanho; usado nas medições.
+     */
+    byte[] encode(String content, byte codec, Dictionary dictionary) {
+        byte[] utf8 = content.getBytes(StandardCharsets.UTF_8);
+        return switch (codec) {
+            case RAW -> raw(utf8);
+            case DEFLATE -> deflate(utf8, null);
+            case DEFLATE_DICTIONARY -> deflate(utf8, dictionary);
+            default -> throw new IllegalArgumentException("Codec desconhecido: " + codec);
+        };
+    }
+
+    public String decode(byte[] stored) {
+        return decode(stored, null);
+    }
+
+    /**
+     * Decodifica usando {@code dictionary} no lugar do dicionário referenciado pela linha, se informado;
+     * usado nas medições com dicionários ainda não gravados.
+     */
+    String decode(byte[] stored, Dictionary dictionary) {
+        if (stored.length == 0 || stored[0] > DEFLATE_DICTIONARY || stored[0] < 0) {
+            // Texto sem cabeçalho (bytes UTF-8 de um caractere imprimível ou de continuação multibyte).
+            return new String(stored, StandardCharsets.UTF_8);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(stored);
+        byte codec = buffer.get();
+        return switch (codec) {
+            case RAW -> new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+            case DEFLATE -> inflate(buffer, null);
+            case DEFLATE_DICTIONARY -> {
+                int id = Short.toUnsignedInt(buffer.getShort());
+                yield inflate(buffer, dictionary != null ? dictionary : dictionary(id));
+            }
+            default -> throw new IllegalStateException("Codec de conteúdo desconhecido: " + codec);
+        };
+    }
+
+    /**
+     * Dicionário usado nas novas gravações, ou null se nenhum foi treinado.
+     */
+    public Dictionary currentDictionary() {
+        if (!currentLoaded) {
+            synchronized (this) {
+                if (!currentLoaded) {
+                    List<Dictionary> latest = jdbcTemplate.getObject().query(
+                            "SELECT id, data FROM content_dictionaries ORDER BY id DESC LIMIT 1",
+                            (rs, i) -> new Dictionary(rs.getInt(1), rs.getBytes(2)));
+                    latest.forEach(d -> dictionaries.put(d.id(), d.data()));
+                    current = latest.isEmpty() ? null : latest.getFirst();
+                    currentLoaded = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Passa a usar um dicionário recém-gravado nas novas gravações.
+     */
+    public void install(Dictionary dictionary) {
+        dictionaries.put(dictionary.id(), dictionary.data());
+        current = dictionary;
+        currentLoaded = true;
+    }
+
+    private Dictionary dictionary(int id) {
+        byte[] data = dictionaries.computeIfAbsent(id, key -> {
+            try {
+                return jdbcTemplate.getObject().queryForObject("SELECT data FROM content_dictionaries WHERE id = ?", byte[].class, key);
+            } catch (EmptyResultDataAccessException e) {
+                throw new IllegalStateException("Dicionário de compressão " + key + " não encontrado", e);
+            }
+        });
+        return new Dictionary(id, data);
+    }
+
+    private static byte[] raw(byte[] utf8) {
+        byte[] stored = new byte[utf8.length + 1];
+        stored[0] = RAW;
+        System.arraycopy(utf8, 0, stored, 1, utf8.length);
+        return stored;
+    }
+
+    private byte[] deflate(byte[] utf8, Dictionary dictionary) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 2 + 16);
+        ByteBuffer header = ByteBuffer.allocate(dictionary != null ? 7 : 5);
+        header.put(dictionary != null ? DEFLATE_DICTIONARY : DEFLATE);
+        if (dictionary != null) {
+            header.putShort((short) dictionary.id());
+        }
+        header.putInt(utf8.length);
+        out.writeBytes(header.array());
+
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary.data());
+            }
+            deflater.setInput(utf8);
+            deflater.finish();
+            byte[] chunk = new byte[Math.max(64, Math.min(utf8.length, 8192))];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    private static String inflate(ByteBuffer buffer, Dictionary dictionary) {
+        byte[] utf8 = new byte[buffer.getInt()];
+        Inflater inflater = new Inflater(true);
+        try {
+            if (dictionary != null) {
+                inflater.setDictionary(dictionary.data());
+            }
+            inflater.setInput(buffer);
+            int read = 0;
+            while (read < utf8.length && !inflater.finished()) {
+                int n = inflater.inflate(utf8, read, utf8.length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Conteúdo comprimido truncado");
+                }
+                read += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Conteúdo comprimido inválido", e);
+        } finally {
+            inflater.end();
+        }
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    public record Dictionary(int id, byte[] data) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.ufc.blog.compression;
+
+import com.ufc.blog.entity.ContentDictionary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/contentcompression?sample=200&iterations=20}: mede, sobre os posts mais recentes,
+ * o espaço ocupado por cada codec e o custo de CPU de codificar e de ler (decodificar) cada corpo.
+ * Sem dicionário gravado, a medição usa um dicionário treinado na própria amostra.
+ *
+ * <p>{@code POST /actuator/contentcompression/train} treina e ativa um novo dicionário;
+ * {@code POST /actuator/contentcompression/recompress} regrava os corpos existentes com o codec atual.
+ */
+@Endpoint(id = "contentcompression")
+@RequiredArgsConstructor
+public class ContentCompressionEndpoint {
+
+    private static final int DEFAULT_SAMPLE = 200;
+    private static final int DEFAULT_ITERATIONS = 20;
+    private static final int MAX_ITERATIONS = 1_000;
+
+    private final ContentCodec contentCodec;
+    private final ContentCompressionService contentCompressionService;
+
+    @ReadOperation
+    public BenchmarkReport benchmark(@Nullable Integer sample, @Nullable Integer iterations) {
+        int limit = sample != null && sample > 0 ? Math.min(sample, 5_000) : DEFAULT_SAMPLE;
+        int rounds = iterations != null && iterations > 0 ? Math.min(iterations, MAX_ITERATIONS) : DEFAULT_ITERATIONS;
+
+        List<String> posts = contentCompressionService.sample(limit);
+        ContentCodec.Dictionary dictionary = contentCodec.currentDictionary();
+        boolean inSample = dictionary == null;
+        if (inSample) {
+            dictionary = new ContentCodec.Dictionary(0, DictionaryTrainer.train(posts, DictionaryTrainer.MAX_DICTIONARY_SIZE));
+        }
+
+        long rawBytes = posts.stream().mapToLong(p -> p.getBytes(StandardCharsets.UTF_8).length).sum();
+        List<CodecResult> results = new ArrayList<>();
+        double rawDecode = 0;
+        for (Map.Entry<String, Byte> codec : List.of(Map.entry("raw", ContentCodec.RAW),
+                Map.entry("deflate", ContentCodec.DEFLATE), Map.entry("deflate-dictionary", ContentCodec.DEFLATE_DICTIONARY))) {
+            CodecResult result = measure(codec.getKey(), codec.getValue(), dictionary, posts, rawBytes, rounds, rawDecode);
+            if (codec.getValue() == ContentCodec.RAW) {
+                rawDecode = result.decodeMicrosPerRead();
+            }
+            results.add(result);
+        }
+        return new BenchmarkReport(posts.size(), rawBytes, inSample ? null : dictionary.id(),
+                dictionary.data().length, rounds, results);
+    }
+
+    @WriteOperation
+    public Map<String, Object> run(@Selector String action) {
+        return switch (action) {
+            case "train" -> {
+                ContentDictionary dictionary = contentCompressionService.train();
+                yield dictionary == null ? Map.of("trained", false) : Map.of("trained", true,
+                        "dictionaryId", dictionary.getId(), "bytes", dictionary.getData().length,
+                        "samplePosts", dictionary.getSamplePosts());
+            }
+            case "recompress" -> Map.of("rewritten", contentCompressionService.recompress());
+            default -> throw new IllegalArgumentException("Ação desconhecida: " + action + " (use train ou recompress)");
+        };
+    }
+
+    private CodecResult measure(String name, byte codec, ContentCodec.Dictionary dictionary, List<String> posts,
+                                long rawBytes, int rounds, double rawDecode) {
+        List<byte[]> stored = new ArrayList<>(posts.size());
+        long start = System.nanoTime();
+        for (String post : posts) {
+            stored.add(contentCodec.encode(post, codec, dictionary));
+        }
+        double encodeMicros = (System.nanoTime() - start) / 1_000.0 / Math.max(1, posts.size());
+
+        for (int i = 0; i < rounds; i++) {
+            for (byte[] value : stored) {
+                decode(value, codec, dictionary);
+            }
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            for (byte[] value : stored) {
+                decode(value, codec, dictionary);
+            }
+        }
+        double decodeMicros = (System.nanoTime() - start) / 1_000.0 / Math.max(1, (long) rounds * posts.size());
+
+        long storedBytes = stored.stream().mapToLong(v -> v.length).sum();
+        double ratio = rawBytes == 0 ? 1.0 : (double) storedBytes / rawBytes;
+        double added = codec == ContentCodec.RAW ? 0.0 : decodeMicros - rawDecode;
+        return new CodecResult(name, storedBytes, ratio, encodeMicros, decodeMicros, added);
+    }
+
+    /**
+     * Decodifica com o dicionário da medição, que pode não estar gravado (treinado na amostra).
+     */
+    private String decode(byte[] value, byte codec, ContentCodec.Dictionary dictionary) {
+        return codec == ContentCodec.DEFLATE_DICTIONARY ? contentCodec.decode(value, dictionary) : contentCodec.decode(value);
+    }
+
+    public record CodecResult(String codec, long storedBytes, double ratio, double encodeMicrosPerPost,
+                              double decodeMicrosPerRead, double addedMicrosPerRead) {
+    }
+
+    public record BenchmarkReport(int posts, long rawBytes, @Nullable Integer dictionaryId, int dictionaryBytes,
+                                  int iterations, List<CodecResult> results) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.ufc.blog.compression;
+
+import com.ufc.blog.entity.ContentDictionary;
+import com.ufc.blog.repository.ContentDictionaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Operações administrativas da compressão do conteúdo: treinar um novo dicionário sobre os posts
+ * atuais e regravar os corpos existentes com o codec e o dicionário atuais.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentCompressionService {
+
+    private final ContentCodec contentCodec;
+    private final ContentDictionaryRepository contentDictionaryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.content-compression.dictionary-size:32768}")
+    private int dictionarySize;
+    @Value("${app.content-compression.training-sample-posts:500}")
+    private int trainingSamplePosts;
+    @Value("${app.content-compression.recompress-batch-size:200}")
+    private int recompressBatchSize;
+
+    /**
+     * Amostra os posts mais recentes (até {@code limit}), já decodificados.
+     */
+    public List<String> sample(int limit) {
+        return jdbcTemplate.query("SELECT content_data FROM post_bodies ORDER BY post_id DESC LIMIT ?",
+                (rs, i) -> contentCodec.decode(rs.getBytes(1)), limit);
+    }
+
+    /**
+     * Treina um dicionário sobre os posts mais recentes, grava-o e passa a usá-lo nas novas gravações.
+     *
+     * @return o dicionário gravado, ou null se não há posts suficientes para treinar
+     */
+    public ContentDictionary train() {
+        List<String> samples = sample(trainingSamplePosts);
+        byte[] data = DictionaryTrainer.train(samples, dictionarySize);
+        if (data.length == 0) {
+            log.warn("Nenhuma sequência repetida em {} posts; dicionário não treinado", samples.size());
+            return null;
+        }
+        ContentDictionary dictionary = contentDictionaryRepository.save(new ContentDictionary(data, samples.size()));
+        contentCodec.install(new ContentCodec.Dictionary(dictionary.getId(), data));
+        log.info("Dicionário de compressão {} treinado com {} posts ({} bytes)", dictionary.getId(), samples.size(), data.length);
+        return dictionary;
+    }
+
+    /**
+     * Regrava, em lotes, os corpos cuja codificação atual difere da que seria gravada agora
+     * (ex.: gravados antes do dicionário atual). Cada lote roda em uma transação curta que bloqueia
+     * as linhas lidas ({@code FOR UPDATE}), para não sobrescrever um corpo editado no meio do lote,
+     * e grava com um único {@code UPDATE} em batch.
+     *
+     * @return número de corpos regravados
+     */
+    public int recompress() {
+        long afterId = 0;
+        int rewritten = 0;
+        while (true) {
+            long from = afterId;
+            Batch batch = transactionTemplate.execute(status -> {
+                List<Object[]> rows = jdbcTemplate.query(
+                        "SELECT post_id, content_data FROM post_bodies WHERE post_id > ? ORDER BY post_id LIMIT ? FOR UPDATE",
+                        (rs, i) -> new Object[]{rs.getLong(1), rs.getBytes(2)}, from, recompressBatchSize);
+                List<Object[]> updates = new ArrayList<>();
+                for (Object[] row : rows) {
+                    byte[] stored = (byte[]) row[1];
+                    byte[] encoded = contentCodec.encode(contentCodec.decode(stored));
+                    if (!Arrays.equals(stored, encoded)) {
+                        updates.add(new Object[]{encoded, row[0]});
+                    }
+                }
+                jdbcTemplate.batchUpdate("UPDATE post_bodies SET content_data = ? WHERE post_id = ?", updates);
+                return new Batch(rows.isEmpty() ? null : (Long) rows.getLast()[0], updates.size());
+            });
+            if (batch == null || batch.lastId() == null) {
+                break;
+            }
+            rewritten += batch.rewritten();
+            afterId = batch.lastId();
+        }
+        log.info("Recompressão concluída: {} corpos regravados", rewritten);
+        return rewritten;
+    }
+
+    private record Batch(Long lastId, int rewritten) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.ufc.blog.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Monta um dicionário pré-definido para Deflate a partir de uma amostra de conteúdos.
+ *
+ * <p>O Deflate não treina dicionários: ele apenas permite que as primeiras referências apontem para
+ * um bloco de até 32 KB anterior aos dados. O dicionário é então composto pelas sequências de palavras
+ * (1 a {@value #MAX_NGRAM} palavras, incluindo marcação) que mais economizam bytes na amostra, com as
+ * mais valiosas no fim do bloco, onde as distâncias de referência são menores.
+ */
+final class DictionaryTrainer {
+
+    /**
+     * Janela máxima do Deflate; bytes de dicionário além disso nunca são referenciados.
+     */
+    static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+    private static final int MAX_NGRAM = 3;
+    private static final int MIN_LENGTH = 4;
+
+    private DictionaryTrainer() {
+    }
+
+    static byte[] train(List<String> samples, int maxSize) {
+        int limit = Math.min(maxSize, MAX_DICTIONARY_SIZE);
+        Map<String, Integer> counts = new HashMap<>();
+        for (String sample : samples) {
+            String[] words = sample.split("\\s+");
+            for (int i = 0; i < words.length; i++) {
+                StringBuilder gram = new StringBuilder();
+                for (int n = 0; n < MAX_NGRAM && i + n < words.length; n++) {
+                    gram.append(words[i + n]).append(' ');
+                    if (gram.length() >= MIN_LENGTH) {
+                        counts.merge(gram.toString(), 1, Integer::sum);
+                    }
+                }
+            }
+        }
+
+        List<Map.Entry<String, Integer>> ranked = counts.entrySet().stream()
+                .filter(e -> e.getValue() > 1)
+                .sorted(Comparator.comparingLong(DictionaryTrainer::savings).reversed())
+                .toList();
+
+        // Seleciona do mais para o menos valioso e grava em ordem inversa (mais valiosos no fim).
+        ByteArrayOutputStream selected = new ByteArrayOutputStream();
+        List<byte[]> chosen = new ArrayList<>();
+        int size = 0;
+        for (Map.Entry<String, Integer> entry : ranked) {
+            byte[] bytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            if (size + bytes.length > limit) {
+                continue;
+            }
+            chosen.add(bytes);
+            size += bytes.length;
+            if (size >= limit - MIN_LENGTH) {
+                break;
+            }
+        }
+        for (int i = chosen.size() - 1; i >= 0; i--) {
+            selected.writeBytes(chosen.get(i));
+        }
+        return selected.toByteArray();
+    }
+
+    private static long savings(Map.Entry<String, Integer> entry) {
+        return (long) entry.getKey().length() * (entry.getValue() - 1);
+    }
+}
@@ -0,0 +1,22 @@
+package com.ufc.blog.config;
+
+import com.ufc.blog.archive.CommentPartitioning;
+import com.ufc.blog.archive.PartitionPruningEndpoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Particionamento e arquivamento de comentários: expõe {@code /actuator/partitions}, que mostra as partições
+ * de {@code comments} e quais delas os principais finders leem. A conversão da tabela e a movimentação entre
+ * camadas ficam em {@code CommentPartitioning} e {@code CommentArchiver}.
+ */
+@Configuration
+public class ArchiveConfig {
+
+    @Bean
+    public PartitionPruningEndpoint partitionPruningEndpoint(CommentPartitioning commentPartitioning,
+                                                             JdbcTemplate jdbcTemplate) {
+        return new PartitionPruningEndpoint(commentPartitioning, jdbcTemplate);
+    }
+}
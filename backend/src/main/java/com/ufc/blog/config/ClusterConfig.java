@@ -0,0 +1,37 @@
+package com.ufc.blog.config;
+
+import com.ufc.blog.cluster.InJvmInvalidationTransport;
+import com.ufc.blog.cluster.TableInvalidationTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Transporte do barramento de invalidação entre instâncias, escolhido por {@code app.cluster.transport}:
+ * {@code none} (padrão, instância única), {@code in-jvm} (testes com vários contextos no mesmo processo) ou
+ * {@code table} (tabela {@code cache_invalidations} lida periodicamente por todas as instâncias).
+ */
+@Configuration
+public class ClusterConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cluster", name = "transport", havingValue = "in-jvm")
+    public InJvmInvalidationTransport inJvmInvalidationTransport() {
+        return new InJvmInvalidationTransport();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.cluster", name = "transport", havingValue = "table")
+    public TableInvalidationTransport tableInvalidationTransport(JdbcTemplate jdbcTemplate,
+                                                                 TransactionTemplate transactionTemplate,
+                                                                 @Value("${app.cluster.batch-size:500}") int batchSize,
+                                                                 @Value("${app.cluster.table.commit-grace:PT10S}") Duration commitGrace,
+                                                                 @Value("${app.cluster.table.retention:PT1H}") Duration retention) {
+        return new TableInvalidationTransport(jdbcTemplate, transactionTemplate, batchSize, commitGrace, retention);
+    }
+}
@@ -0,0 +1,22 @@
+package com.ufc.blog.config;
+
+import com.ufc.blog.compression.ContentCodec;
+import com.ufc.blog.compression.ContentCompressionEndpoint;
+import com.ufc.blog.compression.ContentCompressionService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Compressão do conteúdo dos posts em repouso: expõe {@code /actuator/contentcompression}
+ * (medição, treino de dicionário e recompressão). O codec em si é aplicado pelo
+ * {@code CompressedContentConverter} mapeado em {@code PostBody}.
+ */
+@Configuration
+public class CompressionConfig {
+
+    @Bean
+    public ContentCompressionEndpoint contentCompressionEndpoint(ContentCodec contentCodec,
+                                                                 ContentCompressionService contentCompressionService) {
+        return new ContentCompressionEndpoint(contentCodec, contentCompressionService);
+    }
+}
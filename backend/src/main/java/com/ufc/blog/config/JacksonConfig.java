@@ -0,0 +1,52 @@
+package com.ufc.blog.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufc.blog.repository.PostRepository;
+import com.ufc.blog.serialization.CborMessageConverter;
+import com.ufc.blog.serialization.JsonMessageConverter;
+import com.ufc.blog.serialization.SerializationBenchmarkEndpoint;
+import com.ufc.blog.serialization.SmileMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Formatos de resposta negociados pelo {@code Accept}: JSON (padrão, compacto), Smile e CBOR.
+ * Os três usam o {@link Jackson2ObjectMapperBuilder} do Spring Boot, portanto mantêm
+ * {@code SNAKE_CASE}, {@code non_null} e o formato de datas configurados em {@code spring.jackson}.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public JsonMessageConverter jsonMessageConverter(ObjectMapper objectMapper) {
+        return new JsonMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public SmileMessageConverter smileMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper smileMapper = builder.factory(new SmileFactory()).build();
+        return new SmileMessageConverter(smileMapper);
+    }
+
+    @Bean
+    public CborMessageConverter cborMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper cborMapper = builder.factory(new CBORFactory()).build();
+        return new CborMessageConverter(cborMapper);
+    }
+
+    @Bean
+    public SerializationBenchmarkEndpoint serializationBenchmarkEndpoint(PostRepository postRepository,
+                                                                         PlatformTransactionManager transactionManager,
+                                                                         JsonMessageConverter jsonConverter,
+                                                                         SmileMessageConverter smileConverter,
+                                                                         CborMessageConverter cborConverter) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return new SerializationBenchmarkEndpoint(postRepository, readOnly, jsonConverter, smileConverter, cborConverter);
+    }
+}
@@ -0,0 +1,66 @@
+package com.ufc.blog.config;
+
+import com.ufc.blog.metrics.EntityLoadCountingIntegrator;
+import com.ufc.blog.metrics.HandlerObservationConvention;
+import com.ufc.blog.metrics.QueryCountingStatementInspector;
+import com.ufc.blog.metrics.RequestBudgetEndpoint;
+import com.ufc.blog.metrics.RequestBudgetFilter;
+import com.ufc.blog.metrics.RequestBudgetMonitor;
+import com.ufc.blog.metrics.RequestMetricsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HandlerObservationConvention handlerObservationConvention() {
+        return new HandlerObservationConvention();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingStatementInspector());
+            properties.put("hibernate.integrator_provider",
+                    (IntegratorProvider) () -> List.of(new EntityLoadCountingIntegrator()));
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestMetricsFilter> registration = new FilterRegistrationBean<>(new RequestMetricsFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public RequestBudgetMonitor requestBudgetMonitor(MeterRegistry meterRegistry,
+                                                     @Value("${app.request-budget.max-allocated:32MB}") DataSize maxAllocated,
+                                                     @Value("${app.request-budget.max-cpu-ms:200}") long maxCpuMs,
+                                                     @Value("${app.request-budget.capacity:100}") int capacity) {
+        return new RequestBudgetMonitor(meterRegistry, maxAllocated.toBytes(), maxCpuMs, capacity);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestBudgetFilter> requestBudgetFilter(RequestBudgetMonitor monitor) {
+        FilterRegistrationBean<RequestBudgetFilter> registration = new FilterRegistrationBean<>(new RequestBudgetFilter(monitor));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    @Bean
+    public RequestBudgetEndpoint requestBudgetEndpoint(RequestBudgetMonitor monitor) {
+        return new RequestBudgetEndpoint(monitor);
+    }
+}
@@ -0,0 +1,77 @@
+package com.ufc.blog.config;
+
+import com.ufc.blog.entity.Comment;
+import com.ufc.blog.entity.Post;
+import com.ufc.blog.entity.User;
+import com.ufc.blog.security.UserPrincipal;
+import com.ufc.blog.service.PendingComment;
+import com.ufc.blog.service.TrendingPost;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.data.web.PagedModel;
+
+import java.util.List;
+
+/**
+ * Metadados de reflexão para o processamento AOT e a imagem nativa (perfis {@code aot} e {@code native}
+ * do pom). O Spring registra sozinho os tipos de retorno declarados nos controllers e endpoints; aqui
+ * ficam os que chegam ao Jackson por tipos genéricos ({@code Page<?>}, {@code ResponseEntity<?>}) e as
+ * implementações que o jjwt carrega por nome.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.BlogRuntimeHints.class)
+@RegisterReflectionForBinding({Post.class, Comment.class, User.class, UserPrincipal.class,
+        PendingComment.class, TrendingPost.class, PagedModel.class})
+public class NativeHintsConfig {
+
+    /**
+     * Classes do jjwt-impl instanciadas por {@code io.jsonwebtoken.lang.Classes} a partir do jjwt-api.
+     */
+    private static final List<String> JJWT_IMPLEMENTATIONS = List.of(
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            // Registrados via ServiceLoader (META-INF/services do jjwt-impl e do jjwt-jackson)
+            "io.jsonwebtoken.impl.compression.DeflateCompressionAlgorithm",
+            "io.jsonwebtoken.impl.compression.GzipCompressionAlgorithm",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    static class BlogRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_IMPLEMENTATIONS) {
+                hints.reflection().registerTypeIfPresent(classLoader, type,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            // Entidades com Lombok: o Hibernate lê e grava os campos diretamente.
+            for (Class<?> entity : List.of(Post.class, Comment.class, User.class)) {
+                hints.reflection().registerType(entity, MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ufc.blog.config;
+
+import com.ufc.blog.profiling.ProfilingAspect;
+import com.ufc.blog.profiling.RequestProfilingFilter;
+import com.ufc.blog.profiling.SlowRequestEndpoint;
+import com.ufc.blog.profiling.SlowRequestLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Perfil por fase das requisições: eventos JFR ({@code com.ufc.blog.*}) e o endpoint
+ * {@code /actuator/slowrequests}. Desligado com {@code app.profiling.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.profiling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProfilingConfig {
+
+    @Bean
+    public ProfilingAspect profilingAspect() {
+        return new ProfilingAspect();
+    }
+
+    @Bean
+    public SlowRequestLog slowRequestLog(@Value("${app.profiling.slow-request-threshold-ms:500}") long thresholdMs,
+                                         @Value("${app.profiling.slow-request-capacity:100}") int capacity) {
+        return new SlowRequestLog(thresholdMs, capacity);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestProfilingFilter> requestProfilingFilter(SlowRequestLog slowRequestLog) {
+        FilterRegistrationBean<RequestProfilingFilter> registration = new FilterRegistrationBean<>(new RequestProfilingFilter(slowRequestLog));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Bean
+    public SlowRequestEndpoint slowRequestEndpoint(SlowRequestLog slowRequestLog) {
+        return new SlowRequestEndpoint(slowRequestLog);
+    }
+}
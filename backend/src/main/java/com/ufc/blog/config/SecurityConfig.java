@@ -1,8 +1,10 @@
 package com.ufc.blog.config;
 
+import com.ufc.blog.logging.RequestLoggingFilter;
 import com.ufc.blog.security.JwtAuthenticationEntryPoint;
 import com.ufc.blog.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -28,11 +30,17 @@ public class SecurityConfig {
 
     private final JwtAuthenticationEntryPoint unauthorizedHandler;
 
+    @Value("${app.logging.request-slow-threshold-ms:1000}")
+    private long requestSlowThresholdMs;
+
     private final String[] PUBLIC_URLS = {
             "/api/auth/**",
             "/api/users/validation/**",
             "/api/posts/published/**",
-            "/h2-console/**"
+            "/api/posts/trending",
+            "/api/posts/*/comments/stream",
+            "/h2-console/**",
+            "/actuator/health/**"
     };
 
     @Bean
@@ -60,9 +68,11 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers(PUBLIC_URLS).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(new RequestLoggingFilter(requestSlowThresholdMs), JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,52 @@
+package com.ufc.blog.config;
+
+import com.ufc.blog.metrics.SlowQueryAnalyzer;
+import com.ufc.blog.metrics.SlowQueryDataSource;
+import com.ufc.blog.metrics.SlowQueryEndpoint;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Analisador de consultas lentas: envolve o {@link DataSource} do pool num proxy de medição
+ * e expõe o endpoint {@code /actuator/slowqueries}. Desligado com {@code app.slow-query.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.slow-query", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryAnalyzer> analyzer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryDataSource)) {
+                    return new SlowQueryDataSource(dataSource, analyzer);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SlowQueryAnalyzer slowQueryAnalyzer(ObjectProvider<DataSource> dataSource,
+                                               @Value("${app.slow-query.threshold-ms:200}") long thresholdMs,
+                                               @Value("${app.slow-query.max-fingerprints:500}") int maxFingerprints,
+                                               @Value("${app.slow-query.window-size:1024}") int windowSize,
+                                               @Value("${app.slow-query.capture-binds:false}") boolean captureBinds,
+                                               @Value("${app.slow-query.explain:true}") boolean explain,
+                                               @Value("${app.slow-query.explain-interval-ms:60000}") long explainIntervalMs) {
+        return new SlowQueryAnalyzer(dataSource, thresholdMs, maxFingerprints, windowSize,
+                captureBinds, explain, explainIntervalMs);
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryAnalyzer analyzer) {
+        return new SlowQueryEndpoint(analyzer);
+    }
+}
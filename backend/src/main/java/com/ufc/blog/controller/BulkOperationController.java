@@ -0,0 +1,128 @@
+package com.ufc.blog.controller;
+
+import com.ufc.blog.exception.BadRequestException;
+import com.ufc.blog.exception.ResourceNotFoundException;
+import com.ufc.blog.service.BulkCriteria;
+import com.ufc.blog.service.BulkJobProgress;
+import com.ufc.blog.service.BulkOperationService;
+import com.ufc.blog.util.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Moderação em massa: cada requisição cria um job que altera, em lotes, as linhas que atendem aos critérios
+ * do corpo ({@code ids}, {@code author_id}, {@code status}, {@code created_from}, {@code created_to}) e responde
+ * 202 (Accepted) com o andamento, consultável e cancelável em {@code /api/admin/bulk/jobs/{jobId}}.
+ * Apenas usuários com papel ADMIN podem acessar estes endpoints.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/bulk")
+@PreAuthorize("hasRole('ROLE_ADMIN')")
+@RequiredArgsConstructor
+public class BulkOperationController {
+
+    private final BulkOperationService bulkOperationService;
+    private final SecurityUtils securityUtils;
+
+    // ===== Posts =====
+
+    /**
+     * Arquiva os posts em rascunho ou publicados que atendem aos critérios.
+     *
+     * @param criteria critérios de seleção
+     * @return ResponseEntity com status 202 (Accepted) e o andamento do job
+     * @throws BadRequestException se nenhum critério for informado ou algum for inválido
+     */
+    @PostMapping("/posts/archive")
+    public ResponseEntity<BulkJobProgress> archivePosts(@RequestBody BulkCriteria criteria) {
+        return ResponseEntity.accepted().body(bulkOperationService.archivePosts(criteria));
+    }
+
+    /**
+     * Publica os rascunhos que atendem aos critérios.
+     *
+     * @param criteria critérios de seleção
+     * @return ResponseEntity com status 202 (Accepted) e o andamento do job
+     * @throws BadRequestException se nenhum critério for informado ou algum for inválido
+     */
+    @PostMapping("/posts/publish")
+    public ResponseEntity<BulkJobProgress> publishPosts(@RequestBody BulkCriteria criteria) {
+        return ResponseEntity.accepted().body(bulkOperationService.publishPosts(criteria));
+    }
+
+    /**
+     * Apaga os posts que atendem aos critérios, com seus comentários.
+     *
+     * @param criteria critérios de seleção
+     * @return ResponseEntity com status 202 (Accepted) e o andamento do job
+     * @throws BadRequestException se nenhum critério for informado ou algum for inválido
+     */
+    @PostMapping("/posts/delete")
+    public ResponseEntity<BulkJobProgress> deletePosts(@RequestBody BulkCriteria criteria) {
+        return ResponseEntity.accepted().body(bulkOperationService.deletePosts(criteria));
+    }
+
+    // ===== Usuários =====
+
+    /**
+     * Suspende os usuários ativos que atendem aos critérios, exceto o próprio administrador.
+     *
+     * @param criteria       critérios de seleção
+     * @param authentication informações de autenticação do administrador
+     * @return ResponseEntity com status 202 (Accepted) e o andamento do job
+     * @throws BadRequestException se nenhum critério for informado ou algum for inválido
+     */
+    @PostMapping("/users/suspend")
+    public ResponseEntity<BulkJobProgress> suspendUsers(@RequestBody BulkCriteria criteria, Authentication authentication) {
+        return ResponseEntity.accepted().body(bulkOperationService.suspendUsers(criteria,
+                securityUtils.getAuthenticatedPrincipal(authentication).getId()));
+    }
+
+    /**
+     * Ativa os usuários pendentes, inativos ou suspensos que atendem aos critérios.
+     *
+     * @param criteria       critérios de seleção
+     * @param authentication informações de autenticação do administrador
+     * @return ResponseEntity com status 202 (Accepted) e o andamento do job
+     * @throws BadRequestException se nenhum critério for informado ou algum for inválido
+     */
+    @PostMapping("/users/activate")
+    public ResponseEntity<BulkJobProgress> activateUsers(@RequestBody BulkCriteria criteria, Authentication authentication) {
+        return ResponseEntity.accepted().body(bulkOperationService.activateUsers(criteria,
+                securityUtils.getAuthenticatedPrincipal(authentication).getId()));
+    }
+
+    // ===== Jobs =====
+
+    /**
+     * Retorna o andamento de um job.
+     *
+     * @param jobId identificador do job
+     * @return ResponseEntity contendo o andamento
+     * @throws ResourceNotFoundException se o job não existir ou tiver terminado há mais tempo que a retenção
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<BulkJobProgress> getJob(@PathVariable("jobId") String jobId) {
+        return ResponseEntity.ok(bulkOperationService.getProgress(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Job", "id", jobId)));
+    }
+
+    /**
+     * Cancela um job; ele para antes do próximo lote, mantendo o que já foi processado.
+     *
+     * @param jobId identificador do job
+     * @return ResponseEntity contendo o andamento no momento do pedido
+     * @throws ResourceNotFoundException se o job não existir ou tiver terminado há mais tempo que a retenção
+     */
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<BulkJobProgress> cancelJob(@PathVariable("jobId") String jobId) {
+        log.info("Cancelando job {}", jobId);
+        return ResponseEntity.ok(bulkOperationService.cancel(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Job", "id", jobId)));
+    }
+}
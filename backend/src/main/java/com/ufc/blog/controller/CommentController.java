@@ -1,25 +1,29 @@
 package com.ufc.blog.controller;
 
 import com.ufc.blog.entity.Comment;
-import com.ufc.blog.entity.Post;
-import com.ufc.blog.entity.PostStatus;
-import com.ufc.blog.entity.User;
+import com.ufc.blog.event.CommentCreatedEvent;
+import com.ufc.blog.event.CommentDeletedEvent;
 import com.ufc.blog.exception.BadRequestException;
 import com.ufc.blog.exception.ResourceNotFoundException;
-import com.ufc.blog.repository.CommentRepository;
-import com.ufc.blog.repository.PostRepository;
-import com.ufc.blog.util.SecurityUtils;
+import com.ufc.blog.exception.ServiceUnavailableException;
+import com.ufc.blog.fields.FieldSelection;
+import com.ufc.blog.service.CommentIngestionService;
+import com.ufc.blog.service.CommentService;
+import com.ufc.blog.service.CommentStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Slf4j
 @RestController
@@ -27,9 +31,10 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class CommentController {
 
-    private final CommentRepository commentRepository;
-    private final PostRepository postRepository;
-    private final SecurityUtils securityUtils;
+    private final CommentService commentService;
+    private final CommentIngestionService commentIngestionService;
+    private final CommentStreamService commentStreamService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ===== CRUD Operations =====
 
@@ -37,32 +42,29 @@ public class CommentController {
      * Cria um novo comentário em um post específico.
      * Apenas usuários autenticados podem criar comentários.
      * Comentários só podem ser adicionados a posts publicados.
+     * Com a ingestão write-behind habilitada, o comentário é apenas enfileirado e a resposta é 202 (Accepted)
+     * com o {@code ingestion_id} que identifica o comentário até ele ser gravado.
      *
      * @param postId         ID do post onde o comentário será adicionado
      * @param request        Detalhes do comentário a ser criado (apenas o campo content é considerado)
      * @param authentication Informações de autenticação do usuário requisitante
-     * @return ResponseEntity contendo o comentário criado
-     * @throws ResourceNotFoundException se o post não for encontrado
-     * @throws BadRequestException       se o post não estiver publicado
+     * @return ResponseEntity contendo o comentário criado (ou aceito, no modo write-behind)
+     * @throws ResourceNotFoundException    se o post não for encontrado
+     * @throws BadRequestException          se o post não estiver publicado
+     * @throws ServiceUnavailableException se a fila de ingestão estiver cheia
      */
     @PreAuthorize("permitAll()")
     @PostMapping("/posts/{postId}/comments")
     public ResponseEntity<Comment> createComment(@PathVariable("postId") Long postId, @Valid @RequestBody Comment request, Authentication authentication) {
-        User author = securityUtils.getAuthenticatedUser(authentication);
-        Post post = postRepository.findById(postId).orElseThrow(() -> new ResourceNotFoundException("Post", "id", postId));
-
-        if (post.getStatus() != PostStatus.PUBLISHED) {
-            throw new BadRequestException("Não é possível comentar em posts não publicados");
+        if (commentIngestionService.isEnabled()) {
+            Comment accepted = commentService.enqueueComment(postId, request.getContent(), authentication);
+            eventPublisher.publishEvent(new CommentCreatedEvent(postId, accepted));
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(accepted);
         }
 
-        log.info("Usuário {} criando comentário no post {}", author.getUsername(), postId);
-
-        Comment comment = new Comment();
-        comment.setContent(request.getContent());
-        comment.setAuthor(author);
-        comment.setPost(post);
-
-        return ResponseEntity.status(HttpStatus.CREATED).body(commentRepository.save(comment));
+        Comment comment = commentService.createComment(postId, request.getContent(), authentication);
+        eventPublisher.publishEvent(new CommentCreatedEvent(postId, comment));
+        return ResponseEntity.status(HttpStatus.CREATED).body(comment);
     }
 
     /**
@@ -71,24 +73,39 @@ public class CommentController {
      * Comentários de posts não publicados são acessíveis apenas ao autor do post, administradores ou ao autor do comentário.
      *
      * @param id             ID do comentário a ser buscado
+     * @param fields         Campos a retornar, ex.: {@code id,content,author.fullName} (opcional)
      * @param authentication Informações de autenticação do usuário requisitante
      * @return ResponseEntity contendo o comentário encontrado
      * @throws ResourceNotFoundException    se o comentário não for encontrado
      * @throws AuthorizationDeniedException se o usuário não tiver permissão para acessar o comentário
      */
     @GetMapping("/comments/{id}")
-    public ResponseEntity<Comment> getCommentById(@PathVariable("id") Long id, Authentication authentication) {
-        log.info("Buscando comentário ID {}", id);
+    public ResponseEntity<?> getCommentById(@PathVariable("id") Long id, @RequestParam(name = "fields", required = false) String fields, Authentication authentication) {
+        log.debug("Buscando comentário ID {}", id);
 
-        Comment comment = commentRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Comentário", "id", id));
-
-        Post post = comment.getPost();
-
-        if (post.getStatus() == PostStatus.PUBLISHED || securityUtils.isAdmin(authentication) || securityUtils.isSelf(authentication, comment.getAuthor().getId())) {
-            return ResponseEntity.ok(comment);
+        FieldSelection selection = FieldSelection.parse(fields);
+        if (selection != null) {
+            return ResponseEntity.ok(commentService.getSparseComment(id, selection, authentication));
         }
+        return ResponseEntity.ok(commentService.getComment(id, authentication));
+    }
 
-        throw new AuthorizationDeniedException("Acesso negado");
+    /**
+     * Recupera um comentário pelo identificador de ingestão devolvido no modo write-behind.
+     * Enquanto o comentário estiver na fila a resposta é 202 (Accepted); depois de gravado, 200 com o comentário persistido.
+     * Apenas o autor do comentário ou administradores podem consultar.
+     *
+     * @param ingestionId    identificador de ingestão do comentário
+     * @param authentication Informações de autenticação do usuário requisitante
+     * @return ResponseEntity contendo o comentário pendente ou persistido
+     * @throws ResourceNotFoundException    se nenhum comentário tiver esse identificador
+     * @throws AuthorizationDeniedException se o usuário não for o autor nem administrador
+     */
+    @PreAuthorize("permitAll()")
+    @GetMapping("/comments/pending/{ingestionId}")
+    public ResponseEntity<Comment> getCommentByIngestionId(@PathVariable("ingestionId") String ingestionId, Authentication authentication) {
+        Comment comment = commentService.getCommentByIngestionId(ingestionId, authentication);
+        return ResponseEntity.status(comment.getId() == null ? HttpStatus.ACCEPTED : HttpStatus.OK).body(comment);
     }
 
     /**
@@ -104,15 +121,8 @@ public class CommentController {
     @PreAuthorize("permitAll()")
     @DeleteMapping("/comments/{id}")
     public ResponseEntity<Void> deleteComment(@PathVariable("id") Long id, Authentication authentication) {
-        User user = securityUtils.getAuthenticatedUser(authentication);
-
-        Comment comment = commentRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Comentário", "id", id));
-
-        securityUtils.checkOwnershipOrAdmin(authentication, comment.getAuthor());
-
-        log.info("Usuário {} deletando comentário ID {}", user.getUsername(), id);
-
-        commentRepository.delete(comment);
+        Long postId = commentService.deleteComment(id, authentication);
+        eventPublisher.publishEvent(new CommentDeletedEvent(postId, id));
         return ResponseEntity.noContent().build();
     }
 
@@ -122,10 +132,13 @@ public class CommentController {
      * Lista comentários de um post específico.
      * Comentários de posts publicados são acessíveis a todos.
      * Comentários de posts não publicados são acessíveis apenas ao autor do post e administradores.
+     * Na última página, o usuário autenticado também vê seus próprios comentários ainda pendentes de gravação,
+     * exceto quando {@code fields} é informado: a seleção esparsa lê apenas o que já está no banco.
      *
      * @param postId         ID do post cujos comentários serão listados
      * @param page           Número da página para paginação (padrão: 0)
      * @param size           Tamanho da página para paginação (padrão: 10)
+     * @param fields         Campos a retornar (opcional)
      * @param authentication Informações de autenticação do usuário requisitante
      * @return ResponseEntity contendo uma página de comentários
      * @throws ResourceNotFoundException    se o post não for encontrado
@@ -133,16 +146,31 @@ public class CommentController {
      */
     @PreAuthorize("permitAll()")
     @GetMapping("/posts/{postId}/comments")
-    public ResponseEntity<Page<Comment>> getCommentsByPost(@PathVariable("postId") Long postId, @RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size, Authentication authentication) {
-        log.info("Listando comentários do post {}", postId);
-
-        Post post = postRepository.findById(postId).orElseThrow(() -> new ResourceNotFoundException("Post", "id", postId));
-
-        if (post.getStatus() == PostStatus.PUBLISHED || securityUtils.isAdmin(authentication) || securityUtils.isSelf(authentication, post.getAuthor().getId())) {
-            return ResponseEntity.ok(commentRepository.findByPostId(postId, Pageable.ofSize(size).withPage(page)));
-        }
+    public ResponseEntity<Page<?>> getCommentsByPost(@PathVariable("postId") Long postId, @RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size, @RequestParam(name = "fields", required = false) String fields, Authentication authentication) {
+        log.debug("Listando comentários do post {}", postId);
+        Pageable pageable = Pageable.ofSize(size).withPage(page);
+        return ResponseEntity.ok(commentService.getCommentsByPost(postId, FieldSelection.parse(fields), authentication, pageable));
+    }
 
-        throw new AuthorizationDeniedException("Acesso negado");
+    /**
+     * Assina, via Server-Sent Events, os comentários criados e removidos em um post.
+     * Eventos: {@code comment-created} (comentário), {@code comment-deleted} ({@code {"id": ...}})
+     * e {@code reset} (o cliente perdeu eventos e deve recarregar a lista).
+     * Reconexões com o cabeçalho {@code Last-Event-ID} recebem os eventos perdidos.
+     * Posts publicados podem ser assinados por todos; os demais apenas pelo autor do post e administradores.
+     *
+     * @param postId         ID do post cujos comentários serão acompanhados
+     * @param lastEventId    último ID de evento recebido pelo cliente (opcional)
+     * @param authentication Informações de autenticação do usuário requisitante (pode ser null)
+     * @return SseEmitter com o fluxo de eventos
+     * @throws ResourceNotFoundException    se o post não for encontrado
+     * @throws AuthorizationDeniedException se o usuário não tiver permissão para acessar os comentários
+     */
+    @PreAuthorize("permitAll()")
+    @GetMapping(value = "/posts/{postId}/comments/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCommentsByPost(@PathVariable("postId") Long postId, @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId, Authentication authentication) {
+        commentService.checkPostAccess(postId, authentication);
+        return commentStreamService.subscribe(postId, lastEventId);
     }
 
     /**
@@ -153,19 +181,16 @@ public class CommentController {
      * @param authorId       ID do autor cujos comentários serão listados
      * @param page           Número da página para paginação (padrão: 0)
      * @param size           Tamanho da página para paginação (padrão: 10)
+     * @param fields         Campos a retornar (opcional)
      * @param authentication Informações de autenticação do usuário requisitante
      * @return ResponseEntity contendo uma página de comentários
      */
     @PreAuthorize("permitAll()")
     @GetMapping("/users/{authorId}/comments")
-    public ResponseEntity<Page<Comment>> getCommentsByAuthor(@PathVariable Long authorId, @RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size, Authentication authentication) {
-        log.info("Listando comentários do autor ID {}", authorId);
-
-        if (securityUtils.isAdmin(authentication) || securityUtils.isSelf(authentication, authorId)) {
-            return ResponseEntity.ok(commentRepository.findByAuthorId(authorId, Pageable.ofSize(size).withPage(page)));
-        }
-
-        return ResponseEntity.ok(commentRepository.findPublishedCommentsByAuthorId(authorId, Pageable.ofSize(size).withPage(page)));
+    public ResponseEntity<Page<?>> getCommentsByAuthor(@PathVariable Long authorId, @RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size, @RequestParam(name = "fields", required = false) String fields, Authentication authentication) {
+        log.debug("Listando comentários do autor ID {}", authorId);
+        Pageable pageable = Pageable.ofSize(size).withPage(page);
+        return ResponseEntity.ok(commentService.getCommentsByAuthor(authorId, FieldSelection.parse(fields), authentication, pageable));
     }
 
 }
@@ -2,13 +2,24 @@ package com.ufc.blog.controller;
 
 import com.ufc.blog.entity.Post;
 import com.ufc.blog.entity.PostStatus;
-import com.ufc.blog.entity.User;
+import com.ufc.blog.event.PostDeletedEvent;
+import com.ufc.blog.event.PostStatusChangedEvent;
+import com.ufc.blog.event.PostUpdatedEvent;
+import com.ufc.blog.exception.BadRequestException;
+import com.ufc.blog.exception.ConflictException;
 import com.ufc.blog.exception.ResourceNotFoundException;
-import com.ufc.blog.repository.PostRepository;
-import com.ufc.blog.util.SecurityUtils;
+import com.ufc.blog.fields.FieldSelection;
+import com.ufc.blog.rendering.MarkdownRenderingService;
+import com.ufc.blog.service.PostService;
+import com.ufc.blog.service.PostStatusChange;
+import com.ufc.blog.service.TrendingPost;
+import com.ufc.blog.service.TrendingService;
+import com.ufc.blog.warmup.WarmupRequests;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -18,19 +29,25 @@ import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/posts")
 @RequiredArgsConstructor
 public class PostController {
 
-    private final PostRepository postRepository;
-    private final SecurityUtils securityUtils;
+    private final PostService postService;
+    private final TrendingService trendingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MarkdownRenderingService markdownRenderingService;
+    private final WarmupRequests warmupRequests;
 
     // ===== CRUD Operations =====
 
     /**
      * Cria um novo post. Apenas usuários autenticados podem criar posts.
+     * Resumo (se não informado), número de palavras e tempo de leitura são calculados do conteúdo.
      *
      * @param request        Detalhes do post a ser criado
      * @param authentication Informações de autenticação do usuário requisitante
@@ -39,16 +56,7 @@ public class PostController {
     @PreAuthorize("permitAll()")
     @PostMapping
     public ResponseEntity<Post> createPost(@Valid @RequestBody Post request, Authentication authentication) {
-        User author = securityUtils.getAuthenticatedUser(authentication);
-        log.info("Criando novo post pelo usuário {}", author.getUsername());
-
-        Post post = new Post();
-        post.setTitle(request.getTitle());
-        post.setContent(request.getContent());
-        post.setAuthor(author);
-        post.setStatus(PostStatus.DRAFT);
-
-        post = postRepository.save(post);
+        Post post = postService.createPost(request, authentication);
         return ResponseEntity.status(HttpStatus.CREATED).body(post);
     }
 
@@ -59,57 +67,60 @@ public class PostController {
      *
      * @param page           número da página (padrão: 0)
      * @param size           tamanho da página (padrão: 10)
+     * @param fields         campos a retornar, ex.: {@code id,title,summary,author.fullName} (opcional)
      * @param authentication informações de autenticação do usuário requisitante (pode ser null)
      * @return ResponseEntity contendo a página de posts
      */
     @PreAuthorize("permitAll()")
     @GetMapping
-    public ResponseEntity<Page<Post>> getAllPosts(@RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size, Authentication authentication) {
-        log.info("Listando todos os posts");
-
-        Page<Post> posts;
-        if (securityUtils.isAdmin(authentication)) {
-            posts = postRepository.findAll(Pageable.ofSize(size).withPage(page));
-        } else if (authentication != null && authentication.isAuthenticated()) {
-            User user = securityUtils.getAuthenticatedUser(authentication);
-            posts = postRepository.findByAuthorId(user.getId(), Pageable.ofSize(size).withPage(page));
-        } else {
-            posts = postRepository.findByStatus(PostStatus.PUBLISHED, Pageable.ofSize(size).withPage(page));
-        }
-
-        return ResponseEntity.ok(posts);
+    public ResponseEntity<Page<?>> getAllPosts(@RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size, @RequestParam(name = "fields", required = false) String fields, Authentication authentication) {
+        log.debug("Listando todos os posts");
+        Pageable pageable = Pageable.ofSize(size).withPage(page);
+        return ResponseEntity.ok(postService.getPosts(FieldSelection.parse(fields), authentication, pageable));
     }
 
     /**
      * Recupera um post pelo ID.
      * Posts publicados são acessíveis a todos. Posts não publicados são acessíveis apenas ao autor ou administradores.
+     * Cada leitura de um post publicado conta uma visualização, deduplicada por visitante.
      *
      * @param id             ID do post a ser buscado
+     * @param fields         campos a retornar (opcional); sem ele o post é retornado completo
+     * @param render         {@code html} para incluir {@code content_html}, o conteúdo renderizado e sanitizado
+     *                       (opcional; ignorado junto com {@code fields})
      * @param authentication informações de autenticação do usuário requisitante (pode ser null)
+     * @param request        requisição HTTP, usada para identificar visitantes anônimos pelo IP
      * @return ResponseEntity contendo detalhes do post
+     * @throws BadRequestException          se {@code render} tiver valor diferente de {@code html}
      * @throws ResourceNotFoundException    se o post não for encontrado
      * @throws AuthorizationDeniedException se o usuário não tiver permissão para ver o post
      */
     @PreAuthorize("permitAll()")
     @GetMapping("/{id}")
-    public ResponseEntity<Post> getPostById(@PathVariable("id") Long id, Authentication authentication) {
-        log.info("Buscando post por ID {}", id);
-        Post post = postRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
-
-        if (post.getStatus() == PostStatus.PUBLISHED) {
-            return ResponseEntity.ok(post);
+    public ResponseEntity<?> getPostById(@PathVariable("id") Long id, @RequestParam(name = "fields", required = false) String fields,
+                                         @RequestParam(name = "render", required = false) String render,
+                                         Authentication authentication, HttpServletRequest request) {
+        log.debug("Buscando post por ID {}", id);
+        if (render != null && !render.equals("html")) {
+            throw new BadRequestException("Renderização não suportada: " + render);
         }
-        if (authentication != null) {
-            securityUtils.checkOwnershipOrAdmin(authentication, post.getAuthor());
-            return ResponseEntity.ok(post);
+        String viewerKey = warmupRequests.isWarmup(request) ? null : viewerKey(authentication, request);
+        FieldSelection selection = FieldSelection.parse(fields);
+        if (selection != null) {
+            return ResponseEntity.ok(postService.getSparsePost(id, selection, authentication, viewerKey));
         }
 
-        throw new AuthorizationDeniedException("Acesso negado");
+        Post post = postService.getPost(id, authentication, viewerKey);
+        if (render != null) {
+            post.setContentHtml(markdownRenderingService.render(post.getContent()));
+        }
+        return ResponseEntity.ok(post);
     }
 
     /**
      * Atualiza os dados de um post existente.
      * Apenas o autor do post ou administradores podem atualizar.
+     * Os campos derivados do conteúdo são recalculados apenas quando o conteúdo ou o resumo mudam.
      *
      * @param id             ID do post a ser atualizado
      * @param request        dados do post a serem atualizados
@@ -121,17 +132,9 @@ public class PostController {
     @PreAuthorize("permitAll()")
     @PutMapping("/{id}")
     public ResponseEntity<Post> updatePost(@PathVariable("id") Long id, @Valid @RequestBody Post request, Authentication authentication) {
-        User author = securityUtils.getAuthenticatedUser(authentication);
-        log.info("Atualizando post ID {} pelo usuário {}", id, author.getUsername());
-
-        Post post = postRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
-
-        securityUtils.checkOwnershipOrAdmin(authentication, post.getAuthor());
-
-        post.setTitle(request.getTitle());
-        post.setContent(request.getContent());
-
-        return ResponseEntity.ok(postRepository.save(post));
+        Post post = postService.updatePost(id, request, authentication);
+        eventPublisher.publishEvent(new PostUpdatedEvent(post.getId()));
+        return ResponseEntity.ok(post);
     }
 
     /**
@@ -147,14 +150,8 @@ public class PostController {
     @PreAuthorize("permitAll()")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePost(@PathVariable("id") Long id, Authentication authentication) {
-        User author = securityUtils.getAuthenticatedUser(authentication);
-        log.info("Deletando post ID {} pelo usuário {}", id, author.getUsername());
-
-        Post post = postRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
-
-        securityUtils.checkOwnershipOrAdmin(authentication, post.getAuthor());
-
-        postRepository.delete(post);
+        postService.deletePost(id, authentication);
+        eventPublisher.publishEvent(new PostDeletedEvent(id));
         return ResponseEntity.noContent().build();
     }
 
@@ -164,14 +161,28 @@ public class PostController {
      * Recupera uma página contendo todos os posts publicados.
      * Este endpoint é público e não requer autenticação.
      *
-     * @param page número da página (padrão: 0)
-     * @param size tamanho da página (padrão: 10)
+     * @param page   número da página (padrão: 0)
+     * @param size   tamanho da página (padrão: 10)
+     * @param fields campos a retornar, ex.: {@code id,title,summary,author.fullName} (opcional)
      * @return ResponseEntity contendo a página de posts publicados
      */
     @GetMapping("/published")
-    public ResponseEntity<Page<Post>> getPublishedPosts(@RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size) {
-        log.info("Listando posts publicados");
-        return ResponseEntity.ok(postRepository.findByStatus(PostStatus.PUBLISHED, Pageable.ofSize(size).withPage(page)));
+    public ResponseEntity<Page<?>> getPublishedPosts(@RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size, @RequestParam(name = "fields", required = false) String fields) {
+        log.debug("Listando posts publicados");
+        Pageable pageable = Pageable.ofSize(size).withPage(page);
+        return ResponseEntity.ok(postService.getPostsByStatus(PostStatus.PUBLISHED, FieldSelection.parse(fields), pageable));
+    }
+
+    /**
+     * Recupera os posts em alta, ordenados por uma pontuação de visualizações e comentários com decaimento no tempo.
+     * Este endpoint é público e é servido da memória, sem consulta ao banco.
+     *
+     * @param limit quantidade máxima de posts (padrão: 10)
+     * @return ResponseEntity contendo a lista de posts em alta
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingPost>> getTrendingPosts(@RequestParam(defaultValue = "10", name = "limit") int limit) {
+        return ResponseEntity.ok(trendingService.getTrending(Math.max(0, limit)));
     }
 
     /**
@@ -181,16 +192,15 @@ public class PostController {
      * @param authorId       ID do autor cujos posts serão buscados
      * @param page           número da página (padrão: 0)
      * @param size           tamanho da página (padrão: 10)
+     * @param fields         campos a retornar (opcional)
      * @param authentication informações de autenticação do usuário requisitante
      * @return ResponseEntity contendo a página de posts do autor
      */
     @PreAuthorize("permitAll()")
     @GetMapping("/author/{authorId}")
-    public ResponseEntity<Page<Post>> getPostsByAuthor(@PathVariable("authorId") Long authorId, @RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size, Authentication authentication) {
-        if (securityUtils.isAdmin(authentication) || securityUtils.isSelf(authentication, authorId)) {
-            return ResponseEntity.ok(postRepository.findByAuthorId(authorId, Pageable.ofSize(size).withPage(page)));
-        }
-        return ResponseEntity.ok(postRepository.findByAuthorIdAndStatus(authorId, PostStatus.PUBLISHED, Pageable.ofSize(size).withPage(page)));
+    public ResponseEntity<Page<?>> getPostsByAuthor(@PathVariable("authorId") Long authorId, @RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size, @RequestParam(name = "fields", required = false) String fields, Authentication authentication) {
+        Pageable pageable = Pageable.ofSize(size).withPage(page);
+        return ResponseEntity.ok(postService.getPostsByAuthor(authorId, FieldSelection.parse(fields), authentication, pageable));
     }
 
     /**
@@ -200,13 +210,15 @@ public class PostController {
      * @param status status dos posts a serem buscados
      * @param page   número da página (padrão: 0)
      * @param size   tamanho da página (padrão: 10)
+     * @param fields campos a retornar (opcional)
      * @return ResponseEntity contendo a página de posts com o status especificado
      */
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @GetMapping("/status/{status}")
-    public ResponseEntity<Page<Post>> getPostsByStatus(@PathVariable("status") PostStatus status, @RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size) {
-        log.info("Listando posts com status {}", status);
-        return ResponseEntity.ok(postRepository.findByStatus(status, Pageable.ofSize(size).withPage(page)));
+    public ResponseEntity<Page<?>> getPostsByStatus(@PathVariable("status") PostStatus status, @RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size, @RequestParam(name = "fields", required = false) String fields) {
+        log.debug("Listando posts com status {}", status);
+        Pageable pageable = Pageable.ofSize(size).withPage(page);
+        return ResponseEntity.ok(postService.getPostsByStatus(status, FieldSelection.parse(fields), pageable));
     }
 
     /**
@@ -217,13 +229,15 @@ public class PostController {
      * @param status   status dos posts a serem buscados
      * @param page     número da página (padrão: 0)
      * @param size     tamanho da página (padrão: 10)
+     * @param fields   campos a retornar (opcional)
      * @return ResponseEntity contendo a página de posts do autor com o status especificado
      */
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @GetMapping("/author/{authorId}/status/{status}")
-    public ResponseEntity<Page<Post>> getPostsByAuthorAndStatus(@PathVariable("authorId") Long authorId, @PathVariable("status") PostStatus status, @RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size) {
-        log.info("Listando posts do autor ID {} com status {}", authorId, status);
-        return ResponseEntity.ok(postRepository.findByAuthorIdAndStatus(authorId, status, Pageable.ofSize(size).withPage(page)));
+    public ResponseEntity<Page<?>> getPostsByAuthorAndStatus(@PathVariable("authorId") Long authorId, @PathVariable("status") PostStatus status, @RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size, @RequestParam(name = "fields", required = false) String fields) {
+        log.debug("Listando posts do autor ID {} com status {}", authorId, status);
+        Pageable pageable = Pageable.ofSize(size).withPage(page);
+        return ResponseEntity.ok(postService.getPostsByAuthorAndStatus(authorId, status, FieldSelection.parse(fields), pageable));
     }
 
     // ===== Status Management =====
@@ -235,22 +249,15 @@ public class PostController {
      * @param id             ID do post cujo status será atualizado
      * @param status         novo status do post
      * @param authentication informações de autenticação do usuário requisitante
-     * @return ResponseEntity contendo detalhes do post com o status atualizado
+     * @return ResponseEntity contendo o novo status do post
      * @throws ResourceNotFoundException    se o post não for encontrado
      * @throws AuthorizationDeniedException se o usuário não for o autor ou administrador
+     * @throws ConflictException            se o status atual não permitir a transição
      */
     @PreAuthorize("permitAll()")
     @PatchMapping("/{id}/status")
-    public ResponseEntity<Post> updatePostStatus(@PathVariable("id") Long id, @RequestParam("status") PostStatus status, Authentication authentication) {
-        User author = securityUtils.getAuthenticatedUser(authentication);
-        log.info("Atualizando status do post ID {} para {} pelo usuário {}", id, status, author.getUsername());
-
-        Post post = postRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
-
-        securityUtils.checkOwnershipOrAdmin(authentication, post.getAuthor());
-
-        post.setStatus(status);
-        return ResponseEntity.ok(postRepository.save(post));
+    public ResponseEntity<PostStatusChange> updatePostStatus(@PathVariable("id") Long id, @RequestParam("status") PostStatus status, Authentication authentication) {
+        return changePostStatus(id, status, authentication);
     }
 
     /**
@@ -259,13 +266,14 @@ public class PostController {
      *
      * @param id             ID do post a ser publicado
      * @param authentication informações de autenticação do usuário requisitante
-     * @return ResponseEntity contendo detalhes do post publicado
+     * @return ResponseEntity contendo o novo status do post
      * @throws ResourceNotFoundException    se o post não for encontrado
      * @throws AuthorizationDeniedException se o usuário não for o autor ou administrador
+     * @throws ConflictException            se o status atual não permitir a transição
      */
     @PreAuthorize("permitAll()")
     @PatchMapping("/{id}/publish")
-    public ResponseEntity<Post> publishPost(@PathVariable("id") Long id, Authentication authentication) {
+    public ResponseEntity<PostStatusChange> publishPost(@PathVariable("id") Long id, Authentication authentication) {
         return changePostStatus(id, PostStatus.PUBLISHED, authentication);
     }
 
@@ -275,13 +283,14 @@ public class PostController {
      *
      * @param id             ID do post cuja publicação será removida
      * @param authentication informações de autenticação do usuário requisitante
-     * @return ResponseEntity contendo detalhes do post com a publicação removida
+     * @return ResponseEntity contendo o novo status do post
      * @throws ResourceNotFoundException    se o post não for encontrado
      * @throws AuthorizationDeniedException se o usuário não for o autor ou administrador
+     * @throws ConflictException            se o status atual não permitir a transição
      */
     @PreAuthorize("permitAll()")
     @PatchMapping("/{id}/unpublish")
-    public ResponseEntity<Post> unpublishPost(@PathVariable("id") Long id, Authentication authentication) {
+    public ResponseEntity<PostStatusChange> unpublishPost(@PathVariable("id") Long id, Authentication authentication) {
         return changePostStatus(id, PostStatus.DRAFT, authentication);
     }
 
@@ -291,13 +300,14 @@ public class PostController {
      *
      * @param id             ID do post a ser arquivado
      * @param authentication informações de autenticação do usuário requisitante
-     * @return ResponseEntity contendo detalhes do post arquivado
+     * @return ResponseEntity contendo o novo status do post
      * @throws ResourceNotFoundException    se o post não for encontrado
      * @throws AuthorizationDeniedException se o usuário não for o autor ou administrador
+     * @throws ConflictException            se o status atual não permitir a transição
      */
     @PreAuthorize("permitAll()")
     @PatchMapping("/{id}/archive")
-    public ResponseEntity<Post> archivePost(@PathVariable("id") Long id, Authentication authentication) {
+    public ResponseEntity<PostStatusChange> archivePost(@PathVariable("id") Long id, Authentication authentication) {
         return changePostStatus(id, PostStatus.ARCHIVED, authentication);
     }
 
@@ -310,20 +320,29 @@ public class PostController {
      * @param id             ID do post cujo status será alterado
      * @param status         novo status do post
      * @param authentication informações de autenticação do usuário requisitante
-     * @return ResponseEntity contendo detalhes do post com o status alterado
+     * @return ResponseEntity contendo o novo status do post
      * @throws ResourceNotFoundException    se o post não for encontrado
      * @throws AuthorizationDeniedException se o usuário não for o autor ou administrador
+     * @throws ConflictException            se o status atual não permitir a transição
      */
-    private ResponseEntity<Post> changePostStatus(Long id, PostStatus status, Authentication authentication) {
-        User user = securityUtils.getAuthenticatedUser(authentication);
-        log.info("Alterando status do post ID {} para {} pelo usuário {}", id, status, user.getUsername());
-
-        Post post = postRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
-
-        securityUtils.checkOwnershipOrAdmin(authentication, post.getAuthor());
+    private ResponseEntity<PostStatusChange> changePostStatus(Long id, PostStatus status, Authentication authentication) {
+        PostStatusChange change = postService.changeStatus(id, status, authentication);
+        eventPublisher.publishEvent(new PostStatusChangedEvent(id, status));
+        return ResponseEntity.ok(change);
+    }
 
-        post.setStatus(status);
-        return ResponseEntity.ok(postRepository.save(post));
+    /**
+     * Identifica o visitante para a deduplicação de visualizações: o usuário autenticado ou, na falta dele, o IP.
+     *
+     * @param authentication informações de autenticação do usuário requisitante (pode ser null)
+     * @param request        requisição HTTP
+     * @return chave do visitante
+     */
+    private String viewerKey(Authentication authentication, HttpServletRequest request) {
+        if (authentication != null && authentication.isAuthenticated()) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
     }
 
 }
@@ -2,22 +2,26 @@ package com.ufc.blog.controller;
 
 import com.ufc.blog.entity.User;
 import com.ufc.blog.entity.UserStatus;
+import com.ufc.blog.event.UserChangedEvent;
+import com.ufc.blog.event.UserDeletedEvent;
 import com.ufc.blog.exception.BadRequestException;
+import com.ufc.blog.exception.ConflictException;
 import com.ufc.blog.exception.ResourceNotFoundException;
-import com.ufc.blog.repository.UserRepository;
-import com.ufc.blog.util.SecurityUtils;
+import com.ufc.blog.fields.FieldSelection;
+import com.ufc.blog.service.UserPurgeProgress;
+import com.ufc.blog.service.UserService;
+import com.ufc.blog.service.UserStatusChange;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 
 @Slf4j
 @RestController
@@ -25,9 +29,8 @@ import org.springframework.web.server.ResponseStatusException;
 @RequiredArgsConstructor
 public class UserController {
 
-    private final UserRepository userRepository;
-    private final SecurityUtils securityUtils;
-    private final PasswordEncoder passwordEncoder;
+    private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ===== CRUD Operations =====
 
@@ -36,14 +39,16 @@ public class UserController {
      * Apenas usuários com papel ADMIN podem acessar este endpoint.
      *
      * @param page número da página (padrão: 0)
-     * @param size quantidade de usuários por página (padrão: 10)
+     * @param size   quantidade de usuários por página (padrão: 10)
+     * @param fields campos a retornar, ex.: {@code id,username,postsCount} (opcional)
      * @return ResponseEntity contendo uma página de usuários
      */
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @GetMapping
-    public ResponseEntity<Page<User>> getAllUsers(@RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size) {
-        log.info("Listando todos os usuários (ADMIN)");
-        return ResponseEntity.ok(userRepository.findAll(Pageable.ofSize(size).withPage(page)));
+    public ResponseEntity<Page<?>> getAllUsers(@RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size, @RequestParam(name = "fields", required = false) String fields) {
+        log.debug("Listando todos os usuários (ADMIN)");
+        Pageable pageable = Pageable.ofSize(size).withPage(page);
+        return ResponseEntity.ok(userService.getUsers(FieldSelection.parse(fields), pageable));
     }
 
     /**
@@ -51,18 +56,21 @@ public class UserController {
      * Usuários com papel ADMIN podem acessar qualquer usuário.
      * Usuários com papel USER só podem acessar seus próprios dados.
      *
-     * @param id ID do usuário a ser buscado
+     * @param id     ID do usuário a ser buscado
+     * @param fields campos a retornar (opcional)
      * @return ResponseEntity contendo os detalhes do usuário
      * @throws ResourceNotFoundException    se o usuário não for encontrado
      * @throws AuthorizationDeniedException se o usuário não tiver permissão
      */
     @PreAuthorize("permitAll()")
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable("id") Long id) {
-        log.info("Buscando usuário por ID {}", id);
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", id));
-        return ResponseEntity.ok(user);
+    public ResponseEntity<?> getUserById(@PathVariable("id") Long id, @RequestParam(name = "fields", required = false) String fields) {
+        log.debug("Buscando usuário por ID {}", id);
+        FieldSelection selection = FieldSelection.parse(fields);
+        if (selection != null) {
+            return ResponseEntity.ok(userService.getSparseUser(id, selection));
+        }
+        return ResponseEntity.ok(userService.getUser(id));
     }
 
     /**
@@ -82,43 +90,48 @@ public class UserController {
     @PutMapping("/{id}")
     public ResponseEntity<User> updateUser(@PathVariable("id") Long id, @Valid @RequestBody User request, Authentication authentication) {
         log.info("Atualizando usuário ID {}", id);
-        User user = userRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", id));
-        securityUtils.checkOwnershipOrAdmin(authentication, user);
-
-        if (request.getUsername() != null) {
-            validateUserUniqueness(request.getUsername(), null, id);
-            user.setUsername(request.getUsername());
-        }
-        if (request.getEmail() != null) {
-            validateUserUniqueness(null, request.getEmail(), id);
-            user.setEmail(request.getEmail());
-        }
-        if (request.getFirstName() != null) user.setFirstName(request.getFirstName());
-        if (request.getLastName() != null) user.setLastName(request.getLastName());
-        if (request.getRole() != null) user.setRole(request.getRole());
-
-        return ResponseEntity.ok(userRepository.save(user));
+        User user = userService.updateUser(id, request, authentication);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
+        return ResponseEntity.ok(user);
     }
 
     /**
-     * Deleta um usuário pelo ID.
+     * Deleta um usuário pelo ID, com seus posts e comentários.
      * Usuários com papel ADMIN podem deletar qualquer usuário.
      * Usuários com papel USER só podem deletar seus próprios dados.
+     * O usuário deixa de aparecer e de autenticar imediatamente; contas grandes são apagadas em segundo plano.
      *
      * @param id             ID do usuário a ser deletado
      * @param authentication informações de autenticação do usuário requisitante
-     * @return ResponseEntity com status 204 (No Content) se a deleção for bem-sucedida
+     * @return ResponseEntity com status 204 (No Content) se a conta já foi apagada, ou 202 (Accepted)
+     * com o andamento da remoção em segundo plano
      * @throws ResourceNotFoundException    se o usuário não for encontrado
      * @throws AuthorizationDeniedException se o usuário não tiver permissão
      */
     @PreAuthorize("permitAll()")
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteUser(@PathVariable("id") Long id, Authentication authentication) {
+    public ResponseEntity<UserPurgeProgress> deleteUser(@PathVariable("id") Long id, Authentication authentication) {
         log.info("Deletando usuário ID {}", id);
-        User user = userRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", id));
-        securityUtils.checkOwnershipOrAdmin(authentication, user);
-        userRepository.delete(user);
-        return ResponseEntity.noContent().build();
+        UserPurgeProgress progress = userService.deleteUser(id, authentication);
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
+        if (progress.finished()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.accepted().body(progress);
+    }
+
+    /**
+     * Retorna o andamento da remoção de um usuário.
+     * Apenas usuários com papel ADMIN podem acessar este endpoint.
+     *
+     * @param id ID do usuário em remoção
+     * @return ResponseEntity contendo o andamento da remoção
+     * @throws ResourceNotFoundException se não houver remoção recente desse usuário
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/{id}/purge")
+    public ResponseEntity<UserPurgeProgress> getUserPurgeProgress(@PathVariable("id") Long id) {
+        return ResponseEntity.ok(userService.getPurgeProgress(id));
     }
 
     // ===== Query Operations =====
@@ -139,19 +152,8 @@ public class UserController {
     @PreAuthorize("permitAll()")
     @GetMapping("/search")
     public ResponseEntity<User> getUser(@RequestParam(name = "username", required = false) String username, @RequestParam(name = "email", required = false) String email, Authentication authentication) {
-        log.info("Buscando usuário por username/email");
-        if (username == null && email == null) {
-            throw new BadRequestException("Parâmetro 'username' ou 'email' deve ser fornecido.");
-        }
-
-        User user = (username != null) ?
-                userRepository.findByUsername(username)
-                        .orElseThrow(() -> new ResourceNotFoundException("Usuário", "username", username)) :
-                userRepository.findByEmail(email)
-                        .orElseThrow(() -> new ResourceNotFoundException("Usuário", "email", email));
-
-        securityUtils.checkOwnershipOrAdmin(authentication, user);
-        return ResponseEntity.ok(user);
+        log.debug("Buscando usuário por username/email");
+        return ResponseEntity.ok(userService.searchUser(username, email, authentication));
     }
 
 
@@ -162,13 +164,15 @@ public class UserController {
      * @param status status dos usuários a serem buscados
      * @param page   número da página (padrão: 0)
      * @param size   quantidade de usuários por página (padrão: 10)
+     * @param fields campos a retornar (opcional)
      * @return ResponseEntity contendo uma página de usuários com o status especificado
      */
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @GetMapping("/search/status/{status}")
-    public ResponseEntity<Page<User>> getUsersByStatus(@PathVariable(name = "status") UserStatus status, @RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size) {
-        log.info("Buscando usuários por status {}", status);
-        return ResponseEntity.ok(userRepository.findByStatus(status, Pageable.ofSize(size).withPage(page)));
+    public ResponseEntity<Page<?>> getUsersByStatus(@PathVariable(name = "status") UserStatus status, @RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size, @RequestParam(name = "fields", required = false) String fields) {
+        log.debug("Buscando usuários por status {}", status);
+        Pageable pageable = Pageable.ofSize(size).withPage(page);
+        return ResponseEntity.ok(userService.getUsersByStatus(status, FieldSelection.parse(fields), pageable));
     }
 
     // ===== Status Management =====
@@ -179,14 +183,15 @@ public class UserController {
      *
      * @param id     ID do usuário cujo status será atualizado
      * @param status novo status do usuário
-     * @return ResponseEntity contendo os detalhes do usuário com o status atualizado
+     * @return ResponseEntity contendo o novo status do usuário
      * @throws ResourceNotFoundException se o usuário não for encontrado
+     * @throws ConflictException         se o status atual não permitir a transição
      */
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PatchMapping("/{id}/status")
-    public ResponseEntity<User> updateUserStatus(@PathVariable(name = "id") Long id, @RequestParam(name = "status") UserStatus status) {
+    public ResponseEntity<UserStatusChange> updateUserStatus(@PathVariable(name = "id") Long id, @RequestParam(name = "status") UserStatus status) {
         log.info("Atualizando status do usuário ID {} para {}", id, status);
-        return ResponseEntity.ok(changeUserStatus(id, status));
+        return changeUserStatus(id, status);
     }
 
     /**
@@ -194,14 +199,15 @@ public class UserController {
      * Apenas usuários com papel ADMIN podem acessar este endpoint.
      *
      * @param id ID do usuário a ser ativado
-     * @return ResponseEntity contendo os detalhes do usuário ativado
+     * @return ResponseEntity contendo o novo status do usuário
      * @throws ResourceNotFoundException se o usuário não for encontrado
+     * @throws ConflictException         se o status atual não permitir a transição
      */
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PatchMapping("/{id}/activate")
-    public ResponseEntity<User> activateUser(@PathVariable(name = "id") Long id) {
+    public ResponseEntity<UserStatusChange> activateUser(@PathVariable(name = "id") Long id) {
         log.info("Ativando usuário ID {}", id);
-        return ResponseEntity.ok(changeUserStatus(id, UserStatus.ACTIVE));
+        return changeUserStatus(id, UserStatus.ACTIVE);
     }
 
     /**
@@ -209,14 +215,15 @@ public class UserController {
      * Apenas usuários com papel ADMIN podem acessar este endpoint.
      *
      * @param id ID do usuário a ser suspenso
-     * @return ResponseEntity contendo os detalhes do usuário suspenso
+     * @return ResponseEntity contendo o novo status do usuário
      * @throws ResourceNotFoundException se o usuário não for encontrado
+     * @throws ConflictException         se o status atual não permitir a transição
      */
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PatchMapping("/{id}/suspend")
-    public ResponseEntity<User> suspendUser(@PathVariable(name = "id") Long id) {
+    public ResponseEntity<UserStatusChange> suspendUser(@PathVariable(name = "id") Long id) {
         log.info("Suspendendo usuário ID {}", id);
-        return ResponseEntity.ok(changeUserStatus(id, UserStatus.SUSPENDED));
+        return changeUserStatus(id, UserStatus.SUSPENDED);
     }
 
     /**
@@ -224,14 +231,21 @@ public class UserController {
      * Apenas usuários com papel ADMIN podem acessar este endpoint.
      *
      * @param id ID do usuário a ser desativado
-     * @return ResponseEntity contendo os detalhes do usuário desativado
+     * @return ResponseEntity contendo o novo status do usuário
      * @throws ResourceNotFoundException se o usuário não for encontrado
+     * @throws ConflictException         se o status atual não permitir a transição
      */
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PatchMapping("/{id}/deactivate")
-    public ResponseEntity<User> deactivateUser(@PathVariable(name = "id") Long id) {
+    public ResponseEntity<UserStatusChange> deactivateUser(@PathVariable(name = "id") Long id) {
         log.info("Desativando usuário ID {}", id);
-        return ResponseEntity.ok(changeUserStatus(id, UserStatus.INACTIVE));
+        return changeUserStatus(id, UserStatus.INACTIVE);
+    }
+
+    private ResponseEntity<UserStatusChange> changeUserStatus(Long id, UserStatus status) {
+        UserStatusChange change = userService.changeStatus(id, status);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
+        return ResponseEntity.ok(change);
     }
 
     // ===== Password Management =====
@@ -256,19 +270,7 @@ public class UserController {
         if (passwords.length != 2) {
             throw new BadRequestException("O corpo da requisição deve conter a senha atual e a nova senha.");
         }
-
-        User user = userRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", id));
-        securityUtils.checkOwnershipOrAdmin(authentication, user);
-
-        String currentPassword = passwords[0];
-        String newPassword = passwords[1];
-
-        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
-            throw new BadRequestException("Senha antiga está incorreta.");
-        }
-
-        user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
+        userService.updatePassword(id, passwords[0], passwords[1], authentication);
         return ResponseEntity.noContent().build();
     }
 
@@ -283,52 +285,8 @@ public class UserController {
      */
     @GetMapping("/validation/exists")
     public ResponseEntity<Boolean> userExists(@RequestParam(name = "username", required = false) String username, @RequestParam(name = "email", required = false) String email) {
-        log.info("Verificando existência de usuário por username/email");
-        boolean exists = false;
-        if (username != null) {
-            exists = userRepository.existsByUsername(username);
-        } else if (email != null) {
-            exists = userRepository.existsByEmail(email);
-        }
-        return ResponseEntity.ok(exists);
-    }
-
-    // ===== Utility =====
-
-    /**
-     * Valida a unicidade do username e email.
-     *
-     * @param username  username a ser validado (pode ser null)
-     * @param email     email a ser validado (pode ser null)
-     * @param excludeId ID do usuário a ser excluído da verificação (usado em atualizações)
-     * @throws ResponseStatusException com status 400 se o username ou email já estiverem em uso
-     */
-    private void validateUserUniqueness(String username, String email, Long excludeId) {
-        if (username != null) {
-            userRepository.findByUsername(username).filter(u -> !u.getId().equals(excludeId)).ifPresent(u -> {
-                throw new BadRequestException("Username já está em uso");
-            });
-        }
-        if (email != null) {
-            userRepository.findByEmail(email).filter(u -> !u.getId().equals(excludeId)).ifPresent(u -> {
-                throw new BadRequestException("Email já está em uso");
-            });
-        }
-    }
-
-    /**
-     * Altera o status de um usuário.
-     *
-     * @param id     ID do usuário cujo status será alterado
-     * @param status novo status do usuário
-     * @return usuário com o status atualizado
-     * @throws ResponseStatusException com status 404 se o usuário não for encontrado
-     */
-    private User changeUserStatus(Long id, UserStatus status) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", id));
-        user.setStatus(status);
-        return userRepository.save(user);
+        log.debug("Verificando existência de usuário por username/email");
+        return ResponseEntity.ok(userService.exists(username, email));
     }
 
 }
@@ -0,0 +1,69 @@
+package com.ufc.blog.entity;
+
+import com.ufc.blog.cluster.EntityType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aviso de mudança gravado pelo transporte por tabela do barramento de invalidação, lido pelas outras instâncias
+ * em ordem de {@code id}. As linhas são apagadas depois de {@code app.cluster.table.retention}.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "cache_invalidations", indexes = @Index(name = "idx_cache_invalidations_created_at", columnList = "created_at"))
+public class CacheInvalidation {
+
+    /**
+     * Tamanho máximo da origem: {@code app.cluster.node-id}, se houver, mais {@code "/"} e um UUID de 36 caracteres.
+     */
+    public static final int MAX_ORIGIN_LENGTH = 64;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
+
+    @Column(name = "origin", nullable = false, length = MAX_ORIGIN_LENGTH)
+    private String origin;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    /**
+     * Sequência do aviso entre os da mesma origem.
+     */
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Column(name = "deleted", nullable = false)
+    private boolean deleted;
+
+    /**
+     * Hora do banco na gravação; nunca o relógio da instância.
+     */
+    @ColumnDefault("LOCALTIMESTAMP")
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+}
@@ -1,5 +1,6 @@
 package com.ufc.blog.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -7,13 +8,14 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "comments")
+@Table(name = "comments", indexes = @Index(name = "comments_ingestion_idx", columnList = "ingestion_id"))
 public class Comment extends AuditableEntity {
 
     @NotBlank
@@ -24,6 +26,16 @@ public class Comment extends AuditableEntity {
     @Column(name = "active", nullable = false)
     private Boolean active = true;
 
+    /**
+     * Comentário de um post arquivado há mais de {@code app.archive.after}, movido para a camada fria pelo
+     * {@code CommentArchiver}. No PostgreSQL particionado, a coluna escolhe a partição ({@code comments_hot}
+     * ou {@code comments_cold}); nos demais bancos é só uma marca.
+     */
+    @JsonIgnore
+    @ColumnDefault("false")
+    @Column(name = "archived", nullable = false)
+    private Boolean archived = false;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
@@ -32,6 +44,15 @@ public class Comment extends AuditableEntity {
     @JoinColumn(name = "post_id", nullable = false)
     private Post post;
 
+    /**
+     * Identificador devolvido ao cliente quando o comentário é aceito pela ingestão assíncrona,
+     * antes de existir um ID no banco. Permite ao cliente reconciliar o comentário pendente com o persistido.
+     * É um UUID gerado pelo servidor; não há restrição única porque a tabela particionada do PostgreSQL só as aceita
+     * com as chaves de partição (ver {@code CommentPartitioning}), e o índice tem o mesmo nome nos dois esquemas.
+     */
+    @Column(name = "ingestion_id", length = 36, updatable = false)
+    private String ingestionId;
+
     public Comment(String content, User author, Post post) {
         this();
         this.content = content;
@@ -0,0 +1,40 @@
+package com.ufc.blog.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dicionário pré-definido de compressão do conteúdo dos posts. Nunca é alterado nem removido:
+ * as linhas de {@code post_bodies} gravadas com ele guardam o seu ID.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "content_dictionaries")
+public class ContentDictionary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Integer id;
+
+    @Column(name = "data", length = 32 * 1024, nullable = false, updatable = false)
+    private byte[] data;
+
+    @Column(name = "sample_posts", nullable = false, updatable = false)
+    private int samplePosts;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public ContentDictionary(byte[] data, int samplePosts) {
+        this.data = data;
+        this.samplePosts = samplePosts;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -9,6 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.Hibernate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -27,14 +28,36 @@ public class Post extends AuditableEntity {
     @Column(name = "title", length = 200, nullable = false)
     private String title;
 
-    @NotBlank
-    @Column(name = "content", columnDefinition = "TEXT", nullable = false)
-    private String content;
+    /**
+     * Corpo do post em {@code post_bodies}, carregado sob demanda: listagens não o leem
+     * e só o serializam quando já foi carregado (ex.: em {@code getPostById}).
+     */
+    @OneToOne(mappedBy = "post", fetch = FetchType.LAZY, optional = false, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnore
+    private PostBody body;
 
     @Size(max = 500)
     @Column(name = "summary", length = 500)
     private String summary;
 
+    /**
+     * Se o resumo foi gerado do conteúdo (e deve acompanhar as edições) ou escrito pelo autor.
+     * Null em posts gravados antes deste controle.
+     */
+    @JsonIgnore
+    @Column(name = "summary_generated")
+    private Boolean summaryGenerated;
+
+    /**
+     * Número de palavras e minutos estimados de leitura do conteúdo, calculados na escrita
+     * pelo {@code PostEnrichmentService} (null em posts ainda não processados pelo backfill).
+     */
+    @Column(name = "word_count")
+    private Integer wordCount;
+
+    @Column(name = "reading_time_minutes")
+    private Integer readingTimeMinutes;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private PostStatus status = PostStatus.DRAFT;
@@ -46,26 +69,71 @@ public class Post extends AuditableEntity {
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
 
-    @OneToMany(mappedBy = "post", cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REMOVE}, fetch = FetchType.LAZY)
+    /**
+     * Sem {@code CascadeType.REMOVE}: posts são apagados com {@code DELETE}s em conjunto pelo {@code PurgeService}.
+     */
+    @OneToMany(mappedBy = "post", cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.LAZY)
     @JsonIgnore
     private List<Comment> comments = new ArrayList<>();
 
+    /**
+     * Total de visualizações, preenchido pelo {@code PostViewService} nas respostas de leitura.
+     */
+    @Transient
+    @JsonProperty("viewsCount")
+    private Long viewsCount;
+
+    /**
+     * Total de comentários ativos, preenchido pelo {@code PostService} com uma consulta agrupada por página.
+     */
+    @Transient
+    @JsonProperty("commentsCount")
+    private Long commentsCount;
+
+    /**
+     * Conteúdo renderizado como HTML sanitizado, preenchido apenas quando pedido com {@code render=html}.
+     */
+    @Transient
+    private String contentHtml;
+
     public Post(String title, String content, User author) {
         this();
         this.title = title;
-        this.content = content;
         this.author = author;
+        setContent(content);
     }
 
-    @JsonProperty("commentsCount")
-    public int getCommentsCount() {
-        return comments != null ? (int) comments.stream()
-                .filter(comment -> comment != null && comment.getActive())
-                .count() : 0;
+    /**
+     * Conteúdo do post; carrega o corpo se ainda não estiver carregado.
+     */
+    @NotBlank
+    @JsonIgnore
+    public String getContent() {
+        return body != null ? body.getContent() : null;
+    }
+
+    @JsonProperty("content")
+    public void setContent(String content) {
+        if (body == null) {
+            body = new PostBody(this, content);
+        } else {
+            body.setContent(content);
+        }
+    }
+
+    /**
+     * Conteúdo para serialização: presente apenas quando o corpo já foi carregado,
+     * para que serializar uma listagem não dispare uma consulta por post. A primeira verificação
+     * cobre as entidades com bytecode melhorado (perfil {@code native}), em que ler o campo já o carregaria.
+     */
+    @JsonProperty("content")
+    String loadedContent() {
+        return Hibernate.isPropertyInitialized(this, "body") && body != null && Hibernate.isInitialized(body)
+                ? body.getContent() : null;
     }
 
     @JsonProperty("hasComments")
-    public boolean hasComments() {
-        return getCommentsCount() > 0;
+    public Boolean hasComments() {
+        return commentsCount != null ? commentsCount > 0 : null;
     }
 }
\ No newline at end of file
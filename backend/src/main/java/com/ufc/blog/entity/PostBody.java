@@ -0,0 +1,44 @@
+package com.ufc.blog.entity;
+
+import com.ufc.blog.compression.CompressedContentConverter;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Corpo de um post, guardado fora da tabela {@code posts} para que as listagens, que filtram
+ * por status, autor e datas, percorram linhas estreitas. Compartilha a chave primária do post.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "post_bodies")
+public class PostBody {
+
+    @Id
+    @Column(name = "post_id", nullable = false, updatable = false)
+    private Long postId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "post_id")
+    private Post post;
+
+    /**
+     * Conteúdo em texto; gravado em {@code content_data} no formato do {@code ContentCodec}
+     * (comprimido acima do limite configurado, com um byte inicial que identifica o codec).
+     */
+    @Convert(converter = CompressedContentConverter.class)
+    @JdbcTypeCode(SqlTypes.LONG32VARBINARY)
+    @Column(name = "content_data")
+    private String content;
+
+    public PostBody(Post post, String content) {
+        this.post = post;
+        this.content = content;
+    }
+}
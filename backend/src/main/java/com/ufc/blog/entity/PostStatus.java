@@ -1,5 +1,8 @@
 package com.ufc.blog.entity;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum PostStatus {
     DRAFT("Draft", "Rascunho - Post não publicado"),
     PUBLISHED("Published", "Publicado - Visível para todos"),
@@ -37,6 +40,22 @@ public enum PostStatus {
         return this == PUBLISHED;
     }
 
+    /**
+     * Status dos quais um post pode passar para este. Um post arquivado volta primeiro a rascunho
+     * antes de ser publicado de novo; nenhum status transita para si mesmo.
+     */
+    public Set<PostStatus> sources() {
+        return switch (this) {
+            case DRAFT -> EnumSet.of(PUBLISHED, ARCHIVED);
+            case PUBLISHED -> EnumSet.of(DRAFT);
+            case ARCHIVED -> EnumSet.of(DRAFT, PUBLISHED);
+        };
+    }
+
+    public boolean canTransitionTo(PostStatus target) {
+        return target.sources().contains(this);
+    }
+
     @Override
     public String toString() {
         return displayName;
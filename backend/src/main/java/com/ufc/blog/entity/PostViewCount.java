@@ -0,0 +1,31 @@
+package com.ufc.blog.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Total de visualizações persistido por post. A linha é atualizada apenas pelo flush periódico
+ * do {@code PostViewService}, nunca no caminho da requisição.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "post_views")
+public class PostViewCount {
+
+    @Id
+    @Column(name = "post_id", nullable = false, updatable = false)
+    private Long postId;
+
+    @Column(name = "views", nullable = false)
+    private long views;
+
+}
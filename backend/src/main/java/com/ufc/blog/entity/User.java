@@ -11,6 +11,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import com.ufc.blog.security.RefreshToken;
@@ -60,13 +61,22 @@ public class User extends AuditableEntity {
     @Column(name = "status", nullable = false)
     private UserStatus status = UserStatus.ACTIVE;
 
-    @OneToMany(mappedBy = "author", cascade = { CascadeType.PERSIST, CascadeType.MERGE,
-            CascadeType.REMOVE }, fetch = FetchType.LAZY)
+    /**
+     * Início da remoção da conta pelo {@code PurgeService}; enquanto preenchido o usuário não aparece
+     * nas consultas nem autentica.
+     */
+    @Column(name = "deleted_at")
+    @JsonIgnore
+    private LocalDateTime deletedAt;
+
+    /**
+     * Sem {@code CascadeType.REMOVE} nas coleções: contas são apagadas com {@code DELETE}s em conjunto pelo {@code PurgeService}.
+     */
+    @OneToMany(mappedBy = "author", cascade = { CascadeType.PERSIST, CascadeType.MERGE }, fetch = FetchType.LAZY)
     @JsonIgnore
     private List<Post> posts = new ArrayList<>();
 
-    @OneToMany(mappedBy = "author", cascade = { CascadeType.PERSIST, CascadeType.MERGE,
-            CascadeType.REMOVE }, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "author", cascade = { CascadeType.PERSIST, CascadeType.MERGE }, fetch = FetchType.LAZY)
     @JsonIgnore
     private List<Comment> comments = new ArrayList<>();
 
@@ -74,28 +84,27 @@ public class User extends AuditableEntity {
     @JsonIgnore
     private RefreshToken refreshToken;
 
-    public User(String username, String email, String password) {
-        this();
-        this.username = username;
-        this.email = email;
-        this.password = password;
-    }
-
+    /*
+     * Contagens preenchidas pelo UserService nas respostas em que o usuário é o recurso principal,
+     * com consultas agrupadas; como autor aninhado em posts e comentários elas são omitidas.
+     */
+    @Transient
     @JsonProperty("postsCount")
-    public int getPostsCount() {
-        return posts != null ? posts.size() : 0;
-    }
+    private Long postsCount;
 
+    @Transient
     @JsonProperty("publishedPostsCount")
-    public long getPublishedPostsCount() {
-        return posts != null ? posts.stream()
-                .filter(post -> post != null && post.getStatus() == PostStatus.PUBLISHED)
-                .count() : 0;
-    }
+    private Long publishedPostsCount;
 
+    @Transient
     @JsonProperty("commentsCount")
-    public int getCommentsCount() {
-        return comments != null ? comments.size() : 0;
+    private Long commentsCount;
+
+    public User(String username, String email, String password) {
+        this();
+        this.username = username;
+        this.email = email;
+        this.password = password;
     }
 
     @JsonProperty("fullName")
@@ -3,6 +3,9 @@ package com.ufc.blog.entity;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 @Getter
 @AllArgsConstructor
 public enum UserStatus {
@@ -38,6 +41,23 @@ public enum UserStatus {
         return this == ACTIVE;
     }
 
+    /**
+     * Status dos quais um usuário pode passar para este. Nenhum volta a pendente, e um suspenso
+     * só é reativado ou desativado; nenhum status transita para si mesmo.
+     */
+    public Set<UserStatus> sources() {
+        return switch (this) {
+            case ACTIVE -> EnumSet.of(PENDING, INACTIVE, SUSPENDED);
+            case SUSPENDED -> EnumSet.of(ACTIVE);
+            case INACTIVE -> EnumSet.of(PENDING, ACTIVE, SUSPENDED);
+            case PENDING -> EnumSet.noneOf(UserStatus.class);
+        };
+    }
+
+    public boolean canTransitionTo(UserStatus target) {
+        return target.sources().contains(this);
+    }
+
     @Override
     public String toString() {
         return displayName;
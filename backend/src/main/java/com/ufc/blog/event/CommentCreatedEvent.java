@@ -0,0 +1,13 @@
+package com.ufc.blog.event;
+
+import com.ufc.blog.entity.Comment;
+
+/**
+ * Publicado quando um comentário é aceito em um post publicado.
+ * No modo write-behind o comentário ainda não tem ID, apenas {@code ingestionId}.
+ *
+ * @param postId  ID do post comentado
+ * @param comment comentário criado, na forma devolvida ao cliente
+ */
+public record CommentCreatedEvent(Long postId, Comment comment) {
+}
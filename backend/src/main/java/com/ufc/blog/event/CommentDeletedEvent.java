@@ -0,0 +1,10 @@
+package com.ufc.blog.event;
+
+/**
+ * Publicado quando um comentário é removido.
+ *
+ * @param postId    ID do post do comentário
+ * @param commentId ID do comentário removido
+ */
+public record CommentDeletedEvent(Long postId, Long commentId) {
+}
@@ -0,0 +1,14 @@
+package com.ufc.blog.event;
+
+import com.ufc.blog.cluster.EntityType;
+
+/**
+ * Publicado quando outra instância altera ou remove uma entidade (ver {@code InvalidationBus}). Mudanças feitas
+ * nesta instância continuam chegando pelos eventos específicos ({@link PostUpdatedEvent}, {@link UserChangedEvent}...).
+ *
+ * @param type    tipo da entidade
+ * @param id      ID da entidade
+ * @param deleted se a entidade foi removida
+ */
+public record EntityInvalidatedEvent(EntityType type, Long id, boolean deleted) {
+}
@@ -0,0 +1,9 @@
+package com.ufc.blog.event;
+
+/**
+ * Publicado quando um post é removido.
+ *
+ * @param postId ID do post removido
+ */
+public record PostDeletedEvent(Long postId) {
+}
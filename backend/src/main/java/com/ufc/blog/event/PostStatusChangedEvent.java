@@ -0,0 +1,12 @@
+package com.ufc.blog.event;
+
+import com.ufc.blog.entity.PostStatus;
+
+/**
+ * Publicado quando o status de um post muda.
+ *
+ * @param postId ID do post
+ * @param status novo status
+ */
+public record PostStatusChangedEvent(Long postId, PostStatus status) {
+}
@@ -0,0 +1,9 @@
+package com.ufc.blog.event;
+
+/**
+ * Publicado quando título ou conteúdo de um post são alterados.
+ *
+ * @param postId ID do post alterado
+ */
+public record PostUpdatedEvent(Long postId) {
+}
@@ -0,0 +1,9 @@
+package com.ufc.blog.event;
+
+/**
+ * Publicado quando uma visualização de post publicado é contabilizada (já deduplicada).
+ *
+ * @param postId ID do post visualizado
+ */
+public record PostViewedEvent(Long postId) {
+}
@@ -0,0 +1,9 @@
+package com.ufc.blog.event;
+
+/**
+ * Publicado quando uma conta é criada ou tem dados ou status alterados.
+ *
+ * @param userId ID do usuário
+ */
+public record UserChangedEvent(Long userId) {
+}
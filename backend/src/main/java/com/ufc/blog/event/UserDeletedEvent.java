@@ -0,0 +1,9 @@
+package com.ufc.blog.event;
+
+/**
+ * Publicado quando a remoção de uma conta é iniciada; a conta deixa de aparecer de imediato.
+ *
+ * @param userId ID do usuário removido
+ */
+public record UserDeletedEvent(Long userId) {
+}
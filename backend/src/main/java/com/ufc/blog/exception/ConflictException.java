@@ -0,0 +1,15 @@
+package com.ufc.blog.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A operação não se aplica ao estado atual do recurso, por exemplo uma transição de status
+ * não permitida ou perdida para uma alteração concorrente.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,76 @@
+package com.ufc.blog.fields;
+
+import com.ufc.blog.exception.BadRequestException;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+
+/**
+ * Campos pedidos pelo cliente no parâmetro {@code fields}, por exemplo
+ * {@code fields=id,title,summary,author.id,author.fullName}.
+ *
+ * <p>Nomes são os mesmos da resposta JSON ({@code created_at}, {@code commentsCount}).
+ * Uma relação sem subcampos ({@code author}) traz todos os campos dela; apenas um nível de
+ * aninhamento é aceito.
+ */
+public final class FieldSelection {
+
+    private final List<String> order = new ArrayList<>();
+    private final Map<String, List<String>> nested = new LinkedHashMap<>();
+
+    private FieldSelection() {
+    }
+
+    /**
+     * @return a seleção, ou {@code null} se o parâmetro estiver ausente ou vazio
+     */
+    public static FieldSelection parse(String spec) {
+        if (!StringUtils.hasText(spec)) {
+            return null;
+        }
+        FieldSelection selection = new FieldSelection();
+        for (String raw : spec.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            int dot = name.indexOf('.');
+            if (dot < 0) {
+                selection.add(name);
+                continue;
+            }
+            String relation = name.substring(0, dot);
+            String field = name.substring(dot + 1);
+            if (relation.isEmpty() || field.isEmpty() || field.indexOf('.') >= 0) {
+                throw new BadRequestException("Campo inválido em fields: " + name);
+            }
+            selection.add(relation);
+            selection.nested.computeIfAbsent(relation, key -> new ArrayList<>()).add(field);
+        }
+        return selection.order.isEmpty() ? null : selection;
+    }
+
+    private void add(String name) {
+        if (!order.contains(name)) {
+            order.add(name);
+        }
+    }
+
+    /**
+     * Campos e relações de primeiro nível, na ordem pedida.
+     */
+    public List<String> names() {
+        return Collections.unmodifiableList(order);
+    }
+
+    /**
+     * Subcampos pedidos de uma relação; vazio quando a relação foi pedida por inteiro.
+     */
+    public List<String> nested(String relation) {
+        return nested.getOrDefault(relation, List.of());
+    }
+
+    public boolean includes(String name) {
+        return order.contains(name);
+    }
+}
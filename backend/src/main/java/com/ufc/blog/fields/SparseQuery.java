@@ -0,0 +1,107 @@
+package com.ufc.blog.fields;
+
+import com.ufc.blog.exception.BadRequestException;
+
+import java.util.*;
+
+/**
+ * Consulta JPQL montada a partir de uma {@link FieldSelection}: a lista do {@code SELECT} contém
+ * apenas as colunas dos campos pedidos (e as que os campos derivados exigem), e as relações pedidas
+ * viram {@code JOIN}s. Cada linha é convertida em um mapa com os nomes da resposta JSON.
+ *
+ * <p>No texto JPQL do catálogo, {@code {a}} é o alias da entidade e {@code {s}} um alias exclusivo
+ * para a subconsulta do campo.
+ */
+public final class SparseQuery {
+
+    public static final String ROOT_ALIAS = "r";
+
+    private final List<String> expressions = new ArrayList<>();
+    private final StringBuilder joins = new StringBuilder();
+    private final String entity;
+    private final Level root;
+
+    public SparseQuery(SparseResource resource, FieldSelection selection) {
+        this.entity = resource.entity();
+        this.root = new Level(resource, ROOT_ALIAS, selection.names(), selection);
+    }
+
+    public String selectClause() {
+        return "SELECT " + String.join(", ", expressions);
+    }
+
+    public String fromClause() {
+        return " FROM " + entity + " " + ROOT_ALIAS + joins;
+    }
+
+    public Map<String, Object> toMap(Object[] row) {
+        return root.toMap(row);
+    }
+
+    private final class Level {
+
+        private final SparseResource resource;
+        private final String alias;
+        private final List<String> output = new ArrayList<>();
+        private final Map<String, Integer> columns = new HashMap<>();
+        private final List<SparseResource.Field> derived = new ArrayList<>();
+        private final Map<String, Level> children = new HashMap<>();
+
+        Level(SparseResource resource, String alias, List<String> names, FieldSelection selection) {
+            this.resource = resource;
+            this.alias = alias;
+            for (String name : names) {
+                SparseResource.Relation relation = resource.relation(name);
+                if (relation != null && selection != null) {
+                    String childAlias = alias + "_" + name;
+                    joins.append(" JOIN ").append(alias).append('.').append(relation.attribute()).append(' ').append(childAlias);
+                    List<String> nested = selection.nested(name);
+                    children.put(name, new Level(relation.target(), childAlias,
+                            nested.isEmpty() ? relation.target().defaultNames() : nested, null));
+                } else {
+                    SparseResource.Field field = resource.field(name);
+                    if (field == null || field.hidden()) {
+                        throw new BadRequestException("Campo desconhecido em fields: " + name);
+                    }
+                    collect(field);
+                }
+                output.add(name);
+            }
+        }
+
+        private void collect(SparseResource.Field field) {
+            if (field.isColumn()) {
+                if (!columns.containsKey(field.name())) {
+                    columns.put(field.name(), expressions.size());
+                    expressions.add(field.jpql().replace("{a}", alias).replace("{s}", alias + "_" + field.name()));
+                }
+                return;
+            }
+            if (derived.contains(field)) {
+                return;
+            }
+            for (String required : field.requires()) {
+                collect(resource.field(required));
+            }
+            derived.add(field);
+        }
+
+        Map<String, Object> toMap(Object[] row) {
+            Map<String, Object> values = new HashMap<>();
+            columns.forEach((name, index) -> values.put(name, row[index]));
+            for (SparseResource.Field field : derived) {
+                values.put(field.name(), field.derive().apply(values));
+            }
+            // Mapas não passam pelo default-property-inclusion do Jackson; nulos são omitidos aqui.
+            Map<String, Object> result = new LinkedHashMap<>();
+            for (String name : output) {
+                Level child = children.get(name);
+                Object value = child != null ? child.toMap(row) : values.get(name);
+                if (value != null) {
+                    result.put(name, value);
+                }
+            }
+            return result;
+        }
+    }
+}
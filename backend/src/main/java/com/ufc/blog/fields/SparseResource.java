@@ -0,0 +1,78 @@
+package com.ufc.blog.fields;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Catálogo dos campos que um recurso expõe a seleções esparsas.
+ *
+ * <p>Cada campo é uma expressão JPQL sobre o alias da entidade ({@code {a}} no texto) ou é derivado,
+ * na aplicação, de outros campos. Campos ocultos entram na consulta apenas como insumo de derivados.
+ * Relações apontam para o catálogo do recurso relacionado e viram um {@code JOIN}.
+ */
+public final class SparseResource {
+
+    private final String entity;
+    private final Map<String, Field> fields = new LinkedHashMap<>();
+    private final Map<String, Relation> relations = new LinkedHashMap<>();
+
+    public SparseResource(String entity) {
+        this.entity = entity;
+    }
+
+    public SparseResource column(String name, String jpql) {
+        fields.put(name, new Field(name, jpql, List.of(), null, false));
+        return this;
+    }
+
+    public SparseResource hidden(String name, String jpql) {
+        fields.put(name, new Field(name, jpql, List.of(), null, true));
+        return this;
+    }
+
+    public SparseResource derived(String name, List<String> requires, Function<Map<String, Object>, Object> derive) {
+        fields.put(name, new Field(name, null, requires, derive, false));
+        return this;
+    }
+
+    public SparseResource relation(String name, String attribute, SparseResource target) {
+        relations.put(name, new Relation(name, attribute, target));
+        return this;
+    }
+
+    public String entity() {
+        return entity;
+    }
+
+    Field field(String name) {
+        return fields.get(name);
+    }
+
+    Relation relation(String name) {
+        return relations.get(name);
+    }
+
+    Collection<Field> fields() {
+        return fields.values();
+    }
+
+    /**
+     * Campos públicos e relações, na ordem do catálogo; usado quando uma relação é pedida por inteiro.
+     */
+    List<String> defaultNames() {
+        List<String> names = new ArrayList<>();
+        fields.values().stream().filter(field -> !field.hidden()).forEach(field -> names.add(field.name()));
+        return names;
+    }
+
+    record Field(String name, String jpql, List<String> requires, Function<Map<String, Object>, Object> derive,
+                 boolean hidden) {
+
+        boolean isColumn() {
+            return jpql != null;
+        }
+    }
+
+    record Relation(String name, String attribute, SparseResource target) {
+    }
+}
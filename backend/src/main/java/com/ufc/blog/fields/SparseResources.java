@@ -0,0 +1,91 @@
+package com.ufc.blog.fields;
+
+import com.ufc.blog.service.PostViewService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Catálogos de campos de posts, comentários e usuários para o parâmetro {@code fields}.
+ * Os nomes e os valores espelham a serialização das entidades; contagens viram subconsultas
+ * escalares em vez de coleções carregadas.
+ */
+@Component
+@RequiredArgsConstructor
+public class SparseResources {
+
+    private final PostViewService postViewService;
+
+    private SparseResource users;
+    private SparseResource posts;
+    private SparseResource comments;
+
+    @PostConstruct
+    void init() {
+        users = new SparseResource("User")
+                .column("id", "{a}.id")
+                .column("created_at", "{a}.createdAt")
+                .column("updated_at", "{a}.updatedAt")
+                .column("username", "{a}.username")
+                .column("email", "{a}.email")
+                .column("first_name", "{a}.firstName")
+                .column("last_name", "{a}.lastName")
+                .column("bio", "{a}.bio")
+                .column("role", "{a}.role")
+                .column("status", "{a}.status")
+                .column("postsCount", "(SELECT COUNT({s}) FROM Post {s} WHERE {s}.author = {a})")
+                .column("publishedPostsCount",
+                        "(SELECT COUNT({s}) FROM Post {s} WHERE {s}.author = {a} AND {s}.status = com.ufc.blog.entity.PostStatus.PUBLISHED)")
+                .column("commentsCount", "(SELECT COUNT({s}) FROM Comment {s} WHERE {s}.author = {a})")
+                .derived("fullName", List.of("first_name", "last_name", "username"), row -> {
+                    Object first = row.get("first_name");
+                    Object last = row.get("last_name");
+                    if (first != null && last != null) {
+                        return first + " " + last;
+                    }
+                    return first != null ? first : last != null ? last : row.get("username");
+                });
+
+        posts = new SparseResource("Post")
+                .column("id", "{a}.id")
+                .column("created_at", "{a}.createdAt")
+                .column("updated_at", "{a}.updatedAt")
+                .column("title", "{a}.title")
+                .column("content", "{a}.body.content")
+                .column("summary", "{a}.summary")
+                .column("word_count", "{a}.wordCount")
+                .column("reading_time_minutes", "{a}.readingTimeMinutes")
+                .column("status", "{a}.status")
+                .column("published_at", "{a}.publishedAt")
+                .column("commentsCount", "(SELECT COUNT({s}) FROM Comment {s} WHERE {s}.post = {a} AND {s}.active = true)")
+                .derived("hasComments", List.of("commentsCount"), row -> ((Number) row.get("commentsCount")).longValue() > 0)
+                .hidden("persistedViews", "COALESCE((SELECT {s}.views FROM PostViewCount {s} WHERE {s}.postId = {a}.id), 0)")
+                .derived("viewsCount", List.of("id", "persistedViews"), row ->
+                        ((Number) row.get("persistedViews")).longValue() + postViewService.unflushedViews((Long) row.get("id")))
+                .relation("author", "author", users);
+
+        comments = new SparseResource("Comment")
+                .column("id", "{a}.id")
+                .column("created_at", "{a}.createdAt")
+                .column("updated_at", "{a}.updatedAt")
+                .column("content", "{a}.content")
+                .column("active", "{a}.active")
+                .column("ingestion_id", "{a}.ingestionId")
+                .relation("author", "author", users)
+                .relation("post", "post", posts);
+    }
+
+    public SparseResource users() {
+        return users;
+    }
+
+    public SparseResource posts() {
+        return posts;
+    }
+
+    public SparseResource comments() {
+        return comments;
+    }
+}
@@ -0,0 +1,72 @@
+package com.ufc.blog.logging;
+
+import com.ufc.blog.metrics.RequestTags;
+import com.ufc.blog.security.UserPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Uma linha de log estruturada por requisição no logger {@code com.ufc.blog.request}, com
+ * {@code endpoint}, {@code handler}, {@code status}, {@code user_id} e {@code duration_ms}
+ * como pares chave-valor.
+ *
+ * <p>Requisições bem-sucedidas e rápidas são registradas em INFO (sujeitas à amostragem do
+ * {@link SamplingTurboFilter}); erros 5xx e requisições acima de {@code slowThresholdMs} vão em WARN
+ * e nunca são descartadas pela amostragem.
+ *
+ * <p>Roda dentro da cadeia do Spring Security, logo após a autenticação JWT, para ainda enxergar o usuário.
+ */
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    private static final Logger REQUEST_LOG = LoggerFactory.getLogger("com.ufc.blog.request");
+
+    private final long slowThresholdMs;
+
+    public RequestLoggingFilter(long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    @Override
+    protected void doFilterInternal(@NotNull HttpServletRequest request,
+                                    @NotNull HttpServletResponse response,
+                                    @NotNull FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            int status = response.getStatus();
+            boolean warn = status >= 500 || durationMs >= slowThresholdMs;
+            LoggingEventBuilder event = warn ? REQUEST_LOG.atWarn() : REQUEST_LOG.atInfo();
+            // Com a amostragem descartando o evento, o builder é um no-op e nada abaixo é montado.
+            event.setMessage("{} {} {}")
+                    .addArgument(request::getMethod)
+                    .addArgument(request::getRequestURI)
+                    .addArgument(status)
+                    .addKeyValue("endpoint", () -> RequestTags.uri(request))
+                    .addKeyValue("handler", () -> RequestTags.handler(request))
+                    .addKeyValue("user_id", RequestLoggingFilter::currentUserId)
+                    .addKeyValue("duration_ms", durationMs)
+                    .log();
+        }
+    }
+
+    private static Object currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return "-";
+    }
+}
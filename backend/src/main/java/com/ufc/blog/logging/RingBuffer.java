@@ -0,0 +1,81 @@
+package com.ufc.blog.logging;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fila circular limitada, sem locks, com vários produtores e um único consumidor.
+ *
+ * <p>Cada posição tem um número de sequência: o produtor reserva uma posição com um CAS no
+ * contador de escrita e a publica gravando a sequência {@code pos + 1}; o consumidor só lê
+ * posições publicadas e as libera gravando {@code pos + capacity}. Com a fila cheia
+ * {@link #offer} retorna {@code false} imediatamente, sem esperar.
+ */
+final class RingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final Object[] items;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Posição de leitura, acessada apenas pela thread consumidora.
+     */
+    private long head;
+
+    RingBuffer(int requestedCapacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1) << 1);
+        this.mask = capacity - 1;
+        this.items = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(E item) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    items[index] = item;
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Move até {@code max} itens para {@code out}. Só pode ser chamado pela thread consumidora.
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<E> out, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            out.add((E) items[index]);
+            items[index] = null;
+            sequences.set(index, head + capacity);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
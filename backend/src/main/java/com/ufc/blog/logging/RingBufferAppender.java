@@ -0,0 +1,185 @@
+package com.ufc.blog.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Appender assíncrono que nunca bloqueia a thread que loga.
+ *
+ * <p>Os eventos vão para um {@link RingBuffer} sem locks; uma thread dedicada os retira em lotes
+ * e os repassa aos appenders anexados (normalmente um {@code RollingFileAppender} com
+ * {@code immediateFlush=false}), descarregando o arquivo uma vez por lote. Com o buffer cheio
+ * (disco lento), o evento é descartado e contado; a contagem de descartes é registrada no
+ * próprio log assim que houver espaço.
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder dropped = new LongAdder();
+
+    private int bufferSize = 8192;
+    private int batchSize = 256;
+    private long idleWaitMs = 20;
+    private long shutdownTimeoutMs = 2000;
+
+    private RingBuffer<ILoggingEvent> buffer;
+    private volatile boolean running;
+    private Thread writer;
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setIdleWaitMs(long idleWaitMs) {
+        this.idleWaitMs = idleWaitMs;
+    }
+
+    public void setShutdownTimeoutMs(long shutdownTimeoutMs) {
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+    }
+
+    public long getDroppedEvents() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        buffer = new RingBuffer<>(bufferSize);
+        running = true;
+        writer = new Thread(this::drainLoop, "log-writer-" + getName());
+        writer.setDaemon(true);
+        writer.start();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Congela mensagem formatada e MDC na thread de origem antes de entregar à thread escritora.
+        event.prepareForDeferredProcessing();
+        if (!buffer.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    private void drainLoop() {
+        List<ILoggingEvent> batch = new ArrayList<>(batchSize);
+        long reportedDrops = 0;
+        while (true) {
+            boolean stopping = !running;
+            batch.clear();
+            int drained = buffer.drainTo(batch, batchSize);
+            for (ILoggingEvent event : batch) {
+                appenders.appendLoopOnAppenders(event);
+            }
+            long drops = dropped.sum();
+            if (drops > reportedDrops) {
+                appenders.appendLoopOnAppenders(droppedEventsNotice(drops - reportedDrops));
+                reportedDrops = drops;
+            }
+            if (drained < batchSize) {
+                flush();
+                if (stopping) {
+                    return;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(idleWaitMs));
+            }
+        }
+    }
+
+    private void flush() {
+        Iterator<Appender<ILoggingEvent>> it = appenders.iteratorForAppenders();
+        while (it.hasNext()) {
+            if (it.next() instanceof OutputStreamAppender<ILoggingEvent> streamAppender) {
+                OutputStream out = streamAppender.getOutputStream();
+                if (out != null) {
+                    try {
+                        out.flush();
+                    } catch (IOException e) {
+                        addError("Falha ao descarregar o log em disco", e);
+                    }
+                }
+            }
+        }
+    }
+
+    private ILoggingEvent droppedEventsNotice(long count) {
+        Logger logger = (Logger) org.slf4j.LoggerFactory.getLogger(RingBufferAppender.class);
+        return new LoggingEvent(RingBufferAppender.class.getName(), logger, Level.WARN,
+                count + " eventos de log descartados com o buffer cheio", null, null);
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
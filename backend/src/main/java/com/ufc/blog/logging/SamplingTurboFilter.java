@@ -0,0 +1,59 @@
+package com.ufc.blog.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Amostragem por logger: eventos até INFO de loggers com prefixo configurado passam com a
+ * probabilidade indicada; WARN e ERROR passam sempre. Como é um {@link TurboFilter}, a decisão
+ * acontece antes de o evento ser criado e a mensagem formatada.
+ *
+ * <p>Configuração: {@code <rates>com.ufc.blog.request=0.1, com.ufc.blog.controller=0.5</rates>};
+ * vale o prefixo mais longo que casar.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final Map<String, Double> rates = new LinkedHashMap<>();
+
+    public void setRates(String spec) {
+        rates.clear();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length == 2) {
+                rates.put(parts[0].trim(), Double.parseDouble(parts[1].trim()));
+            }
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN) || rates.isEmpty()) {
+            return FilterReply.NEUTRAL;
+        }
+        Double rate = rateFor(logger.getName());
+        if (rate == null || rate >= 1.0) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextDouble() < rate ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Double rateFor(String loggerName) {
+        Double rate = null;
+        int matched = -1;
+        for (Map.Entry<String, Double> entry : rates.entrySet()) {
+            String prefix = entry.getKey();
+            if (prefix.length() > matched && loggerName.startsWith(prefix)) {
+                rate = entry.getValue();
+                matched = prefix.length();
+            }
+        }
+        return rate;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ufc.blog.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Acrescenta a tag {@code handler} (controller e método) ao timer {@code http.server.requests},
+ * que já traz {@code uri}, {@code status}, {@code outcome} e {@code exception}.
+ */
+public class HandlerObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+                .and(KeyValue.of("handler", RequestTags.handler(context.getCarrier())));
+    }
+}
@@ -0,0 +1,15 @@
+package com.ufc.blog.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta cada instrução SQL preparada pelo Hibernate na requisição atual, sem alterá-la.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestQueryStats.recordStatement();
+        return sql;
+    }
+}
@@ -0,0 +1,20 @@
+package com.ufc.blog.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * {@code GET /actuator/requestbudget}: alocação e CPU por handler e as últimas requisições acima do orçamento.
+ */
+@Endpoint(id = "requestbudget")
+@RequiredArgsConstructor
+public class RequestBudgetEndpoint {
+
+    private final RequestBudgetMonitor monitor;
+
+    @ReadOperation
+    public RequestBudgetMonitor.BudgetReport report() {
+        return monitor.report();
+    }
+}
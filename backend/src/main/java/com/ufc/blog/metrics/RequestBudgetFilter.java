@@ -0,0 +1,46 @@
+package com.ufc.blog.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Mede bytes alocados e tempo de CPU da thread durante a requisição (inclui autenticação JWT
+ * e serialização) e repassa ao {@link RequestBudgetMonitor}.
+ * Medições não suportadas pela JVM são informadas como {@code -1} e ignoradas.
+ */
+public class RequestBudgetFilter extends OncePerRequestFilter {
+
+    private final RequestBudgetMonitor monitor;
+    private final com.sun.management.ThreadMXBean threads;
+    private final boolean allocationSupported;
+    private final boolean cpuSupported;
+
+    public RequestBudgetFilter(RequestBudgetMonitor monitor) {
+        this.monitor = monitor;
+        this.threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.allocationSupported = threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled();
+        this.cpuSupported = threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(@NotNull HttpServletRequest request,
+                                    @NotNull HttpServletResponse response,
+                                    @NotNull FilterChain filterChain) throws ServletException, IOException {
+        long allocatedBefore = allocationSupported ? threads.getCurrentThreadAllocatedBytes() : -1;
+        long cpuBefore = cpuSupported ? threads.getCurrentThreadCpuTime() : -1;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long allocated = allocationSupported ? threads.getCurrentThreadAllocatedBytes() - allocatedBefore : -1;
+            long cpu = cpuSupported ? threads.getCurrentThreadCpuTime() - cpuBefore : -1;
+            monitor.record(request.getMethod(), RequestTags.uri(request), RequestTags.handler(request), allocated, cpu);
+        }
+    }
+}
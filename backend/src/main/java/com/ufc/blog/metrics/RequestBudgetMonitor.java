@@ -0,0 +1,150 @@
+package com.ufc.blog.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histogramas por handler de bytes alocados e tempo de CPU das requisições, com a marcação
+ * das que excedem o orçamento configurado.
+ *
+ * <p>Os valores vêm do {@code ThreadMXBean} da thread que atendeu a requisição; o que é alocado
+ * em outras threads (escrita em lote de comentários, flush de visualizações) não entra na conta.
+ */
+@Slf4j
+public class RequestBudgetMonitor {
+
+    static final String ALLOCATED_BYTES = "blog.request.allocated.bytes";
+    static final String CPU_TIME = "blog.request.cpu.time";
+    static final String OVER_BUDGET = "blog.request.over.budget";
+
+    private final MeterRegistry meterRegistry;
+    private final long maxAllocatedBytes;
+    private final long maxCpuNanos;
+    private final int capacity;
+    private final Deque<OverBudgetRequest> overBudget = new ArrayDeque<>();
+
+    public RequestBudgetMonitor(MeterRegistry meterRegistry, long maxAllocatedBytes, long maxCpuMs, int capacity) {
+        this.meterRegistry = meterRegistry;
+        this.maxAllocatedBytes = maxAllocatedBytes;
+        this.maxCpuNanos = TimeUnit.MILLISECONDS.toNanos(maxCpuMs);
+        this.capacity = capacity;
+    }
+
+    void record(String method, String uri, String handler, long allocatedBytes, long cpuNanos) {
+        Tags tags = Tags.of("method", method, "uri", uri, "handler", handler);
+        if (allocatedBytes >= 0) {
+            DistributionSummary.builder(ALLOCATED_BYTES)
+                    .description("Bytes alocados na thread da requisição")
+                    .baseUnit("bytes")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(allocatedBytes);
+        }
+        if (cpuNanos >= 0) {
+            Timer.builder(CPU_TIME)
+                    .description("Tempo de CPU da thread da requisição")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(cpuNanos, TimeUnit.NANOSECONDS);
+        }
+
+        boolean overAllocation = allocatedBytes > maxAllocatedBytes;
+        boolean overCpu = cpuNanos > maxCpuNanos;
+        if (overAllocation) {
+            Counter.builder(OVER_BUDGET).tags(tags).tag("resource", "allocation").register(meterRegistry).increment();
+        }
+        if (overCpu) {
+            Counter.builder(OVER_BUDGET).tags(tags).tag("resource", "cpu").register(meterRegistry).increment();
+        }
+        if (overAllocation || overCpu) {
+            log.warn("Requisição acima do orçamento: {} {} ({}) alocou {} KB, CPU {} ms",
+                    method, uri, handler, allocatedBytes / 1024, TimeUnit.NANOSECONDS.toMillis(cpuNanos));
+            addOverBudget(new OverBudgetRequest(Instant.now(), method, uri, handler,
+                    allocatedBytes, cpuNanos / 1_000_000.0));
+        }
+    }
+
+    private synchronized void addOverBudget(OverBudgetRequest request) {
+        if (overBudget.size() == capacity) {
+            overBudget.removeLast();
+        }
+        overBudget.addFirst(request);
+    }
+
+    /**
+     * Agregados por handler, ordenados por bytes alocados no total, e as últimas requisições
+     * acima do orçamento.
+     */
+    public synchronized BudgetReport report() {
+        Map<String, HandlerUsage> byHandler = new HashMap<>();
+        for (DistributionSummary summary : meterRegistry.find(ALLOCATED_BYTES).summaries()) {
+            var snapshot = summary.takeSnapshot();
+            byHandler.put(key(summary.getId().getTag("handler"), summary.getId().getTag("method"), summary.getId().getTag("uri")),
+                    new HandlerUsage(summary.getId().getTag("handler"), summary.getId().getTag("method"),
+                            summary.getId().getTag("uri"), snapshot.count(), (long) snapshot.total(),
+                            (long) snapshot.mean(), (long) snapshot.max(), percentile(snapshot.percentileValues(), 0.99),
+                            0, 0, 0));
+        }
+        for (Timer timer : meterRegistry.find(CPU_TIME).timers()) {
+            String key = key(timer.getId().getTag("handler"), timer.getId().getTag("method"), timer.getId().getTag("uri"));
+            HandlerUsage usage = byHandler.get(key);
+            if (usage != null) {
+                var snapshot = timer.takeSnapshot();
+                byHandler.put(key, usage.withCpu(snapshot.mean(TimeUnit.MILLISECONDS), snapshot.max(TimeUnit.MILLISECONDS),
+                        percentile(snapshot.percentileValues(), 0.99) / 1_000_000.0));
+            }
+        }
+        List<HandlerUsage> handlers = byHandler.values().stream()
+                .sorted(Comparator.comparingLong(HandlerUsage::totalAllocatedBytes).reversed())
+                .toList();
+        return new BudgetReport(maxAllocatedBytes, TimeUnit.NANOSECONDS.toMillis(maxCpuNanos),
+                handlers, new ArrayList<>(overBudget));
+    }
+
+    private static String key(String handler, String method, String uri) {
+        return handler + " " + method + " " + uri;
+    }
+
+    private static long percentile(ValueAtPercentile[] values, double percentile) {
+        for (ValueAtPercentile value : values) {
+            if (value.percentile() == percentile) {
+                return (long) value.value();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Uso por handler. Percentis calculados sobre a janela recente do Micrometer.
+     */
+    public record HandlerUsage(String handler, String method, String uri, long count,
+                               long totalAllocatedBytes, long meanAllocatedBytes, long maxAllocatedBytes,
+                               long p99AllocatedBytes, double meanCpuMs, double maxCpuMs, double p99CpuMs) {
+
+        HandlerUsage withCpu(double meanCpuMs, double maxCpuMs, double p99CpuMs) {
+            return new HandlerUsage(handler, method, uri, count, totalAllocatedBytes, meanAllocatedBytes,
+                    maxAllocatedBytes, p99AllocatedBytes, meanCpuMs, maxCpuMs, p99CpuMs);
+        }
+    }
+
+    public record OverBudgetRequest(Instant at, String method, String uri, String handler,
+                                    long allocatedBytes, double cpuMs) {
+    }
+
+    public record BudgetReport(long maxAllocatedBytes, long maxCpuMs, List<HandlerUsage> handlers,
+                               List<OverBudgetRequest> recentOverBudget) {
+    }
+}
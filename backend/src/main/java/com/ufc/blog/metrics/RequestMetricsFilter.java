@@ -0,0 +1,53 @@
+package com.ufc.blog.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Registra, por endpoint, quantas instruções SQL e quantas cargas de entidade cada requisição provocou.
+ * Envolve toda a cadeia (inclusive a autenticação JWT e a serialização da resposta), de modo que padrões
+ * N+1 na serialização de {@code Post}/{@code User} aparecem nas distribuições.
+ */
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(@NotNull HttpServletRequest request,
+                                    @NotNull HttpServletResponse response,
+                                    @NotNull FilterChain filterChain) throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.end();
+            Tags tags = Tags.of(
+                    "method", request.getMethod(),
+                    "uri", RequestTags.uri(request),
+                    "handler", RequestTags.handler(request));
+            DistributionSummary.builder("blog.request.jdbc.statements")
+                    .description("Instruções SQL executadas por requisição")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(stats.getStatements());
+            DistributionSummary.builder("blog.request.entity.loads")
+                    .description("Entidades JPA carregadas por requisição")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(stats.getEntityLoads());
+        }
+    }
+}
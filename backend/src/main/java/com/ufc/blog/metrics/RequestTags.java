@@ -0,0 +1,35 @@
+package com.ufc.blog.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Tags de baixa cardinalidade que identificam o endpoint de uma requisição já despachada.
+ */
+public final class RequestTags {
+
+    public static final String UNKNOWN = "UNKNOWN";
+
+    private RequestTags() {
+    }
+
+    /**
+     * Padrão da rota ({@code /api/posts/{id}}), nunca a URI concreta.
+     */
+    public static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNKNOWN;
+    }
+
+    /**
+     * Método de controller que atendeu a requisição, no formato {@code PostController#getPostById}.
+     */
+    public static String handler(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "#" + method.getMethod().getName();
+        }
+        return UNKNOWN;
+    }
+}
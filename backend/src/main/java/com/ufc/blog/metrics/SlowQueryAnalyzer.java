@@ -0,0 +1,252 @@
+package com.ufc.blog.metrics;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.temporal.Temporal;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Agrega execuções SQL por impressão digital ({@link StatementFingerprint}) com contagem, tempo total,
+ * máximo e percentis de latência sobre as últimas {@code windowSize} execuções.
+ *
+ * <p>Execuções acima do limiar guardam a instrução, os binds (se {@code captureBinds}) e, para {@code SELECT}s,
+ * um plano obtido com {@code EXPLAIN}. O {@code EXPLAIN} roda numa thread própria, direto no pool
+ * (fora do proxy de medição) e no máximo uma vez por impressão digital a cada {@code explainInterval}.
+ *
+ * <p>Nada do que é exposto mostra texto vindo dos binds: consultas em {@code users} e {@code refresh_tokens}
+ * carregam hashes de senha, emails e tokens. Binds de texto aparecem só com o tamanho, e os literais entre
+ * aspas do plano são trocados por {@code '?'}.
+ */
+@Slf4j
+public class SlowQueryAnalyzer {
+
+    private static final String OVERFLOW_FINGERPRINT = "(outras instruções)";
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private final ObjectProvider<DataSource> dataSourceProvider;
+    private final long thresholdNanos;
+    private final int maxFingerprints;
+    private final int windowSize;
+    private final boolean captureBinds;
+    private final boolean explain;
+    private final long explainIntervalNanos;
+
+    private final Map<String, FingerprintStats> stats = new ConcurrentHashMap<>();
+    private final ExecutorService explainExecutor;
+
+    public SlowQueryAnalyzer(ObjectProvider<DataSource> dataSourceProvider, long thresholdMs, int maxFingerprints,
+                             int windowSize, boolean captureBinds, boolean explain, long explainIntervalMs) {
+        this.dataSourceProvider = dataSourceProvider;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.maxFingerprints = maxFingerprints;
+        this.windowSize = windowSize;
+        this.captureBinds = captureBinds;
+        this.explain = explain;
+        this.explainIntervalNanos = TimeUnit.MILLISECONDS.toNanos(explainIntervalMs);
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(16), runnable -> {
+            Thread thread = new Thread(runnable, "slow-query-explain");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * Registra uma execução. Chamado na thread da requisição; o caminho comum (abaixo do limiar)
+     * é um lookup no mapa e alguns incrementos.
+     */
+    void record(String sql, long nanos, Map<Integer, Object> binds) {
+        FingerprintStats entry = statsFor(sql);
+        entry.record(nanos);
+        if (nanos < thresholdNanos) {
+            return;
+        }
+        SlowSample sample = new SlowSample(sql, captureBinds ? formatBinds(binds) : List.of(),
+                nanos / 1_000_000.0, Instant.now());
+        entry.lastSlow = sample;
+        log.warn("Consulta lenta ({} ms): {}", String.format("%.1f", sample.durationMs()), entry.fingerprint);
+        if (explain && isSelect(sql) && entry.claimExplain(System.nanoTime(), explainIntervalNanos)) {
+            List<Object> values = new ArrayList<>(binds.values());
+            explainExecutor.execute(() -> entry.plan = explain(sql, values));
+        }
+    }
+
+    /**
+     * Impressões digitais ordenadas por tempo total, decrescente.
+     */
+    public List<FingerprintSummary> top(int limit) {
+        return stats.values().stream()
+                .map(FingerprintStats::summary)
+                .sorted(Comparator.comparingDouble(FingerprintSummary::totalMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public int trackedFingerprints() {
+        return stats.size();
+    }
+
+    public long thresholdMs() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    private FingerprintStats statsFor(String sql) {
+        String fingerprint = StatementFingerprint.of(sql);
+        FingerprintStats entry = stats.get(fingerprint);
+        if (entry != null) {
+            return entry;
+        }
+        if (stats.size() >= maxFingerprints) {
+            return stats.computeIfAbsent(OVERFLOW_FINGERPRINT, key -> new FingerprintStats(key, windowSize));
+        }
+        return stats.computeIfAbsent(fingerprint, key -> new FingerprintStats(key, windowSize));
+    }
+
+    private String explain(String sql, List<Object> values) {
+        DataSource dataSource = dataSourceProvider.getObject();
+        if (dataSource instanceof DelegatingDataSource delegating) {
+            dataSource = delegating.getTargetDataSource();
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            connection.setReadOnly(true);
+            for (int i = 0; i < values.size(); i++) {
+                statement.setObject(i + 1, values.get(i));
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    if (!plan.isEmpty()) {
+                        plan.append('\n');
+                    }
+                    plan.append(rs.getString(1));
+                }
+            }
+            return STRING_LITERAL.matcher(plan).replaceAll("'?'");
+        } catch (SQLException | RuntimeException e) {
+            log.debug("EXPLAIN falhou para {}: {}", sql, e.getMessage());
+            return "EXPLAIN indisponível: " + e.getMessage();
+        }
+    }
+
+    private static boolean isSelect(String sql) {
+        String trimmed = StatementFingerprint.of(sql);
+        return trimmed.startsWith("select") || trimmed.startsWith("with");
+    }
+
+    private static List<String> formatBinds(Map<Integer, Object> binds) {
+        List<String> formatted = new ArrayList<>(binds.size());
+        for (Object value : binds.values()) {
+            if (value == null) {
+                formatted.add("null");
+            } else if (value instanceof byte[] bytes) {
+                formatted.add("<" + bytes.length + " bytes>");
+            } else if (value instanceof Number || value instanceof Boolean || value instanceof Enum<?>
+                    || value instanceof Temporal || value instanceof Date) {
+                formatted.add(value.toString());
+            } else if (value instanceof CharSequence text) {
+                formatted.add("<texto, " + text.length() + " caracteres>");
+            } else {
+                formatted.add("<" + value.getClass().getSimpleName() + ">");
+            }
+        }
+        return formatted;
+    }
+
+    private static final class FingerprintStats {
+
+        final String fingerprint;
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        final long[] window;
+        int windowNext;
+        int windowFilled;
+        volatile SlowSample lastSlow;
+        volatile String plan;
+        volatile long lastExplainAt;
+
+        FingerprintStats(String fingerprint, int windowSize) {
+            this.fingerprint = fingerprint;
+            this.window = new long[windowSize];
+        }
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            synchronized (window) {
+                window[windowNext] = nanos;
+                windowNext = (windowNext + 1) % window.length;
+                windowFilled = Math.min(windowFilled + 1, window.length);
+            }
+        }
+
+        synchronized boolean claimExplain(long now, long interval) {
+            if (lastExplainAt != 0 && now - lastExplainAt < interval) {
+                return false;
+            }
+            lastExplainAt = now;
+            return true;
+        }
+
+        FingerprintSummary summary() {
+            long[] samples;
+            synchronized (window) {
+                samples = Arrays.copyOf(window, windowFilled);
+            }
+            Arrays.sort(samples);
+            long executions = count.sum();
+            double total = totalNanos.sum() / 1_000_000.0;
+            return new FingerprintSummary(fingerprint, executions, total,
+                    executions == 0 ? 0 : total / executions, maxNanos.get() / 1_000_000.0,
+                    percentile(samples, 0.50), percentile(samples, 0.95), percentile(samples, 0.99), lastSlow, plan);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+
+    /**
+     * Resumo de uma impressão digital; percentis calculados sobre a janela recente de execuções.
+     * O plano é o do último {@code EXPLAIN} feito para a impressão digital, não necessariamente
+     * o da execução em {@code lastSlow}.
+     */
+    public record FingerprintSummary(String fingerprint, long count, double totalMs, double meanMs, double maxMs,
+                                     double p50Ms, double p95Ms, double p99Ms, SlowSample lastSlow,
+                                     String plan) {
+    }
+
+    /**
+     * Última execução acima do limiar, com os valores de bind.
+     */
+    public record SlowSample(String sql, List<String> binds, double durationMs, Instant executedAt) {
+    }
+}
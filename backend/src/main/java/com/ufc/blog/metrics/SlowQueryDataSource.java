@@ -0,0 +1,125 @@
+package com.ufc.blog.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@link DataSource} que mede cada execução de instrução no nível JDBC e a entrega ao
+ * {@link SlowQueryAnalyzer}, junto com os valores de bind dos {@link PreparedStatement}s.
+ *
+ * <p>Envolve o pool (as conexões continuam vindo do Hikari) e estende {@link DelegatingDataSource}
+ * para que o Actuator ainda encontre o pool subjacente nas métricas {@code hikaricp.*}.
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    private final ObjectProvider<SlowQueryAnalyzer> analyzerProvider;
+    private volatile SlowQueryAnalyzer analyzer;
+
+    public SlowQueryDataSource(DataSource target, ObjectProvider<SlowQueryAnalyzer> analyzerProvider) {
+        super(target);
+        this.analyzerProvider = analyzerProvider;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private SlowQueryAnalyzer analyzer() {
+        SlowQueryAnalyzer current = analyzer;
+        if (current == null) {
+            current = analyzerProvider.getObject();
+            analyzer = current;
+        }
+        return current;
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> statementProxy(result, PreparedStatement.class, (String) args[0]);
+                case "prepareCall" -> statementProxy(result, CallableStatement.class, (String) args[0]);
+                case "createStatement" -> statementProxy(result, Statement.class, null);
+                default -> result;
+            };
+        }
+
+        private Object statementProxy(Object statement, Class<?> type, String sql) {
+            return Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{type}, new StatementHandler(statement, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Object target;
+        private final String preparedSql;
+        private final Map<Integer, Object> binds = new TreeMap<>();
+
+        StatementHandler(Object target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                binds.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                binds.clear();
+            } else if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                long start = System.nanoTime();
+                try {
+                    return invokeTarget(target, method, args);
+                } finally {
+                    if (sql != null) {
+                        analyzer().record(sql, System.nanoTime() - start, binds);
+                    }
+                }
+            }
+            return invokeTarget(target, method, args);
+        }
+    }
+}
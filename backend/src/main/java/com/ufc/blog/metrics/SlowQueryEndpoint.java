@@ -0,0 +1,37 @@
+package com.ufc.blog.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/slowqueries?limit=N}: impressões digitais SQL com maior tempo total.
+ * {@code DELETE /actuator/slowqueries}: zera as estatísticas.
+ */
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SlowQueryAnalyzer analyzer;
+
+    @ReadOperation
+    public SlowQueryReport report(@Nullable Integer limit) {
+        return new SlowQueryReport(analyzer.thresholdMs(), analyzer.trackedFingerprints(),
+                analyzer.top(limit != null && limit > 0 ? limit : DEFAULT_LIMIT));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        analyzer.reset();
+    }
+
+    public record SlowQueryReport(long thresholdMs, int trackedFingerprints,
+                                  List<SlowQueryAnalyzer.FingerprintSummary> topByTotalTime) {
+    }
+}
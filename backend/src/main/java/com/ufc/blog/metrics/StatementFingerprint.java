@@ -0,0 +1,56 @@
+package com.ufc.blog.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Normaliza instruções SQL em impressões digitais: literais e parâmetros viram {@code ?},
+ * listas {@code IN (?, ?, ...)} e linhas repetidas de {@code VALUES} colapsam, comentários
+ * (inclusive os de {@code use_sql_comments}) e espaços redundantes somem.
+ * Duas execuções da mesma consulta com valores diferentes produzem a mesma impressão digital.
+ */
+public final class StatementFingerprint {
+
+    private static final Pattern BLOCK_COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern LINE_COMMENT = Pattern.compile("--[^\\n]*");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern REPEATED_TUPLES = Pattern.compile("(\\([^()]*(?:\\([^()]*\\)[^()]*)*\\))(?:\\s*,\\s*\\1)+");
+
+    /**
+     * O Hibernate reutiliza as mesmas strings SQL; o cache evita reaplicar as expressões regulares
+     * a cada execução. É limpo por inteiro quando enche, o que só ocorre com SQL gerado dinamicamente.
+     */
+    private static final int CACHE_LIMIT = 4096;
+    private static final Map<String, String> CACHE = new ConcurrentHashMap<>();
+
+    private StatementFingerprint() {
+    }
+
+    public static String of(String sql) {
+        String cached = CACHE.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String fingerprint = normalize(sql);
+        if (CACHE.size() >= CACHE_LIMIT) {
+            CACHE.clear();
+        }
+        CACHE.put(sql, fingerprint);
+        return fingerprint;
+    }
+
+    static String normalize(String sql) {
+        String s = BLOCK_COMMENT.matcher(sql).replaceAll(" ");
+        s = LINE_COMMENT.matcher(s).replaceAll(" ");
+        s = STRING_LITERAL.matcher(s).replaceAll("?");
+        s = NUMBER_LITERAL.matcher(s).replaceAll("?");
+        s = WHITESPACE.matcher(s).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+        s = IN_LIST.matcher(s).replaceAll("(?+)");
+        return REPEATED_TUPLES.matcher(s).replaceAll("$1, ...");
+    }
+}
@@ -0,0 +1,92 @@
+package com.ufc.blog.migration;
+
+import com.ufc.blog.compression.ContentCodec;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Leva o corpo dos posts para {@code post_bodies.content_data}, no formato do {@link ContentCodec}.
+ * Roda na inicialização, depois que o Hibernate ({@code ddl-auto: update}) criou as tabelas e colunas
+ * novas e antes de o servidor aceitar requisições. Converte, em lotes, os dois formatos anteriores:
+ * <ul>
+ *     <li>texto em {@code posts.content} (antes da separação do corpo);</li>
+ *     <li>texto em {@code post_bodies.content} (antes da compressão).</li>
+ * </ul>
+ * Ao final remove a coluna antiga. Em bancos já migrados (ou novos) não faz nada.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class PostBodyMigration {
+
+    private static final String COLUMN_EXISTS = """
+            SELECT COUNT(*) FROM information_schema.columns
+            WHERE LOWER(table_schema) = LOWER(CURRENT_SCHEMA)
+              AND LOWER(table_name) = ? AND LOWER(column_name) = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ContentCodec contentCodec;
+
+    @Value("${app.posts.migration-batch-size:500}")
+    private int batchSize;
+
+    @PostConstruct
+    void migrate() {
+        if (columnExists("posts", "content")) {
+            int moved = convert("""
+                            SELECT p.id, p.content FROM posts p
+                            WHERE p.id > ? AND NOT EXISTS (SELECT 1 FROM post_bodies b WHERE b.post_id = p.id)
+                            ORDER BY p.id LIMIT ?""",
+                    "INSERT INTO post_bodies (content_data, post_id) VALUES (?, ?)", "posts");
+            log.info("Corpo de {} posts movido de posts.content para post_bodies", moved);
+        }
+        if (columnExists("post_bodies", "content")) {
+            int converted = convert("""
+                            SELECT post_id, content FROM post_bodies
+                            WHERE post_id > ? AND content_data IS NULL
+                            ORDER BY post_id LIMIT ?""",
+                    "UPDATE post_bodies SET content_data = ? WHERE post_id = ?", "post_bodies");
+            log.info("Corpo de {} posts convertido para post_bodies.content_data", converted);
+        }
+    }
+
+    /**
+     * Converte o texto da coluna {@code content} de {@code table} em lotes, cada um em sua transação,
+     * e remove a coluna ao final.
+     */
+    private int convert(String select, String write, String table) {
+        long afterId = 0;
+        int total = 0;
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(select,
+                    (rs, i) -> new Object[]{contentCodec.encode(rs.getString(2)), rs.getLong(1)}, afterId, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(write, rows));
+            total += rows.size();
+            afterId = (Long) rows.getLast()[1];
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP COLUMN content");
+            jdbcTemplate.execute("ALTER TABLE post_bodies ALTER COLUMN content_data SET NOT NULL");
+        });
+        return total;
+    }
+
+    private boolean columnExists(String table, String column) {
+        Integer count = jdbcTemplate.queryForObject(COLUMN_EXISTS, Integer.class, table, column);
+        return count != null && count > 0;
+    }
+}
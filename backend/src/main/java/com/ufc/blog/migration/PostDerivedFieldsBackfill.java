@@ -0,0 +1,84 @@
+package com.ufc.blog.migration;
+
+import com.ufc.blog.entity.Post;
+import com.ufc.blog.repository.PostRepository;
+import com.ufc.blog.service.PostEnrichmentService;
+import com.ufc.blog.service.PostEnrichmentService.DerivedFields;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Preenche resumo, número de palavras e tempo de leitura dos posts gravados antes desses campos existirem.
+ * Roda em segundo plano depois da inicialização, em lotes de {@code app.posts.backfill-batch-size} posts:
+ * cada lote é lido com o corpo em uma transação curta e gravado com um único {@code UPDATE} em batch
+ * (sem passar pela auditoria, para não alterar {@code updated_at}). Resumos já existentes são mantidos.
+ * Só processa posts com {@code word_count} nulo, então retomar depois de uma falha é seguro, e um post
+ * editado durante o backfill (que já recebeu os campos na escrita) não é sobrescrito.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostDerivedFieldsBackfill {
+
+    private static final String UPDATE_DERIVED_FIELDS =
+            "UPDATE posts SET summary = ?, summary_generated = ?, word_count = ?, reading_time_minutes = ? WHERE id = ? AND word_count IS NULL";
+
+    private final PostRepository postRepository;
+    private final PostEnrichmentService postEnrichmentService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.posts.backfill-enabled:true}")
+    private boolean enabled;
+    @Value("${app.posts.backfill-batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            Thread.ofPlatform().name("post-backfill").daemon().start(this::backfill);
+        }
+    }
+
+    void backfill() {
+        long afterId = 0;
+        int total = 0;
+        try {
+            while (true) {
+                long from = afterId;
+                List<Object[]> rows = transactionTemplate.execute(status -> {
+                    List<Object[]> batch = new ArrayList<>();
+                    for (Post post : postRepository.findNotEnrichedAfter(from, Limit.of(batchSize))) {
+                        DerivedFields fields = postEnrichmentService.derive(post.getContent(), post.getSummary());
+                        batch.add(new Object[]{fields.summary(), post.getSummary() == null || post.getSummary().isBlank(),
+                                fields.wordCount(), fields.readingTimeMinutes(), post.getId()});
+                    }
+                    return batch;
+                });
+                if (rows == null || rows.isEmpty()) {
+                    break;
+                }
+                jdbcTemplate.batchUpdate(UPDATE_DERIVED_FIELDS, rows);
+                total += rows.size();
+                afterId = (Long) rows.getLast()[4];
+            }
+        } catch (DataAccessException e) {
+            log.warn("Backfill dos campos derivados de posts interrompido após {} posts: {}", total, e.getMessage());
+            return;
+        }
+        if (total > 0) {
+            log.info("Backfill dos campos derivados concluído: {} posts atualizados", total);
+        }
+    }
+}
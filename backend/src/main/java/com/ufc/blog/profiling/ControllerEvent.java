@@ -0,0 +1,13 @@
+package com.ufc.blog.profiling;
+
+import jdk.jfr.*;
+
+@Name("com.ufc.blog.Controller")
+@Label("Método de controller")
+@Category({"Blog", "HTTP"})
+@StackTrace(false)
+class ControllerEvent extends Event {
+
+    @Label("Handler")
+    String handler;
+}
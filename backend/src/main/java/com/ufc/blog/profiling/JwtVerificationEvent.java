@@ -0,0 +1,13 @@
+package com.ufc.blog.profiling;
+
+import jdk.jfr.*;
+
+@Name("com.ufc.blog.JwtVerification")
+@Label("Verificação de JWT")
+@Category({"Blog", "Segurança"})
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("Válido")
+    public boolean valid;
+}
@@ -0,0 +1,12 @@
+package com.ufc.blog.profiling;
+
+/**
+ * Fases em que o tempo de uma requisição é decomposto.
+ * {@link #CONTROLLER} inclui o tempo de {@link #REPOSITORY} chamado de dentro do controller.
+ */
+public enum Phase {
+    JWT,
+    CONTROLLER,
+    REPOSITORY,
+    SERIALIZATION
+}
@@ -0,0 +1,69 @@
+package com.ufc.blog.profiling;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mede métodos de controllers e de repositórios Spring Data, emitindo eventos JFR
+ * e acumulando o tempo em {@link RequestPhases}.
+ *
+ * <p>Com o JFR desligado, {@code begin()/end()} de um evento não habilitado são eliminados pelo JIT;
+ * o custo restante são duas leituras de {@link System#nanoTime()} e um acesso a {@link ThreadLocal}.
+ */
+@Aspect
+public class ProfilingAspect {
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object profileController(ProceedingJoinPoint joinPoint) throws Throwable {
+        ControllerEvent event = new ControllerEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RequestPhases.record(Phase.CONTROLLER, System.nanoTime() - start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.handler = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                        + "#" + joinPoint.getSignature().getName();
+                event.commit();
+            }
+        }
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object profileRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryEvent event = new RepositoryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RequestPhases.record(Phase.REPOSITORY, System.nanoTime() - start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repositoryName(joinPoint.getThis());
+                event.method = joinPoint.getSignature().getName();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Nome da interface do repositório (ex.: {@code PostRepository}), e não de
+     * {@code CrudRepository}, onde métodos herdados como {@code findById} são declarados.
+     */
+    private String repositoryName(Object proxy) {
+        return repositoryNames.computeIfAbsent(proxy.getClass(), type -> {
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(proxy);
+            return interfaces.length > 0 ? interfaces[0].getSimpleName() : type.getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,16 @@
+package com.ufc.blog.profiling;
+
+import jdk.jfr.*;
+
+@Name("com.ufc.blog.Repository")
+@Label("Método de repositório")
+@Category({"Blog", "Dados"})
+@StackTrace(false)
+class RepositoryEvent extends Event {
+
+    @Label("Repositório")
+    String repository;
+
+    @Label("Método")
+    String method;
+}
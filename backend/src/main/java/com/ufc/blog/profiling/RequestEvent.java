@@ -0,0 +1,42 @@
+package com.ufc.blog.profiling;
+
+import jdk.jfr.*;
+
+@Name("com.ufc.blog.Request")
+@Label("Requisição HTTP")
+@Category({"Blog", "HTTP"})
+@Description("Requisição completa com o tempo decomposto por fase")
+@StackTrace(false)
+class RequestEvent extends Event {
+
+    @Label("Método")
+    String method;
+
+    @Label("URI")
+    String uri;
+
+    @Label("Handler")
+    String handler;
+
+    @Label("Status")
+    int status;
+
+    @Label("JWT")
+    @Timespan
+    long jwtTime;
+
+    @Label("Controller")
+    @Timespan
+    long controllerTime;
+
+    @Label("Repositórios")
+    @Timespan
+    long repositoryTime;
+
+    @Label("Chamadas a repositórios")
+    int repositoryCalls;
+
+    @Label("Serialização")
+    @Timespan
+    long serializationTime;
+}
@@ -0,0 +1,57 @@
+package com.ufc.blog.profiling;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Tempo acumulado por {@link Phase} na requisição em andamento na thread atual.
+ * Instalado pelo {@link RequestProfilingFilter}; fora de uma requisição os registros são ignorados.
+ */
+public final class RequestPhases {
+
+    private static final ThreadLocal<RequestPhases> CURRENT = new ThreadLocal<>();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] calls = new int[PHASES.length];
+
+    private RequestPhases() {
+    }
+
+    static RequestPhases begin() {
+        RequestPhases phases = new RequestPhases();
+        CURRENT.set(phases);
+        return phases;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static void record(Phase phase, long elapsedNanos) {
+        RequestPhases phases = CURRENT.get();
+        if (phases != null) {
+            phases.nanos[phase.ordinal()] += elapsedNanos;
+            phases.calls[phase.ordinal()]++;
+        }
+    }
+
+    public long nanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    public int calls(Phase phase) {
+        return calls[phase.ordinal()];
+    }
+
+    Map<Phase, PhaseTiming> breakdown() {
+        Map<Phase, PhaseTiming> breakdown = new EnumMap<>(Phase.class);
+        for (Phase phase : PHASES) {
+            breakdown.put(phase, new PhaseTiming(nanos(phase) / 1_000_000.0, calls(phase)));
+        }
+        return breakdown;
+    }
+
+    public record PhaseTiming(double durationMs, int calls) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.ufc.blog.profiling;
+
+import com.ufc.blog.metrics.RequestTags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Abre o acumulador de fases da requisição, emite o {@link RequestEvent} ao final
+ * e guarda as requisições acima do limiar no {@link SlowRequestLog}.
+ */
+@RequiredArgsConstructor
+public class RequestProfilingFilter extends OncePerRequestFilter {
+
+    private final SlowRequestLog slowRequestLog;
+
+    @Override
+    protected void doFilterInternal(@NotNull HttpServletRequest request,
+                                    @NotNull HttpServletResponse response,
+                                    @NotNull FilterChain filterChain) throws ServletException, IOException {
+        RequestPhases phases = RequestPhases.begin();
+        RequestEvent event = new RequestEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long duration = System.nanoTime() - start;
+            RequestPhases.end();
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = request.getMethod();
+                event.uri = RequestTags.uri(request);
+                event.handler = RequestTags.handler(request);
+                event.status = response.getStatus();
+                event.jwtTime = phases.nanos(Phase.JWT);
+                event.controllerTime = phases.nanos(Phase.CONTROLLER);
+                event.repositoryTime = phases.nanos(Phase.REPOSITORY);
+                event.repositoryCalls = phases.calls(Phase.REPOSITORY);
+                event.serializationTime = phases.nanos(Phase.SERIALIZATION);
+                event.commit();
+            }
+            if (slowRequestLog.isSlow(duration)) {
+                slowRequestLog.add(new SlowRequestLog.SlowRequest(Instant.now(), request.getMethod(),
+                        RequestTags.uri(request), RequestTags.handler(request), response.getStatus(),
+                        duration / 1_000_000.0, phases.breakdown()));
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.ufc.blog.profiling;
+
+import jdk.jfr.*;
+
+@Name("com.ufc.blog.Serialization")
+@Label("Serialização da resposta")
+@Category({"Blog", "HTTP"})
+@StackTrace(false)
+class SerializationEvent extends Event {
+
+    @Label("Tipo")
+    String type;
+
+    @Label("Formato")
+    String format;
+}
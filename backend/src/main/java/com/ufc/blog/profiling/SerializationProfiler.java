@@ -0,0 +1,36 @@
+package com.ufc.blog.profiling;
+
+import java.io.IOException;
+
+/**
+ * Mede a escrita de um corpo de resposta como fase {@link Phase#SERIALIZATION}, emitindo um
+ * {@link SerializationEvent}. Usado pelos conversores de mensagem de todos os formatos;
+ * inclui carregamentos lazy disparados durante a serialização das entidades.
+ */
+public final class SerializationProfiler {
+
+    private SerializationProfiler() {
+    }
+
+    @FunctionalInterface
+    public interface Write {
+        void run() throws IOException;
+    }
+
+    public static void profile(Object body, String format, Write write) throws IOException {
+        SerializationEvent event = new SerializationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            write.run();
+        } finally {
+            RequestPhases.record(Phase.SERIALIZATION, System.nanoTime() - start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.type = body.getClass().getSimpleName();
+                event.format = format;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ufc.blog.profiling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/slowrequests}: últimas requisições acima do limiar com o tempo por fase.
+ */
+@Endpoint(id = "slowrequests")
+@RequiredArgsConstructor
+public class SlowRequestEndpoint {
+
+    private final SlowRequestLog slowRequestLog;
+
+    @ReadOperation
+    public SlowRequestReport recent() {
+        return new SlowRequestReport(slowRequestLog.thresholdMs(), slowRequestLog.recent());
+    }
+
+    public record SlowRequestReport(long thresholdMs, List<SlowRequestLog.SlowRequest> requests) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.ufc.blog.profiling;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Últimas requisições lentas com a decomposição por fase, em memória e com capacidade fixa.
+ */
+public class SlowRequestLog {
+
+    private final long thresholdNanos;
+    private final int capacity;
+    private final Deque<SlowRequest> entries = new ArrayDeque<>();
+
+    public SlowRequestLog(long thresholdMs, int capacity) {
+        this.thresholdNanos = thresholdMs * 1_000_000;
+        this.capacity = capacity;
+    }
+
+    public boolean isSlow(long durationNanos) {
+        return durationNanos >= thresholdNanos;
+    }
+
+    public synchronized void add(SlowRequest request) {
+        if (entries.size() == capacity) {
+            entries.removeLast();
+        }
+        entries.addFirst(request);
+    }
+
+    /**
+     * Requisições mais recentes primeiro.
+     */
+    public synchronized List<SlowRequest> recent() {
+        return new ArrayList<>(entries);
+    }
+
+    public long thresholdMs() {
+        return thresholdNanos / 1_000_000;
+    }
+
+    public record SlowRequest(Instant at, String method, String uri, String handler, int status,
+                              double durationMs, Map<Phase, RequestPhases.PhaseTiming> phases) {
+    }
+}
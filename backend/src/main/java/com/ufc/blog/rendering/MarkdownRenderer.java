@@ -0,0 +1,53 @@
+package com.ufc.blog.rendering;
+
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.owasp.html.HtmlPolicyBuilder;
+import org.owasp.html.PolicyFactory;
+import org.owasp.html.Sanitizers;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Converte o Markdown dos posts em HTML seguro: CommonMark com tabelas e tachado do GFM,
+ * seguido de uma lista de permissões de elementos e atributos. HTML escrito diretamente no
+ * conteúdo passa pelo mesmo filtro; scripts, handlers de eventos e URLs {@code javascript:} são removidos.
+ *
+ * <p>Parser, renderizador e política são imutáveis e seguros para uso concorrente.
+ */
+class MarkdownRenderer {
+
+    /**
+     * Versão do pipeline, parte da chave do cache: mudar extensões ou política exige incrementá-la
+     * para que o HTML gerado pela versão anterior deixe de ser usado.
+     */
+    static final int VERSION = 1;
+
+    private static final List<Extension> EXTENSIONS =
+            List.of(TablesExtension.create(), StrikethroughExtension.create());
+
+    private static final PolicyFactory POLICY = Sanitizers.FORMATTING
+            .and(Sanitizers.BLOCKS)
+            .and(Sanitizers.LINKS)
+            .and(Sanitizers.IMAGES)
+            .and(Sanitizers.TABLES)
+            .and(new HtmlPolicyBuilder()
+                    .allowElements("pre", "code", "hr", "del")
+                    .allowAttributes("class").matching(Pattern.compile("language-[\\w+-]+")).onElements("code")
+                    .allowAttributes("align").matching(true, "left", "center", "right").onElements("th", "td")
+                    .toFactory());
+
+    private final Parser parser = Parser.builder().extensions(EXTENSIONS).build();
+    private final HtmlRenderer renderer = HtmlRenderer.builder().extensions(EXTENSIONS).build();
+
+    String render(String markdown) {
+        if (markdown == null || markdown.isEmpty()) {
+            return "";
+        }
+        return POLICY.sanitize(renderer.render(parser.parse(markdown)));
+    }
+}
@@ -0,0 +1,148 @@
+package com.ufc.blog.rendering;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renderização do conteúdo dos posts para HTML seguro no servidor. O resultado é guardado pelo
+ * SHA-256 do conteúdo (e da versão do pipeline) no {@link RenderedHtmlCache}, de modo que um mesmo
+ * conteúdo é renderizado uma única vez, mesmo com requisições simultâneas.
+ *
+ * <p>Métricas: {@value #RENDER_TIME} (tempo das renderizações efetivas), {@value #CACHE_REQUESTS}
+ * por resultado ({@code memory}, {@code disk}, {@code coalesced}, {@code miss}) e
+ * {@value #CACHE_HIT_RATIO}.
+ */
+@Service
+@RequiredArgsConstructor
+public class MarkdownRenderingService {
+
+    static final String RENDER_TIME = "blog.markdown.render";
+    static final String CACHE_REQUESTS = "blog.markdown.cache.requests";
+    static final String CACHE_HIT_RATIO = "blog.markdown.cache.hit.ratio";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.markdown.cache.memory-max-size:32MB}")
+    private DataSize memoryMaxSize;
+    @Value("${app.markdown.cache.disk-enabled:true}")
+    private boolean diskEnabled;
+    @Value("${app.markdown.cache.disk-directory:${java.io.tmpdir}/blog-markdown-cache}")
+    private Path diskDirectory;
+    @Value("${app.markdown.cache.disk-max-size:512MB}")
+    private DataSize diskMaxSize;
+
+    private final MarkdownRenderer renderer = new MarkdownRenderer();
+    private final ConcurrentHashMap<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private RenderedHtmlCache cache;
+    private Timer renderTimer;
+    private Counter memoryHits;
+    private Counter diskHits;
+    private Counter coalesced;
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        cache = new RenderedHtmlCache(memoryMaxSize.toBytes(), diskEnabled ? diskDirectory : null, diskMaxSize.toBytes());
+
+        renderTimer = Timer.builder(RENDER_TIME)
+                .description("Tempo de renderização de Markdown para HTML (apenas faltas no cache)")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        memoryHits = cacheRequests("memory");
+        diskHits = cacheRequests("disk");
+        coalesced = cacheRequests("coalesced");
+        misses = cacheRequests("miss");
+        Gauge.builder(CACHE_HIT_RATIO, this, MarkdownRenderingService::hitRatio)
+                .description("Fração das renderizações atendidas pelo cache")
+                .register(meterRegistry);
+        Gauge.builder("blog.markdown.cache.size", cache, RenderedHtmlCache::memoryBytes)
+                .description("Bytes estimados de HTML no cache em heap")
+                .tag("tier", "memory").baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("blog.markdown.cache.size", cache, RenderedHtmlCache::diskBytes)
+                .description("Bytes de HTML no cache em disco")
+                .tag("tier", "disk").baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("blog.markdown.cache.entries", cache, RenderedHtmlCache::memoryEntries)
+                .description("Documentos HTML no cache em heap")
+                .tag("tier", "memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retorna o HTML seguro correspondente ao Markdown informado, renderizando-o apenas se nenhum
+     * nível do cache o tiver.
+     *
+     * @param markdown conteúdo do post
+     * @return HTML sanitizado (vazio para conteúdo nulo ou vazio)
+     */
+    public String render(String markdown) {
+        if (markdown == null || markdown.isEmpty()) {
+            return "";
+        }
+        String key = key(markdown);
+        RenderedHtmlCache.Hit hit = cache.get(key);
+        if (hit != null) {
+            (hit.tier() == RenderedHtmlCache.Tier.MEMORY ? memoryHits : diskHits).increment();
+            return hit.html();
+        }
+
+        CompletableFuture<String> rendering = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(key, rendering);
+        if (running != null) {
+            coalesced.increment();
+            return running.join();
+        }
+        try {
+            misses.increment();
+            String html = renderTimer.record(() -> renderer.render(markdown));
+            cache.put(key, html);
+            rendering.complete(html);
+            return html;
+        } catch (RuntimeException e) {
+            rendering.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, rendering);
+        }
+    }
+
+    private Counter cacheRequests(String result) {
+        return Counter.builder(CACHE_REQUESTS)
+                .description("Consultas ao cache de HTML renderizado por resultado")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private double hitRatio() {
+        double hits = memoryHits.count() + diskHits.count() + coalesced.count();
+        double total = hits + misses.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    private static String key(String markdown) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((byte) MarkdownRenderer.VERSION);
+            return HexFormat.of().formatHex(digest.digest(markdown.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
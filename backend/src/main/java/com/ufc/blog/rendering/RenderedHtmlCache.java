@@ -0,0 +1,230 @@
+package com.ufc.blog.rendering;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Cache de HTML renderizado em dois níveis, indexado pelo hash do conteúdo:
+ * <ol>
+ *     <li>heap: LRU limitado pelo tamanho estimado das strings;</li>
+ *     <li>disco: um arquivo por hash, limitado pelo total de bytes; ao passar do limite, os arquivos
+ *     acessados há mais tempo são removidos até sobrar {@value #DISK_EVICTION_TARGET_PERCENT}% dele.</li>
+ * </ol>
+ * Acertos no disco são promovidos para o heap. Falhas de E/S no disco são registradas e tratadas como
+ * ausência, sem afetar a resposta. O monitor da instância protege só o LRU do heap; a remoção no disco, que
+ * percorre o diretório inteiro, roda fora dele, em uma thread por vez.
+ */
+@Slf4j
+class RenderedHtmlCache {
+
+    private static final String SUFFIX = ".html";
+    private static final int DISK_EVICTION_TARGET_PERCENT = 90;
+
+    enum Tier { MEMORY, DISK }
+
+    record Hit(String html, Tier tier) {
+    }
+
+    private final long maxMemoryBytes;
+    private final Path directory;
+    private final long maxDiskBytes;
+
+    private final LinkedHashMap<String, String> memory = new LinkedHashMap<>(256, 0.75f, true);
+    private long memoryBytes;
+    private final AtomicLong diskBytes = new AtomicLong();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    RenderedHtmlCache(long maxMemoryBytes, Path directory, long maxDiskBytes) {
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.directory = directory;
+        this.maxDiskBytes = maxDiskBytes;
+        if (directory != null) {
+            try {
+                Files.createDirectories(directory);
+                diskBytes.set(scanDiskBytes());
+                log.info("Cache de HTML em disco em {} com {} KB", directory, diskBytes.get() / 1024);
+                evictDiskIfNeeded();
+            } catch (IOException | UncheckedIOException e) {
+                throw new IllegalStateException("Não foi possível preparar o cache de HTML em " + directory, e);
+            }
+        }
+    }
+
+    Hit get(String key) {
+        String html = getFromMemory(key);
+        if (html != null) {
+            return new Hit(html, Tier.MEMORY);
+        }
+        html = readFromDisk(key);
+        if (html != null) {
+            putInMemory(key, html);
+            return new Hit(html, Tier.DISK);
+        }
+        return null;
+    }
+
+    void put(String key, String html) {
+        putInMemory(key, html);
+        writeToDisk(key, html);
+    }
+
+    synchronized long memoryBytes() {
+        return memoryBytes;
+    }
+
+    synchronized int memoryEntries() {
+        return memory.size();
+    }
+
+    long diskBytes() {
+        return diskBytes.get();
+    }
+
+    private synchronized String getFromMemory(String key) {
+        return memory.get(key);
+    }
+
+    private synchronized void putInMemory(String key, String html) {
+        long weight = weight(key, html);
+        if (weight > maxMemoryBytes) {
+            return;
+        }
+        String previous = memory.put(key, html);
+        if (previous != null) {
+            memoryBytes -= weight(key, previous);
+        }
+        memoryBytes += weight;
+        var eldest = memory.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+            var entry = eldest.next();
+            memoryBytes -= weight(entry.getKey(), entry.getValue());
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Tamanho aproximado no heap: dois bytes por caractere (pior caso das strings compactas).
+     */
+    private static long weight(String key, String html) {
+        return 2L * (key.length() + html.length());
+    }
+
+    private String readFromDisk(String key) {
+        if (directory == null) {
+            return null;
+        }
+        Path file = directory.resolve(key + SUFFIX);
+        try {
+            String html = Files.readString(file, StandardCharsets.UTF_8);
+            // Marca o acesso para que a remoção por tamanho descarte primeiro os menos lidos.
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return html;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Falha ao ler {} do cache de HTML: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, String html) {
+        if (directory == null) {
+            return;
+        }
+        Path file = directory.resolve(key + SUFFIX);
+        byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxDiskBytes || Files.exists(file)) {
+            return;
+        }
+        try {
+            // Grava em arquivo temporário e move: leitores concorrentes nunca veem um arquivo parcial.
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temp, bytes);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            if (diskBytes.addAndGet(bytes.length) > maxDiskBytes) {
+                evictDiskIfNeeded();
+            }
+        } catch (IOException e) {
+            log.warn("Falha ao gravar {} no cache de HTML: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Remove os arquivos acessados há mais tempo se o disco passou do limite. Quem encontra uma remoção em
+     * andamento segue sem esperar; a próxima gravação acima do limite dispara outra.
+     */
+    private void evictDiskIfNeeded() {
+        if (diskBytes.get() <= maxDiskBytes || !evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            evictDisk();
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private void evictDisk() {
+        record Entry(Path path, long size, FileTime lastAccess) {
+        }
+        List<Entry> entries = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                entries.add(new Entry(file, attributes.size(), attributes.lastModifiedTime()));
+            }
+        } catch (IOException e) {
+            log.warn("Falha ao listar o cache de HTML em {}: {}", directory, e.getMessage());
+            return;
+        }
+        entries.sort(Comparator.comparing(Entry::lastAccess));
+
+        long total = entries.stream().mapToLong(Entry::size).sum();
+        long target = maxDiskBytes * DISK_EVICTION_TARGET_PERCENT / 100;
+        int removed = 0;
+        long removedBytes = 0;
+        for (Entry entry : entries) {
+            if (total - removedBytes <= target) {
+                break;
+            }
+            try {
+                if (Files.deleteIfExists(entry.path())) {
+                    removedBytes += entry.size();
+                    removed++;
+                }
+            } catch (IOException e) {
+                log.warn("Falha ao remover {} do cache de HTML: {}", entry.path(), e.getMessage());
+            }
+        }
+        // Subtrai em vez de atribuir: gravações concorrentes com a varredura já somaram seus bytes.
+        long remaining = diskBytes.addAndGet(-removedBytes);
+        log.debug("Cache de HTML em disco: {} arquivos removidos, {} KB restantes", removed, remaining / 1024);
+    }
+
+    private long scanDiskBytes() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .mapToLong(file -> {
+                        try {
+                            return Files.size(file);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .sum();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.ufc.blog.repository;
+
+/**
+ * Total de posts e de posts publicados de um autor, lidos com uma expressão de construtor JPQL.
+ */
+public record AuthorPostCounts(Long authorId, Long posts, Long publishedPosts) {
+}
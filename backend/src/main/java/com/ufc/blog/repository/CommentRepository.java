@@ -1,20 +1,70 @@
 package com.ufc.blog.repository;
 
 import com.ufc.blog.entity.Comment;
+import com.ufc.blog.entity.PostStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    Page<Comment> findByPostId(Long postId, Pageable pageable);
+    /*
+     * Os finders de comentários trazem autor, post e autor do post, que são serializados na resposta.
+     */
+
+    @Override
+    @EntityGraph(attributePaths = {"author", "post", "post.author"})
+    Optional<Comment> findById(Long id);
+
+    /**
+     * Comentários de um post que não está arquivado, todos na camada quente. Os dois filtros além do post
+     * não mudam o resultado (comentários são sempre posteriores ao post e só os de posts arquivados vão para
+     * a camada fria), mas permitem ao PostgreSQL particionado descartar {@code comments_cold} e os meses
+     * anteriores à criação do post.
+     */
+    @EntityGraph(attributePaths = {"author", "post", "post.author"})
+    @Query("SELECT c FROM Comment c WHERE c.post.id = :postId AND c.archived = false AND c.createdAt >= :since")
+    Page<Comment> findHotByPostId(@Param("postId") Long postId, @Param("since") LocalDateTime since, Pageable pageable);
 
+    /**
+     * Comentários de um post arquivado, em qualquer camada; só os meses anteriores ao post são descartados.
+     */
+    @EntityGraph(attributePaths = {"author", "post", "post.author"})
+    @Query("SELECT c FROM Comment c WHERE c.post.id = :postId AND c.createdAt >= :since")
+    Page<Comment> findByPostIdSince(@Param("postId") Long postId, @Param("since") LocalDateTime since, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"author", "post", "post.author"})
     Page<Comment> findByAuthorId(Long authorId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"author", "post", "post.author"})
     @Query("SELECT c FROM Comment c WHERE c.author.id = :authorId AND c.post.status = 'PUBLISHED'")
     Page<Comment> findPublishedCommentsByAuthorId(Long authorId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"author", "post", "post.author"})
+    Optional<Comment> findByIngestionId(String ingestionId);
+
+    @Query("SELECT c.post.status FROM Comment c WHERE c.id = :id")
+    Optional<PostStatus> findPostStatusById(@Param("id") Long id);
+
+    @Query("SELECT c.author.id FROM Comment c WHERE c.id = :id")
+    Optional<Long> findAuthorIdById(@Param("id") Long id);
+
+    @Query("SELECT new com.ufc.blog.repository.IdCount(c.post.id, COUNT(c)) "
+            + "FROM Comment c WHERE c.post.id IN :postIds AND c.active = true GROUP BY c.post.id")
+    List<IdCount> countActiveByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Query("SELECT new com.ufc.blog.repository.IdCount(c.author.id, COUNT(c)) "
+            + "FROM Comment c WHERE c.author.id IN :authorIds GROUP BY c.author.id")
+    List<IdCount> countByAuthorIds(@Param("authorIds") Collection<Long> authorIds);
+
 }
\ No newline at end of file
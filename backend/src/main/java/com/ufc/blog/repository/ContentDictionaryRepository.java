@@ -0,0 +1,10 @@
+package com.ufc.blog.repository;
+
+import com.ufc.blog.entity.ContentDictionary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ContentDictionaryRepository extends JpaRepository<ContentDictionary, Integer> {
+
+}
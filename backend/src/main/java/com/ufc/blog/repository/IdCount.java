@@ -0,0 +1,7 @@
+package com.ufc.blog.repository;
+
+/**
+ * Linha de uma contagem agrupada por ID (de post ou de autor), lida com uma expressão de construtor JPQL.
+ */
+public record IdCount(Long id, Long count) {
+}
@@ -0,0 +1,12 @@
+package com.ufc.blog.repository;
+
+import com.ufc.blog.entity.PostStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * O necessário para autorizar a leitura dos comentários de um post e escolher as partições consultadas,
+ * lido com uma expressão de construtor JPQL.
+ */
+public record PostAccess(PostStatus status, Long authorId, LocalDateTime createdAt) {
+}
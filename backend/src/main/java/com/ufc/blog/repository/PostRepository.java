@@ -2,18 +2,82 @@ package com.ufc.blog.repository;
 
 import com.ufc.blog.entity.Post;
 import com.ufc.blog.entity.PostStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
 
+    /**
+     * Busca o post junto com o corpo ({@code post_bodies}) e o autor em uma única consulta;
+     * os demais finders não leem o corpo.
+     */
+    @EntityGraph(attributePaths = {"body", "author"})
+    Optional<Post> findWithBodyById(Long id);
+
+    /**
+     * Busca o post junto com o autor, que é serializado na resposta.
+     */
+    @EntityGraph(attributePaths = "author")
+    Optional<Post> findWithAuthorById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "author")
+    Page<Post> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "author")
     Page<Post> findByStatus(PostStatus status, Pageable pageable);
 
+    /**
+     * Próximo lote, em ordem de ID, de posts sem campos derivados ({@code word_count} nulo), com o corpo.
+     */
+    @Query("SELECT p FROM Post p JOIN FETCH p.body WHERE p.wordCount IS NULL AND p.id > :afterId ORDER BY p.id")
+    List<Post> findNotEnrichedAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "author")
     Page<Post> findByAuthorId(Long authorId, Pageable pageable);
 
+    @EntityGraph(attributePaths = "author")
     Page<Post> findByAuthorIdAndStatus(Long authorId, PostStatus status, Pageable pageable);
 
+    @Query("SELECT p.status FROM Post p WHERE p.id = :id")
+    Optional<PostStatus> findStatusById(@Param("id") Long id);
+
+    @Query("SELECT p.author.id FROM Post p WHERE p.id = :id")
+    Optional<Long> findAuthorIdById(@Param("id") Long id);
+
+    @Query("SELECT new com.ufc.blog.repository.PostAccess(p.status, p.author.id, p.createdAt) FROM Post p WHERE p.id = :id")
+    Optional<PostAccess> findAccessById(@Param("id") Long id);
+
+    /**
+     * Transição de status num único {@code UPDATE} condicional: altera o post apenas se o usuário for o autor
+     * (ou administrador) e o status atual for uma das origens permitidas, e preenche {@code publishedAt}
+     * ao publicar. Não passa pela auditoria do JPA: {@code now} vem do chamador.
+     *
+     * @return 1 se o post mudou; 0 se ele não existe, o usuário não pode alterá-lo ou o status atual não permite a transição
+     */
+    @Modifying
+    @Query("UPDATE Post p SET p.status = :status, p.updatedAt = :now, "
+            + "p.publishedAt = CASE WHEN :status = com.ufc.blog.entity.PostStatus.PUBLISHED THEN :now ELSE p.publishedAt END "
+            + "WHERE p.id = :id AND (:admin = true OR p.author.id = :userId) AND p.status IN :sources")
+    int transitionStatus(@Param("id") Long id, @Param("status") PostStatus status, @Param("sources") Collection<PostStatus> sources,
+                         @Param("admin") boolean admin, @Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.ufc.blog.repository.AuthorPostCounts(p.author.id, COUNT(p), "
+            + "SUM(CASE WHEN p.status = 'PUBLISHED' THEN 1L ELSE 0L END)) "
+            + "FROM Post p WHERE p.author.id IN :authorIds GROUP BY p.author.id")
+    List<AuthorPostCounts> countByAuthorIds(@Param("authorIds") Collection<Long> authorIds);
+
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.ufc.blog.repository;
+
+import com.ufc.blog.entity.PostViewCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PostViewCountRepository extends JpaRepository<PostViewCount, Long> {
+
+}
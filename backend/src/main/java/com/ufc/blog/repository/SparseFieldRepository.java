@@ -0,0 +1,76 @@
+package com.ufc.blog.repository;
+
+import com.ufc.blog.exception.BadRequestException;
+import com.ufc.blog.fields.FieldSelection;
+import com.ufc.blog.fields.SparseQuery;
+import com.ufc.blog.fields.SparseResource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Leituras com seleção esparsa de campos: apenas as colunas pedidas saem do banco.
+ * Os filtros usam o alias {@value SparseQuery#ROOT_ALIAS} da entidade, ex.: {@code "r.status = :status"}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SparseFieldRepository {
+
+    private static final Pattern SORT_PROPERTY = Pattern.compile("[A-Za-z][A-Za-z0-9_.]*");
+
+    private final EntityManager entityManager;
+
+    public Page<Map<String, Object>> findPage(SparseResource resource, FieldSelection selection,
+                                              String where, Map<String, Object> params, Pageable pageable) {
+        SparseQuery query = new SparseQuery(resource, selection);
+        String whereClause = where != null ? " WHERE " + where : "";
+
+        TypedQuery<Object[]> select = entityManager.createQuery(
+                query.selectClause() + query.fromClause() + whereClause + orderBy(pageable.getSort()), Object[].class);
+        params.forEach(select::setParameter);
+        select.setFirstResult((int) pageable.getOffset());
+        select.setMaxResults(pageable.getPageSize());
+        List<Map<String, Object>> content = select.getResultList().stream().map(query::toMap).toList();
+
+        TypedQuery<Long> count = entityManager.createQuery("SELECT COUNT(" + SparseQuery.ROOT_ALIAS + ") FROM "
+                + resource.entity() + " " + SparseQuery.ROOT_ALIAS + whereClause, Long.class);
+        params.forEach(count::setParameter);
+        return new PageImpl<>(content, pageable, count.getSingleResult());
+    }
+
+    public Optional<Map<String, Object>> findOne(SparseResource resource, FieldSelection selection,
+                                                 String where, Map<String, Object> params) {
+        SparseQuery query = new SparseQuery(resource, selection);
+        TypedQuery<Object[]> select = entityManager.createQuery(
+                query.selectClause() + query.fromClause() + " WHERE " + where, Object[].class);
+        params.forEach(select::setParameter);
+        select.setMaxResults(1);
+        return select.getResultList().stream().findFirst().map(query::toMap);
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        StringBuilder clause = new StringBuilder();
+        for (Sort.Order order : sort) {
+            if (!SORT_PROPERTY.matcher(order.getProperty()).matches()) {
+                throw new BadRequestException("Ordenação inválida: " + order.getProperty());
+            }
+            clause.append(clause.isEmpty() ? " ORDER BY " : ", ")
+                    .append(SparseQuery.ROOT_ALIAS).append('.').append(order.getProperty())
+                    .append(' ').append(order.getDirection().name());
+        }
+        return clause.toString();
+    }
+}
@@ -5,23 +5,54 @@ import com.ufc.blog.entity.UserStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    Page<User> findAll(Pageable pageable);
+    /*
+     * Os finders "...DeletedAtIsNull" ignoram contas em remoção (ver PurgeService); os demais, usados
+     * na validação de unicidade, as incluem, já que username e email continuam ocupados até o fim.
+     */
+
+    Page<User> findByDeletedAtIsNull(Pageable pageable);
+
+    Optional<User> findByIdAndDeletedAtIsNull(Long id);
 
     Optional<User> findByUsername(String username);
 
+    Optional<User> findByUsernameAndDeletedAtIsNull(String username);
+
     Optional<User> findByEmail(String email);
 
+    Optional<User> findByEmailAndDeletedAtIsNull(String email);
+
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
 
-    Page<User> findByStatus(UserStatus status, Pageable pageable);
+    Page<User> findByStatusAndDeletedAtIsNull(UserStatus status, Pageable pageable);
+
+    @Query("SELECT u.status FROM User u WHERE u.id = :id AND u.deletedAt IS NULL")
+    Optional<UserStatus> findStatusById(@Param("id") Long id);
+
+    /**
+     * Transição de status num único {@code UPDATE} condicional, apenas se o status atual for uma das origens
+     * permitidas e a conta não estiver em remoção. Não passa pela auditoria do JPA: {@code now} vem do chamador.
+     *
+     * @return 1 se o usuário mudou; 0 se ele não existe ou o status atual não permite a transição
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.status = :status, u.updatedAt = :now "
+            + "WHERE u.id = :id AND u.deletedAt IS NULL AND u.status IN :sources")
+    int transitionStatus(@Param("id") Long id, @Param("status") UserStatus status,
+                         @Param("sources") Collection<UserStatus> sources, @Param("now") LocalDateTime now);
 
 }
\ No newline at end of file
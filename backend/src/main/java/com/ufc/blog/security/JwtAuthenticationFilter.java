@@ -1,5 +1,8 @@
 package com.ufc.blog.security;
 
+import com.ufc.blog.profiling.JwtVerificationEvent;
+import com.ufc.blog.profiling.Phase;
+import com.ufc.blog.profiling.RequestPhases;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -37,8 +40,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     @NotNull FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
-            if (StringUtils.hasText(jwt) && jwtService.validateToken(jwt)) {
-                Long userId = jwtService.getUserIdFromToken(jwt);
+            Long userId = StringUtils.hasText(jwt) ? verifyToken(jwt) : null;
+            if (userId != null) {
                 UserDetails userDetails = userDetailsService.loadUserById(userId);
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
@@ -53,6 +56,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Valida o token e extrai o ID do usuário, medindo a verificação (evento JFR e fase {@link Phase#JWT}).
+     *
+     * @return o ID do usuário, ou {@code null} se o token for inválido
+     */
+    private Long verifyToken(String jwt) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Long userId = null;
+        try {
+            if (jwtService.validateToken(jwt)) {
+                userId = jwtService.getUserIdFromToken(jwt);
+            }
+            return userId;
+        } finally {
+            RequestPhases.record(Phase.JWT, System.nanoTime() - start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.valid = userId != null;
+                event.commit();
+            }
+        }
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -136,7 +136,7 @@ public class JwtService {
     }
 
     public String generateTokenFromUsername(String username) {
-        User user = userRepository.findByUsername(username)
+        User user = userRepository.findByUsernameAndDeletedAtIsNull(username)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário", "username", username));
 
         Date now = new Date();
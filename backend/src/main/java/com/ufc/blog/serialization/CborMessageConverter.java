@@ -0,0 +1,28 @@
+package com.ufc.blog.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufc.blog.profiling.SerializationProfiler;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * CBOR ({@code application/cbor}, RFC 8949), com os mesmos nomes de propriedade e regras
+ * de inclusão do JSON.
+ */
+public class CborMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    public CborMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        SerializationProfiler.profile(object, "cbor", () -> super.writeInternal(object, type, outputMessage));
+    }
+}
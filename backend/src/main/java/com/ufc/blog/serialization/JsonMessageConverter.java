@@ -0,0 +1,50 @@
+package com.ufc.blog.serialization;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ufc.blog.profiling.SerializationProfiler;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Conversor JSON da aplicação: compacto por padrão e indentado quando a requisição pede
+ * {@code ?pretty=true}.
+ */
+public class JsonMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public static final String PRETTY_PARAM = "pretty";
+
+    public JsonMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected ObjectWriter customizeWriter(ObjectWriter writer, JavaType javaType, @Nullable MediaType contentType) {
+        return isPrettyRequested() ? writer.with(SerializationFeature.INDENT_OUTPUT) : writer;
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        SerializationProfiler.profile(object, "json", () -> super.writeInternal(object, type, outputMessage));
+    }
+
+    private static boolean isPrettyRequested() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            return Boolean.parseBoolean(request.getParameter(PRETTY_PARAM));
+        }
+        return false;
+    }
+}
@@ -0,0 +1,90 @@
+package com.ufc.blog.serialization;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ufc.blog.entity.Post;
+import com.ufc.blog.entity.PostStatus;
+import com.ufc.blog.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code GET /actuator/serializationbenchmark?size=20&iterations=200}: serializa uma página real de
+ * posts publicados em cada formato e informa o tamanho do payload e o tempo médio por serialização.
+ *
+ * <p>A página é carregada e serializada uma vez dentro de uma transação somente leitura, para que os
+ * carregamentos lazy não entrem na medição; as iterações medidas trabalham só em memória.
+ */
+@Endpoint(id = "serializationbenchmark")
+@RequiredArgsConstructor
+public class SerializationBenchmarkEndpoint {
+
+    private static final int DEFAULT_SIZE = 20;
+    private static final int DEFAULT_ITERATIONS = 200;
+    private static final int MAX_ITERATIONS = 10_000;
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final JsonMessageConverter jsonConverter;
+    private final SmileMessageConverter smileConverter;
+    private final CborMessageConverter cborConverter;
+
+    @ReadOperation
+    public BenchmarkReport run(@Nullable Integer size, @Nullable Integer iterations) {
+        int pageSize = size != null && size > 0 ? Math.min(size, 100) : DEFAULT_SIZE;
+        int rounds = iterations != null && iterations > 0 ? Math.min(iterations, MAX_ITERATIONS) : DEFAULT_ITERATIONS;
+
+        List<Format> formats = List.of(
+                new Format("json", "application/json", jsonConverter.getObjectMapper().writer()),
+                new Format("json-pretty", "application/json", jsonConverter.getObjectMapper().writer()
+                        .with(SerializationFeature.INDENT_OUTPUT)),
+                new Format("smile", "application/x-jackson-smile", smileConverter.getObjectMapper().writer()),
+                new Format("cbor", "application/cbor", cborConverter.getObjectMapper().writer()));
+
+        return readOnlyTransaction.execute(status -> {
+            Page<Post> page = postRepository.findByStatus(PostStatus.PUBLISHED,
+                    PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "publishedAt")));
+            List<FormatResult> results = new ArrayList<>();
+            for (Format format : formats) {
+                results.add(measure(format, page, rounds));
+            }
+            return new BenchmarkReport(page.getNumberOfElements(), rounds, results);
+        });
+    }
+
+    private static FormatResult measure(Format format, Object value, int rounds) {
+        try {
+            byte[] payload = format.writer().writeValueAsBytes(value);
+            for (int i = 0; i < rounds; i++) {
+                format.writer().writeValueAsBytes(value);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                format.writer().writeValueAsBytes(value);
+            }
+            double meanMicros = (System.nanoTime() - start) / 1_000.0 / rounds;
+            return new FormatResult(format.name(), format.mediaType(), payload.length, meanMicros);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar em " + format.name(), e);
+        }
+    }
+
+    private record Format(String name, String mediaType, ObjectWriter writer) {
+    }
+
+    public record FormatResult(String format, String mediaType, int bytes, double meanMicros) {
+    }
+
+    public record BenchmarkReport(int posts, int iterations, List<FormatResult> results) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.ufc.blog.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufc.blog.profiling.SerializationProfiler;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Smile ({@code application/x-jackson-smile}): JSON binário, com os mesmos nomes de
+ * propriedade e regras de inclusão do JSON.
+ */
+public class SmileMessageConverter extends MappingJackson2SmileHttpMessageConverter {
+
+    public SmileMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        SerializationProfiler.profile(object, "smile", () -> super.writeInternal(object, type, outputMessage));
+    }
+}
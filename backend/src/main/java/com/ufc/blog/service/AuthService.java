@@ -0,0 +1,102 @@
+package com.ufc.blog.service;
+
+import com.ufc.blog.entity.User;
+import com.ufc.blog.entity.UserRole;
+import com.ufc.blog.entity.UserStatus;
+import com.ufc.blog.exception.BadRequestException;
+import com.ufc.blog.exception.TokenRefreshException;
+import com.ufc.blog.repository.UserRepository;
+import com.ufc.blog.security.JwtService;
+import com.ufc.blog.security.RefreshToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Cadastro, login e renovação de tokens.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuthService {
+
+    private final AuthenticationManager authenticationManager;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
+    private final UserService userService;
+    private final UserExistenceFilter userExistenceFilter;
+
+    /**
+     * Cadastra um usuário comum, pendente de ativação.
+     *
+     * @throws BadRequestException se o username ou o email já estiverem em uso
+     */
+    @Transactional
+    public User register(User registerRequest) {
+        if (userExistenceFilter.mightContainUsername(registerRequest.getUsername())
+                && userRepository.existsByUsername(registerRequest.getUsername())) {
+            throw new BadRequestException("Nome de usuário já está em uso");
+        }
+        if (userExistenceFilter.mightContainEmail(registerRequest.getEmail())
+                && userRepository.existsByEmail(registerRequest.getEmail())) {
+            throw new BadRequestException("Email já está em uso");
+        }
+        userExistenceFilter.add(registerRequest.getUsername(), registerRequest.getEmail());
+
+        User user = new User();
+        user.setUsername(registerRequest.getUsername());
+        user.setEmail(registerRequest.getEmail());
+        user.setFirstName(registerRequest.getFirstName());
+        user.setLastName(registerRequest.getLastName());
+        user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+        user.setRole(UserRole.USER);
+        user.setStatus(UserStatus.PENDING);
+        return userService.withCounts(userService.saveUnique(user));
+    }
+
+    /**
+     * Autentica o usuário e emite os tokens. Não abre uma transação própria: a verificação da senha
+     * (BCrypt) é lenta e não deve segurar uma conexão; a emissão dos tokens e a leitura das contagens
+     * rodam cada uma na sua transação.
+     *
+     * @return {@code accessToken}, {@code refreshToken} e {@code user}
+     * @throws BadRequestException se o usuário não existir ou não puder fazer login
+     */
+    public Map<String, Object> login(String username, String password) {
+        User user = userRepository.findByUsernameAndDeletedAtIsNull(username)
+                .orElseThrow(() -> new BadRequestException("Usuário não encontrado. Crie uma conta ou verifique o nome de usuário."));
+
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(username, password));
+
+        if (!user.getStatus().canLogin()) {
+            throw new BadRequestException("Usuário não está ativo. " + user.getStatus().getDescription());
+        }
+        Map<String, Object> tokensAndUser = jwtService.generateToken(authentication);
+        userService.withCounts((User) tokensAndUser.get("user"));
+        return tokensAndUser;
+    }
+
+    /**
+     * Emite um novo access token a partir de um refresh token válido.
+     *
+     * @throws TokenRefreshException se o refresh token não existir
+     */
+    @Transactional
+    public Map<String, String> refresh(String refreshToken) {
+        return jwtService.findByToken(refreshToken)
+                .map(jwtService::verifyExpiration)
+                .map(RefreshToken::getUser)
+                .map(user -> Map.of(
+                        "accessToken", jwtService.generateTokenFromUsername(user.getUsername()),
+                        "refreshToken", refreshToken))
+                .orElseThrow(() -> new TokenRefreshException(refreshToken,
+                        "Refresh token não encontrado no banco de dados."));
+    }
+}
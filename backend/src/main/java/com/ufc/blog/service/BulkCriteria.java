@@ -0,0 +1,23 @@
+package com.ufc.blog.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Critérios de seleção de uma operação em massa ({@link BulkOperationService}), combinados com {@code AND};
+ * pelo menos um é obrigatório.
+ *
+ * @param ids         IDs das linhas
+ * @param authorId    autor dos posts (apenas em operações sobre posts)
+ * @param status      status atual, ex.: {@code DRAFT} ou {@code PENDING}
+ * @param createdFrom criadas a partir deste momento (inclusive)
+ * @param createdTo   criadas antes deste momento (exclusive)
+ */
+public record BulkCriteria(List<Long> ids, Long authorId, String status,
+                           LocalDateTime createdFrom, LocalDateTime createdTo) {
+
+    public boolean isEmpty() {
+        return (ids == null || ids.isEmpty()) && authorId == null && status == null
+                && createdFrom == null && createdTo == null;
+    }
+}
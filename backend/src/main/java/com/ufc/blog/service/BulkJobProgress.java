@@ -0,0 +1,37 @@
+package com.ufc.blog.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Andamento de uma operação em massa do {@link BulkOperationService}.
+ *
+ * @param jobId      identificador da operação
+ * @param operation  operação, ex.: {@code posts.archive}
+ * @param state      estado atual
+ * @param matched    linhas que atendiam aos critérios no início
+ * @param processed  linhas já alteradas ou apagadas
+ * @param skipped    linhas que deixaram de atender aos critérios antes do seu lote (alteradas por outra requisição)
+ * @param startedAt  criação da operação
+ * @param finishedAt fim da operação (null enquanto em andamento)
+ * @param error      mensagem da falha, quando {@code state} é {@code FAILED}
+ */
+public record BulkJobProgress(String jobId, String operation, State state, long matched, long processed, long skipped,
+                              LocalDateTime startedAt, LocalDateTime finishedAt, String error) {
+
+    public enum State {
+        /**
+         * Aguardando a thread de operações em massa.
+         */
+        QUEUED,
+        RUNNING,
+        DONE,
+        /**
+         * Interrompida a pedido; os lotes já processados permanecem.
+         */
+        CANCELLED,
+        /**
+         * Interrompida por um erro; os lotes já processados permanecem.
+         */
+        FAILED
+    }
+}
@@ -0,0 +1,337 @@
+package com.ufc.blog.service;
+
+import com.ufc.blog.entity.PostStatus;
+import com.ufc.blog.entity.UserStatus;
+import com.ufc.blog.event.PostDeletedEvent;
+import com.ufc.blog.event.PostStatusChangedEvent;
+import com.ufc.blog.event.UserChangedEvent;
+import com.ufc.blog.exception.BadRequestException;
+import com.ufc.blog.service.BulkJobProgress.State;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Operações de moderação em massa sobre posts e usuários selecionados por critérios ({@link BulkCriteria}).
+ *
+ * <p>Cada operação vira um job executado por uma thread própria, que percorre as linhas em ordem de ID em lotes de
+ * {@code app.bulk.batch-size}. Só os IDs são lidos; cada lote roda na sua transação, que trava as linhas,
+ * confere de novo o status de origem e as altera com um {@code UPDATE} em conjunto, de modo que nenhuma
+ * transação segura bloqueios por mais de um lote. As transições seguem as de {@link PostStatus} e {@link UserStatus},
+ * como em {@link PostService#changeStatus}; a remoção de posts usa o {@link PurgeService}.
+ *
+ * <p>O andamento fica disponível em {@link #getProgress} por {@code app.bulk.progress-retention} após o fim, e o
+ * job pode ser cancelado entre lotes ({@link #cancel}). Jobs não sobrevivem a um reinício: os lotes já
+ * processados permanecem e a operação pode ser reenviada, já que as linhas alteradas deixam de atender aos critérios.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkOperationService {
+
+    private static final String BULK_TIME = "blog.bulk.operations";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PurgeService purgeService;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("bulk-operations").daemon(true).factory());
+
+    @Value("${app.bulk.batch-size:500}")
+    private int batchSize;
+    @Value("${app.bulk.max-ids:10000}")
+    private int maxIds;
+    @Value("${app.bulk.progress-retention:PT1H}")
+    private Duration progressRetention;
+
+    // ===== Posts =====
+
+    public BulkJobProgress archivePosts(BulkCriteria criteria) {
+        return transitionPosts("posts.archive", criteria, PostStatus.ARCHIVED);
+    }
+
+    public BulkJobProgress publishPosts(BulkCriteria criteria) {
+        return transitionPosts("posts.publish", criteria, PostStatus.PUBLISHED);
+    }
+
+    /**
+     * Apaga os posts selecionados com seus comentários, corpos e contagens.
+     *
+     * @throws BadRequestException se nenhum critério for informado ou algum for inválido
+     */
+    public BulkJobProgress deletePosts(BulkCriteria criteria) {
+        Where where = postWhere(criteria, null);
+        return submit("posts.delete", "posts", where, ids -> {
+            purgeService.deletePosts(ids);
+            ids.forEach(id -> eventPublisher.publishEvent(new PostDeletedEvent(id)));
+            return ids.size();
+        });
+    }
+
+    /**
+     * @throws BadRequestException se nenhum critério for informado ou algum for inválido
+     */
+    private BulkJobProgress transitionPosts(String operation, BulkCriteria criteria, PostStatus target) {
+        Where where = postWhere(criteria, target.sources());
+        return submit(operation, "posts", where, ids -> {
+            List<Long> changed = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                List<Long> locked = lockWithStatus("posts", ids, target.sources());
+                if (!locked.isEmpty()) {
+                    jdbcTemplate.update("UPDATE posts SET status = ?, updated_at = ?"
+                                    + (target == PostStatus.PUBLISHED ? ", published_at = ?" : "")
+                                    + " WHERE id IN (" + placeholders(locked.size()) + ")",
+                            args(target == PostStatus.PUBLISHED ? List.of(target.name(), now, now) : List.of(target.name(), now), locked));
+                }
+                return locked;
+            });
+            changed.forEach(id -> eventPublisher.publishEvent(new PostStatusChangedEvent(id, target)));
+            return changed.size();
+        });
+    }
+
+    // ===== Usuários =====
+
+    /**
+     * Suspende os usuários ativos selecionados. A conta do próprio administrador nunca é incluída.
+     *
+     * @throws BadRequestException se nenhum critério for informado ou algum for inválido
+     */
+    public BulkJobProgress suspendUsers(BulkCriteria criteria, Long requesterId) {
+        return transitionUsers("users.suspend", criteria, UserStatus.SUSPENDED, requesterId);
+    }
+
+    /**
+     * @throws BadRequestException se nenhum critério for informado ou algum for inválido
+     */
+    public BulkJobProgress activateUsers(BulkCriteria criteria, Long requesterId) {
+        return transitionUsers("users.activate", criteria, UserStatus.ACTIVE, requesterId);
+    }
+
+    private BulkJobProgress transitionUsers(String operation, BulkCriteria criteria, UserStatus target, Long requesterId) {
+        if (criteria.authorId() != null) {
+            throw new BadRequestException("O critério 'author_id' se aplica apenas a posts");
+        }
+        Where where = userWhere(criteria, target.sources(), requesterId);
+        return submit(operation, "users", where, ids -> {
+            List<Long> changed = transactionTemplate.execute(status -> {
+                List<Long> locked = lockWithStatus("users", ids, target.sources());
+                if (!locked.isEmpty()) {
+                    jdbcTemplate.update("UPDATE users SET status = ?, updated_at = ? WHERE id IN ("
+                            + placeholders(locked.size()) + ")", args(List.of(target.name(), LocalDateTime.now()), locked));
+                }
+                return locked;
+            });
+            changed.forEach(id -> eventPublisher.publishEvent(new UserChangedEvent(id)));
+            return changed.size();
+        });
+    }
+
+    // ===== Jobs =====
+
+    public Optional<BulkJobProgress> getProgress(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::snapshot);
+    }
+
+    /**
+     * Pede o cancelamento do job; ele para antes do próximo lote. Sem efeito em jobs já terminados.
+     */
+    public Optional<BulkJobProgress> cancel(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        job.cancelled = true;
+        log.info("Cancelamento do job {} ({}) solicitado", jobId, job.operation);
+        return Optional.of(job.snapshot());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private BulkJobProgress submit(String operation, String table, Where where, Function<List<Long>, Integer> chunk) {
+        LocalDateTime now = LocalDateTime.now();
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.plus(progressRetention).isBefore(now));
+
+        Long matched = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + where.sql(), Long.class, where.args().toArray());
+        Job job = new Job(UUID.randomUUID().toString(), operation, now, matched != null ? matched : 0);
+        jobs.put(job.id, job);
+        log.info("Job {} ({}) criado: {} linhas selecionadas", job.id, operation, job.matched);
+        executor.execute(() -> run(job, table, where, chunk));
+        return job.snapshot();
+    }
+
+    private void run(Job job, String table, Where where, Function<List<Long>, Integer> chunk) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            job.state = State.RUNNING;
+            long afterId = 0;
+            List<Long> ids;
+            while (!job.cancelled && !Thread.currentThread().isInterrupted()
+                    && !(ids = jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE id > ? AND " + where.sql()
+                    + " ORDER BY id LIMIT ?", Long.class, args(List.of(afterId), where.args(), List.of(batchSize)))).isEmpty()) {
+                int processed = chunk.apply(ids);
+                job.processed += processed;
+                job.skipped += ids.size() - processed;
+                afterId = ids.getLast();
+            }
+            job.state = job.cancelled || Thread.currentThread().isInterrupted() ? State.CANCELLED : State.DONE;
+            log.info("Job {} ({}) {}: {} linhas processadas, {} ignoradas", job.id, job.operation,
+                    job.state == State.DONE ? "concluído" : "cancelado", job.processed, job.skipped);
+        } catch (RuntimeException e) {
+            job.state = State.FAILED;
+            job.error = e.getMessage();
+            log.error("Job {} ({}) interrompido após {} linhas", job.id, job.operation, job.processed, e);
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            sample.stop(Timer.builder(BULK_TIME)
+                    .description("Duração das operações em massa")
+                    .tag("operation", job.operation)
+                    .tag("outcome", job.state.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    // ===== Critérios =====
+
+    /**
+     * @param sources status de origem permitidos, ou null para qualquer status
+     */
+    private Where postWhere(BulkCriteria criteria, Set<PostStatus> sources) {
+        Where where = common(criteria, sources != null ? sources.stream().map(Enum::name).toList() : null,
+                criteria.status() != null ? parse(PostStatus.class, criteria.status()).name() : null);
+        if (criteria.authorId() != null) {
+            where = where.and("author_id = ?", criteria.authorId());
+        }
+        return where;
+    }
+
+    private Where userWhere(BulkCriteria criteria, Set<UserStatus> sources, Long requesterId) {
+        return common(criteria, sources.stream().map(Enum::name).toList(),
+                criteria.status() != null ? parse(UserStatus.class, criteria.status()).name() : null)
+                .and("deleted_at IS NULL")
+                .and("id <> ?", requesterId);
+    }
+
+    private Where common(BulkCriteria criteria, List<String> sources, String status) {
+        if (criteria.isEmpty()) {
+            throw new BadRequestException("Informe pelo menos um critério: ids, author_id, status, created_from ou created_to");
+        }
+        Where where = new Where("1 = 1", List.of());
+        if (criteria.ids() != null && !criteria.ids().isEmpty()) {
+            if (criteria.ids().size() > maxIds) {
+                throw new BadRequestException("No máximo " + maxIds + " IDs por operação");
+            }
+            where = where.and("id IN (" + placeholders(criteria.ids().size()) + ")", criteria.ids().toArray());
+        }
+        if (sources != null) {
+            where = where.and("status IN (" + placeholders(sources.size()) + ")", sources.toArray());
+        }
+        if (status != null) {
+            where = where.and("status = ?", status);
+        }
+        if (criteria.createdFrom() != null) {
+            where = where.and("created_at >= ?", criteria.createdFrom());
+        }
+        if (criteria.createdTo() != null) {
+            where = where.and("created_at < ?", criteria.createdTo());
+        }
+        return where;
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Status inválido: " + value);
+        }
+    }
+
+    /**
+     * Trava as linhas do lote que ainda estão num dos status de origem e devolve seus IDs.
+     */
+    private <E extends Enum<E>> List<Long> lockWithStatus(String table, List<Long> ids, Set<E> sources) {
+        List<String> names = sources.stream().map(Enum::name).toList();
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE id IN (" + placeholders(ids.size())
+                + ") AND status IN (" + placeholders(names.size()) + ") FOR UPDATE", Long.class, args(ids, names));
+    }
+
+    private static Object[] args(List<?>... parts) {
+        List<Object> all = new ArrayList<>();
+        for (List<?> part : parts) {
+            all.addAll(part);
+        }
+        return all.toArray();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Filtro SQL sobre a tabela da operação, com os parâmetros na ordem dos {@code ?}.
+     */
+    private record Where(String sql, List<Object> args) {
+
+        Where and(String condition, Object... values) {
+            List<Object> all = new ArrayList<>(args);
+            Collections.addAll(all, values);
+            return new Where(sql + " AND " + condition, all);
+        }
+    }
+
+    /**
+     * Estado mutável de um job; escrito pela thread que o executa, exceto o pedido de cancelamento.
+     */
+    private static final class Job {
+
+        final String id;
+        final String operation;
+        final LocalDateTime startedAt;
+        final long matched;
+        volatile State state = State.QUEUED;
+        volatile boolean cancelled;
+        volatile long processed;
+        volatile long skipped;
+        volatile LocalDateTime finishedAt;
+        volatile String error;
+
+        Job(String id, String operation, LocalDateTime startedAt, long matched) {
+            this.id = id;
+            this.operation = operation;
+            this.startedAt = startedAt;
+            this.matched = matched;
+        }
+
+        BulkJobProgress snapshot() {
+            return new BulkJobProgress(id, operation, state, matched, processed, skipped, startedAt, finishedAt, error);
+        }
+    }
+}
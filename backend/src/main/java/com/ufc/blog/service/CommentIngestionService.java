@@ -0,0 +1,217 @@
+package com.ufc.blog.service;
+
+import com.ufc.blog.entity.Comment;
+import com.ufc.blog.entity.PostStatus;
+import com.ufc.blog.entity.User;
+import com.ufc.blog.exception.BadRequestException;
+import com.ufc.blog.exception.ResourceNotFoundException;
+import com.ufc.blog.exception.ServiceUnavailableException;
+import com.ufc.blog.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingestão de comentários em modo write-behind, habilitada por {@code app.comments.write-behind.enabled}.
+ *
+ * <p>O comentário é validado, recebe um {@code ingestion_id} e entra numa fila em memória limitada.
+ * Uma única thread escritora drena a fila e grava os comentários em lotes, com um
+ * {@code INSERT} de várias linhas por lote.
+ *
+ * <p>Garantias de durabilidade:
+ * <ul>
+ *     <li>O aceite (HTTP 202) não significa persistência. Comentários ainda na fila se perdem se o
+ *     processo for encerrado abruptamente (queda, {@code kill -9}, OOM). A janela de perda é de
+ *     aproximadamente {@code flush-interval-ms} mais o tempo de um lote.</li>
+ *     <li>Num desligamento gracioso a fila é drenada antes de o contexto ser fechado.</li>
+ *     <li>Se um lote falhar, as linhas são regravadas uma a uma; as que falharem de novo (por exemplo,
+ *     post removido entre o aceite e a gravação) são descartadas e registradas em log.</li>
+ * </ul>
+ *
+ * <p>Quando a fila está cheia o aceite é recusado com HTTP 503 e {@code Retry-After}, em vez de
+ * bloquear a thread da requisição.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentIngestionService {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO comments (content, active, author_id, post_id, ingestion_id, created_at, updated_at) VALUES ";
+    private static final String INSERT_ROW = "(?, TRUE, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS_PER_ROW = 6;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostRepository postRepository;
+
+    private final Map<String, PendingComment> pending = new ConcurrentHashMap<>();
+
+    @Value("${app.comments.write-behind.enabled:false}")
+    private boolean enabled;
+    @Value("${app.comments.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+    @Value("${app.comments.write-behind.batch-size:100}")
+    private int batchSize;
+    @Value("${app.comments.write-behind.flush-interval-ms:200}")
+    private long flushIntervalMs;
+    @Value("${app.comments.write-behind.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private BlockingQueue<PendingComment> queue;
+    private volatile boolean running;
+    private Thread writer;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = Thread.ofPlatform().name("comment-writer").daemon(true).start(this::drainLoop);
+        log.info("Ingestão write-behind de comentários ativa (fila={}, lote={})", queueCapacity, batchSize);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(shutdownTimeoutMs);
+        if (!queue.isEmpty()) {
+            log.warn("{} comentários pendentes não foram gravados no desligamento", queue.size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Valida e enfileira um comentário para gravação assíncrona.
+     * A única ida ao banco é a leitura do status do post.
+     *
+     * @param postId   ID do post comentado
+     * @param authorId ID do autor autenticado
+     * @param content  conteúdo do comentário
+     * @return o comentário pendente, com o {@code ingestionId} a devolver ao cliente
+     * @throws ResourceNotFoundException    se o post não for encontrado
+     * @throws BadRequestException          se o post não estiver publicado
+     * @throws ServiceUnavailableException se a fila estiver cheia
+     */
+    public PendingComment enqueue(Long postId, Long authorId, String content) {
+        PostStatus status = postRepository.findStatusById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post", "id", postId));
+        if (status != PostStatus.PUBLISHED) {
+            throw new BadRequestException("Não é possível comentar em posts não publicados");
+        }
+
+        PendingComment comment = new PendingComment(UUID.randomUUID().toString(), postId, authorId, content, LocalDateTime.now());
+        pending.put(comment.ingestionId(), comment);
+        if (!queue.offer(comment)) {
+            pending.remove(comment.ingestionId());
+            throw new ServiceUnavailableException("Muitos comentários sendo processados. Tente novamente em instantes.", 1);
+        }
+        return comment;
+    }
+
+    public Optional<PendingComment> findPending(String ingestionId) {
+        return Optional.ofNullable(pending.get(ingestionId));
+    }
+
+    /**
+     * Comentários ainda não gravados de um autor em um post, para leitura das próprias escritas.
+     */
+    public List<PendingComment> findPending(Long postId, Long authorId) {
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        return pending.values().stream()
+                .filter(c -> c.postId().equals(postId) && c.authorId().equals(authorId))
+                .sorted(Comparator.comparing(PendingComment::createdAt))
+                .toList();
+    }
+
+    /**
+     * Representa um comentário pendente com a mesma forma de {@link Comment}, sem ID nem post.
+     * O autor deve vir carregado: a resposta é serializada fora de qualquer sessão do Hibernate.
+     *
+     * @param pendingComment comentário pendente
+     * @param author         autor do comentário ({@code pendingComment.authorId()})
+     */
+    public Comment toComment(PendingComment pendingComment, User author) {
+        Comment comment = new Comment(pendingComment.content(), author, null);
+        comment.setIngestionId(pendingComment.ingestionId());
+        comment.setCreatedAt(pendingComment.createdAt());
+        comment.setUpdatedAt(pendingComment.createdAt());
+        return comment;
+    }
+
+    // ===== Writer =====
+
+    private void drainLoop() {
+        List<PendingComment> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingComment first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Erro inesperado na gravação de comentários", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingComment> batch) {
+        try {
+            insert(batch);
+        } catch (DataAccessException e) {
+            log.warn("Falha ao gravar lote de {} comentários, gravando individualmente: {}", batch.size(), e.getMessage());
+            for (PendingComment comment : batch) {
+                try {
+                    insert(List.of(comment));
+                } catch (DataAccessException ex) {
+                    log.error("Comentário {} do post {} descartado: {}", comment.ingestionId(), comment.postId(), ex.getMessage());
+                }
+            }
+        } finally {
+            batch.forEach(comment -> pending.remove(comment.ingestionId()));
+        }
+    }
+
+    private void insert(List<PendingComment> batch) {
+        Object[] args = new Object[batch.size() * COLUMNS_PER_ROW];
+        int i = 0;
+        for (PendingComment comment : batch) {
+            args[i++] = comment.content();
+            args[i++] = comment.authorId();
+            args[i++] = comment.postId();
+            args[i++] = comment.ingestionId();
+            args[i++] = comment.createdAt();
+            args[i++] = comment.createdAt();
+        }
+        jdbcTemplate.update(INSERT_PREFIX + String.join(", ", Collections.nCopies(batch.size(), INSERT_ROW)), args);
+    }
+}
@@ -0,0 +1,266 @@
+package com.ufc.blog.service;
+
+import com.ufc.blog.entity.Comment;
+import com.ufc.blog.entity.Post;
+import com.ufc.blog.entity.PostStatus;
+import com.ufc.blog.entity.User;
+import com.ufc.blog.exception.BadRequestException;
+import com.ufc.blog.exception.ResourceNotFoundException;
+import com.ufc.blog.exception.ServiceUnavailableException;
+import com.ufc.blog.fields.FieldSelection;
+import com.ufc.blog.fields.SparseResources;
+import com.ufc.blog.repository.CommentRepository;
+import com.ufc.blog.repository.PostAccess;
+import com.ufc.blog.repository.PostRepository;
+import com.ufc.blog.repository.SparseFieldRepository;
+import com.ufc.blog.repository.UserRepository;
+import com.ufc.blog.security.UserPrincipal;
+import com.ufc.blog.util.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Leitura e escrita de comentários. Como no {@link PostService}, cada método público é uma transação
+ * e os comentários devolvidos já trazem autor, post e autor do post carregados.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentService {
+
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final SecurityUtils securityUtils;
+    private final CommentIngestionService commentIngestionService;
+    private final SparseFieldRepository sparseFieldRepository;
+    private final SparseResources sparseResources;
+
+    // ===== Escrita =====
+
+    /**
+     * Grava um comentário do usuário autenticado em um post publicado.
+     *
+     * @throws ResourceNotFoundException se o post não for encontrado
+     * @throws BadRequestException       se o post não estiver publicado
+     */
+    @Transactional
+    public Comment createComment(Long postId, String content, Authentication authentication) {
+        User author = securityUtils.getAuthenticatedUser(authentication);
+        Post post = postRepository.findWithAuthorById(postId).orElseThrow(() -> new ResourceNotFoundException("Post", "id", postId));
+
+        if (post.getStatus() != PostStatus.PUBLISHED) {
+            throw new BadRequestException("Não é possível comentar em posts não publicados");
+        }
+
+        log.info("Usuário {} criando comentário no post {}", author.getUsername(), postId);
+
+        Comment comment = new Comment();
+        comment.setContent(content);
+        comment.setAuthor(author);
+        comment.setPost(post);
+        return commentRepository.save(comment);
+    }
+
+    /**
+     * Enfileira o comentário na ingestão write-behind e o devolve na forma pendente, sem ID.
+     * Não abre transação: a única leitura é a do status do post, feita pela ingestão.
+     *
+     * @throws ResourceNotFoundException    se o post não for encontrado
+     * @throws BadRequestException          se o post não estiver publicado
+     * @throws ServiceUnavailableException se a fila de ingestão estiver cheia
+     */
+    public Comment enqueueComment(Long postId, String content, Authentication authentication) {
+        UserPrincipal principal = securityUtils.getAuthenticatedPrincipal(authentication);
+        PendingComment pending = commentIngestionService.enqueue(postId, principal.getId(), content);
+        log.debug("Usuário {} enfileirou comentário {} no post {}", principal.getUsername(), pending.ingestionId(), postId);
+        return commentIngestionService.toComment(pending, principal.getUser());
+    }
+
+    /**
+     * Apaga um comentário; apenas o autor do comentário ou administradores podem apagar.
+     *
+     * @return ID do post do comentário apagado
+     * @throws ResourceNotFoundException    se o comentário não for encontrado
+     * @throws AuthorizationDeniedException se o usuário não tiver permissão para apagar o comentário
+     */
+    @Transactional
+    public Long deleteComment(Long id, Authentication authentication) {
+        User user = securityUtils.getAuthenticatedUser(authentication);
+        Comment comment = commentRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Comentário", "id", id));
+        securityUtils.checkOwnershipOrAdmin(authentication, comment.getAuthor());
+
+        log.info("Usuário {} deletando comentário ID {}", user.getUsername(), id);
+
+        Long postId = comment.getPost().getId();
+        commentRepository.delete(comment);
+        return postId;
+    }
+
+    // ===== Leitura =====
+
+    /**
+     * Comentários de posts publicados são acessíveis a todos; os demais, a administradores e ao autor do comentário.
+     *
+     * @throws ResourceNotFoundException    se o comentário não for encontrado
+     * @throws AuthorizationDeniedException se o usuário não tiver permissão para acessar o comentário
+     */
+    @Transactional(readOnly = true)
+    public Comment getComment(Long id, Authentication authentication) {
+        Comment comment = commentRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Comentário", "id", id));
+        if (comment.getPost().getStatus() == PostStatus.PUBLISHED || securityUtils.isAdmin(authentication)
+                || securityUtils.isSelf(authentication, comment.getAuthor().getId())) {
+            return comment;
+        }
+        throw new AuthorizationDeniedException("Acesso negado");
+    }
+
+    /**
+     * Versão esparsa de {@link #getComment}, com as regras de acesso verificadas sem carregar a entidade.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getSparseComment(Long id, FieldSelection selection, Authentication authentication) {
+        PostStatus status = commentRepository.findPostStatusById(id).orElseThrow(() -> new ResourceNotFoundException("Comentário", "id", id));
+        if (status != PostStatus.PUBLISHED && !securityUtils.isAdmin(authentication)
+                && !securityUtils.isSelf(authentication, commentRepository.findAuthorIdById(id).orElse(null))) {
+            throw new AuthorizationDeniedException("Acesso negado");
+        }
+        return sparseFieldRepository.findOne(sparseResources.comments(), selection, "r.id = :id", Map.of("id", id))
+                .orElseThrow(() -> new ResourceNotFoundException("Comentário", "id", id));
+    }
+
+    /**
+     * Busca pelo identificador de ingestão: o comentário pendente (sem ID) enquanto estiver na fila,
+     * ou o persistido depois de gravado. Apenas o autor do comentário ou administradores podem consultar.
+     *
+     * @throws ResourceNotFoundException    se nenhum comentário tiver esse identificador
+     * @throws AuthorizationDeniedException se o usuário não for o autor nem administrador
+     */
+    @Transactional(readOnly = true)
+    public Comment getCommentByIngestionId(String ingestionId, Authentication authentication) {
+        UserPrincipal principal = securityUtils.getAuthenticatedPrincipal(authentication);
+
+        PendingComment pending = commentIngestionService.findPending(ingestionId).orElse(null);
+        if (pending != null) {
+            if (pending.authorId().equals(principal.getId())) {
+                return commentIngestionService.toComment(pending, principal.getUser());
+            }
+            if (!securityUtils.isAdmin(authentication)) {
+                throw new AuthorizationDeniedException("Acesso negado");
+            }
+            User author = userRepository.findById(pending.authorId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", pending.authorId()));
+            return commentIngestionService.toComment(pending, author);
+        }
+
+        Comment comment = commentRepository.findByIngestionId(ingestionId).orElseThrow(() -> new ResourceNotFoundException("Comentário", "ingestion_id", ingestionId));
+        securityUtils.checkOwnershipOrAdmin(authentication, comment.getAuthor());
+        return comment;
+    }
+
+    /**
+     * Comentários de um post. Posts publicados são acessíveis a todos; os demais, ao autor do post e a administradores.
+     * Sem seleção esparsa, a última página inclui os comentários do próprio usuário ainda pendentes de gravação.
+     * Só posts arquivados podem ter comentários na camada fria; os demais são lidos apenas da quente.
+     *
+     * @throws ResourceNotFoundException    se o post não for encontrado
+     * @throws AuthorizationDeniedException se o usuário não tiver permissão para acessar os comentários
+     */
+    @Transactional(readOnly = true)
+    public Page<?> getCommentsByPost(Long postId, FieldSelection selection, Authentication authentication, Pageable pageable) {
+        PostAccess post = checkPostAccess(postId, authentication);
+        boolean hot = post.status() != PostStatus.ARCHIVED;
+        if (selection != null) {
+            String where = hot ? "r.post.id = :postId AND r.archived = false AND r.createdAt >= :since"
+                    : "r.post.id = :postId AND r.createdAt >= :since";
+            return sparseFieldRepository.findPage(sparseResources.comments(), selection, where,
+                    Map.of("postId", postId, "since", post.createdAt()), pageable);
+        }
+        Page<Comment> comments = hot ? commentRepository.findHotByPostId(postId, post.createdAt(), pageable)
+                : commentRepository.findByPostIdSince(postId, post.createdAt(), pageable);
+        return withPendingComments(comments, postId, authentication);
+    }
+
+    /**
+     * Verifica o acesso aos comentários de um post: publicados para todos, os demais apenas para o autor
+     * do post e administradores.
+     *
+     * @return status, autor e criação do post
+     * @throws ResourceNotFoundException    se o post não for encontrado
+     * @throws AuthorizationDeniedException se o usuário não tiver permissão
+     */
+    @Transactional(readOnly = true)
+    public PostAccess checkPostAccess(Long postId, Authentication authentication) {
+        PostAccess post = postRepository.findAccessById(postId).orElseThrow(() -> new ResourceNotFoundException("Post", "id", postId));
+        if (post.status() != PostStatus.PUBLISHED && !securityUtils.isAdmin(authentication)
+                && !securityUtils.isSelf(authentication, post.authorId())) {
+            throw new AuthorizationDeniedException("Acesso negado");
+        }
+        return post;
+    }
+
+    /**
+     * Comentários de um autor: todos para administradores e o próprio autor, apenas os de posts publicados
+     * para os demais.
+     */
+    @Transactional(readOnly = true)
+    public Page<?> getCommentsByAuthor(Long authorId, FieldSelection selection, Authentication authentication, Pageable pageable) {
+        boolean all = securityUtils.isAdmin(authentication) || securityUtils.isSelf(authentication, authorId);
+
+        if (selection != null) {
+            String where = all ? "r.author.id = :authorId" : "r.author.id = :authorId AND r.post.status = :status";
+            Map<String, Object> params = all ? Map.of("authorId", authorId) : Map.of("authorId", authorId, "status", PostStatus.PUBLISHED);
+            return sparseFieldRepository.findPage(sparseResources.comments(), selection, where, params, pageable);
+        }
+        return all ? commentRepository.findByAuthorId(authorId, pageable)
+                : commentRepository.findPublishedCommentsByAuthorId(authorId, pageable);
+    }
+
+    // ===== Utilitários =====
+
+    /**
+     * Acrescenta à última página os comentários do próprio usuário que ainda estão na fila de ingestão,
+     * garantindo que o autor leia o que acabou de escrever.
+     *
+     * @param comments       página lida do banco
+     * @param postId         ID do post
+     * @param authentication Informações de autenticação do usuário requisitante (pode ser null)
+     * @return a página original ou uma nova página com os comentários pendentes ao final
+     */
+    private Page<Comment> withPendingComments(Page<Comment> comments, Long postId, Authentication authentication) {
+        if (!commentIngestionService.isEnabled() || comments.hasNext()
+                || authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            return comments;
+        }
+
+        Set<String> persisted = comments.stream()
+                .map(Comment::getIngestionId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        List<Comment> pending = commentIngestionService.findPending(postId, principal.getId()).stream()
+                .filter(c -> !persisted.contains(c.ingestionId()))
+                .map(c -> commentIngestionService.toComment(c, principal.getUser()))
+                .toList();
+        if (pending.isEmpty()) {
+            return comments;
+        }
+
+        List<Comment> content = new ArrayList<>(comments.getContent());
+        content.addAll(pending);
+        return new PageImpl<>(content, comments.getPageable(), comments.getTotalElements() + pending.size());
+    }
+}
@@ -0,0 +1,292 @@
+package com.ufc.blog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ufc.blog.event.CommentCreatedEvent;
+import com.ufc.blog.event.CommentDeletedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Difusão de comentários novos e removidos por Server-Sent Events, um tópico por post.
+ *
+ * <p>Cada assinante é um {@link SseEmitter} em modo assíncrono do servlet: nenhuma thread fica presa
+ * a uma conexão ociosa. O evento é serializado uma única vez, na thread que o publicou, e colocado na fila
+ * limitada de cada assinante ({@code app.comments.stream.queue-size}); uma virtual thread por assinante com
+ * fila pendente faz a escrita no socket. A requisição que criou o comentário não espera pelos sockets, e um
+ * cliente lento só atrasa a si mesmo: se a fila dele encher, ele é desconectado e, ao reconectar com
+ * {@code Last-Event-ID}, recebe o que perdeu pelo buffer de reenvio (ou um {@code reset}).
+ *
+ * <p>Os IDs de evento têm a forma {@code <boot>-<seq>}, com sequência crescente por post. Os últimos
+ * {@code app.comments.stream.replay-size} eventos de cada post ficam num buffer para que clientes que
+ * reconectam com {@code Last-Event-ID} recebam o que perderam. Se o ID for de outra execução do servidor
+ * ou mais antigo que o buffer, o cliente recebe um evento {@code reset} e deve recarregar a lista.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentStreamService {
+
+    public static final String EVENT_CREATED = "comment-created";
+    public static final String EVENT_DELETED = "comment-deleted";
+    public static final String EVENT_RESET = "reset";
+
+    private final ObjectMapper objectMapper;
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Long, Topic> topics = new ConcurrentHashMap<>();
+    private final ExecutorService fanOut = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("comment-stream-", 0).factory());
+
+    @Value("${app.comments.stream.replay-size:100}")
+    private int replaySize;
+    @Value("${app.comments.stream.replay-ttl-ms:300000}")
+    private long replayTtlMs;
+    @Value("${app.comments.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+    @Value("${app.comments.stream.queue-size:256}")
+    private int queueSize;
+
+    /**
+     * Registra um assinante dos comentários do post, reenviando antes os eventos perdidos.
+     *
+     * @param postId      ID do post
+     * @param lastEventId valor do cabeçalho {@code Last-Event-ID} (pode ser null)
+     * @return emitter a devolver pelo controller
+     */
+    public SseEmitter subscribe(Long postId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        // A fila comporta o buffer de reenvio inteiro mais o reset.
+        Subscriber subscriber = new Subscriber(emitter, Math.max(queueSize, replaySize + 1));
+
+        Runnable unsubscribe = () -> unsubscribe(postId, subscriber);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+
+        // Dentro do compute: a limpeza do heartbeat não descarta o tópico entre a obtenção e a inscrição.
+        topics.compute(postId, (id, existing) -> {
+            Topic topic = existing != null ? existing : new Topic();
+            synchronized (topic) {
+                topic.lastEventAt = System.currentTimeMillis();
+                topic.missedSince(lastEventId).forEach(event -> subscriber.enqueue(event.payload()));
+                topic.subscribers.add(subscriber);
+            }
+            return topic;
+        });
+        return emitter;
+    }
+
+    @EventListener
+    public void onCommentCreated(CommentCreatedEvent event) {
+        publish(event.postId(), EVENT_CREATED, event.comment());
+    }
+
+    @EventListener
+    public void onCommentDeleted(CommentDeletedEvent event) {
+        publish(event.postId(), EVENT_DELETED, Map.of("id", event.commentId()));
+    }
+
+    /**
+     * Envia um comentário de heartbeat a todos os assinantes, mantendo as conexões vivas através de proxies
+     * e detectando clientes desconectados. Também descarta tópicos sem assinantes cujo buffer expirou.
+     */
+    @Scheduled(fixedRateString = "${app.comments.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        topics.keySet().forEach(postId -> topics.computeIfPresent(postId, (id, topic) -> topic.isIdle(now, replayTtlMs) ? null : topic));
+
+        Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        topics.forEach((postId, topic) -> topic.subscribers.forEach(subscriber -> offer(postId, subscriber, heartbeat)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fanOut.shutdownNow();
+        topics.values().forEach(topic -> topic.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private void publish(Long postId, String name, Object data) {
+        String json;
+        try {
+            json = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT).writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            log.error("Não foi possível serializar o evento {} do post {}", name, postId, e);
+            return;
+        }
+
+        // O evento entra no buffer e nas filas sob o monitor do tópico, na mesma ordem para todos os assinantes.
+        topics.compute(postId, (id, existing) -> {
+            Topic topic = existing != null ? existing : new Topic();
+            synchronized (topic) {
+                StreamEvent event = topic.append(name, json);
+                topic.subscribers.forEach(subscriber -> offer(postId, subscriber, event.payload()));
+            }
+            return topic;
+        });
+    }
+
+    /**
+     * Enfileira o payload para o assinante; se a fila estiver cheia, o assinante ficou para trás e é desconectado.
+     */
+    private void offer(Long postId, Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> payload) {
+        if (!subscriber.enqueue(payload)) {
+            log.debug("Assinante do post {} desconectado: fila de {} eventos cheia", postId, subscriber.queue.size());
+            unsubscribe(postId, subscriber);
+        }
+    }
+
+    private void unsubscribe(Long postId, Subscriber subscriber) {
+        Topic topic = topics.get(postId);
+        if (topic != null) {
+            topic.subscribers.remove(subscriber);
+        }
+    }
+
+    private record StreamEvent(long seq, Set<ResponseBodyEmitter.DataWithMediaType> payload) {
+    }
+
+    /**
+     * Conexão de um cliente com sua fila de envio. No máximo uma tarefa de escrita por assinante está ativa
+     * ({@code draining}), o que mantém a ordem dos eventos; uma escrita bloqueada prende só essa tarefa.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean dropped;
+
+        private Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        /**
+         * @return {@code false} se a fila estava cheia; o assinante passa a ser descartado pela tarefa de escrita
+         */
+        private boolean enqueue(Set<ResponseBodyEmitter.DataWithMediaType> payload) {
+            if (dropped) {
+                return false;
+            }
+            if (!queue.offer(payload)) {
+                // Fila cheia implica tarefa de escrita ativa, que encerra a conexão fora desta thread:
+                // complete() esperaria pela escrita bloqueada.
+                dropped = true;
+                return false;
+            }
+            schedule();
+            return true;
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    fanOut.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> payload;
+                while (!dropped && (payload = queue.poll()) != null) {
+                    emitter.send(payload);
+                }
+            } catch (IOException | IllegalStateException e) {
+                dropped = true;
+                queue.clear();
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (dropped) {
+                queue.clear();
+                emitter.complete();
+            } else if (!queue.isEmpty()) {
+                // Um evento pode ter entrado depois do último poll e antes de liberar draining.
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * Assinantes e buffer de reenvio de um post. Mutações do buffer e inscrições são feitas sob o monitor do tópico.
+     */
+    private final class Topic {
+
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final Deque<StreamEvent> replay = new ArrayDeque<>();
+        private long seq;
+        private volatile long lastEventAt = System.currentTimeMillis();
+
+        private StreamEvent append(String name, String json) {
+            long next = ++seq;
+            StreamEvent event = new StreamEvent(next, SseEmitter.event()
+                    .id(bootId + "-" + next)
+                    .name(name)
+                    .data(json, MediaType.APPLICATION_JSON)
+                    .build());
+            replay.addLast(event);
+            if (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+            lastEventAt = System.currentTimeMillis();
+            return event;
+        }
+
+        private List<StreamEvent> missedSince(String lastEventId) {
+            if (lastEventId == null || lastEventId.isBlank()) {
+                return List.of();
+            }
+            long lastSeq = parseSeq(lastEventId);
+            long oldestBuffered = replay.isEmpty() ? seq + 1 : replay.peekFirst().seq();
+            if (lastSeq < 0 || lastSeq > seq || lastSeq + 1 < oldestBuffered) {
+                return List.of(new StreamEvent(seq, SseEmitter.event()
+                        .id(bootId + "-" + seq)
+                        .name(EVENT_RESET)
+                        .data("{}", MediaType.APPLICATION_JSON)
+                        .build()));
+            }
+            return replay.stream().filter(event -> event.seq() > lastSeq).toList();
+        }
+
+        private long parseSeq(String lastEventId) {
+            int separator = lastEventId.lastIndexOf('-');
+            if (separator < 0 || !lastEventId.substring(0, separator).equals(bootId)) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(lastEventId.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        private boolean isIdle(long now, long ttlMs) {
+            return subscribers.isEmpty() && now - lastEventAt > ttlMs;
+        }
+    }
+}
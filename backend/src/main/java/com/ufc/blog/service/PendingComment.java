@@ -0,0 +1,15 @@
+package com.ufc.blog.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Comentário aceito pela ingestão write-behind e ainda não gravado no banco.
+ *
+ * @param ingestionId identificador devolvido ao cliente no aceite
+ * @param postId      ID do post comentado
+ * @param authorId    ID do autor do comentário
+ * @param content     conteúdo já validado
+ * @param createdAt   instante do aceite, usado como {@code created_at} na gravação
+ */
+public record PendingComment(String ingestionId, Long postId, Long authorId, String content, LocalDateTime createdAt) {
+}
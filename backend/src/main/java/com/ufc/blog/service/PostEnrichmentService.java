@@ -0,0 +1,127 @@
+package com.ufc.blog.service;
+
+import com.ufc.blog.entity.Post;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Campos derivados do conteúdo de um post, calculados uma vez por escrita do conteúdo:
+ * resumo, número de palavras e tempo estimado de leitura. Assim as listagens exibem dados
+ * compactos sem precisar ler o corpo.
+ *
+ * <p>O conteúdo pode ter Markdown ou HTML; a marcação é removida antes da contagem e do resumo.
+ */
+@Service
+public class PostEnrichmentService {
+
+    /**
+     * Limite da coluna {@code posts.summary}.
+     */
+    private static final int SUMMARY_COLUMN_LENGTH = 500;
+
+    private static final Pattern CODE_FENCE = Pattern.compile("(?m)^\\s*(```|~~~).*$");
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern HTML_ENTITY = Pattern.compile("&(nbsp|amp|lt|gt|quot|#39);");
+    private static final Pattern IMAGE_OR_LINK = Pattern.compile("!?\\[([^]]*)]\\([^)]*\\)");
+    private static final Pattern BLOCK_MARKER = Pattern.compile("(?m)^\\s{0,3}(#{1,6}|>|[-*+]|\\d+[.)])\\s+");
+    private static final Pattern INLINE_MARKER = Pattern.compile("[*_~`]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+(?:['’-][\\p{L}\\p{N}]+)*");
+
+    @Value("${app.posts.summary-length:200}")
+    private int summaryLength;
+    @Value("${app.posts.words-per-minute:200}")
+    private int wordsPerMinute;
+
+    /**
+     * Preenche resumo, número de palavras e tempo de leitura do post a partir do seu conteúdo.
+     *
+     * @param post    post com o conteúdo já definido
+     * @param summary resumo informado pelo autor; se vazio, o resumo é gerado do conteúdo
+     */
+    public void enrich(Post post, String summary) {
+        DerivedFields fields = derive(post.getContent(), summary);
+        post.setSummary(fields.summary());
+        post.setSummaryGenerated(summary == null || summary.isBlank());
+        post.setWordCount(fields.wordCount());
+        post.setReadingTimeMinutes(fields.readingTimeMinutes());
+    }
+
+    /**
+     * Indica se o resumo atual do post foi gerado do seu conteúdo atual. Para posts sem a marcação, compara o
+     * resumo com o que seria gerado; deve ser chamado antes de trocar o conteúdo.
+     */
+    public boolean hasGeneratedSummary(Post post) {
+        if (post.getSummaryGenerated() != null) {
+            return post.getSummaryGenerated();
+        }
+        return Objects.equals(post.getSummary(), derive(post.getContent(), null).summary());
+    }
+
+    public DerivedFields derive(String content, String summary) {
+        String text = plainText(content);
+        int words = countWords(text);
+        int minutes = words == 0 ? 0 : Math.max(1, (words + wordsPerMinute - 1) / wordsPerMinute);
+        String resolvedSummary = summary != null && !summary.isBlank()
+                ? truncate(summary.strip(), SUMMARY_COLUMN_LENGTH)
+                : truncate(text, Math.min(summaryLength, SUMMARY_COLUMN_LENGTH));
+        return new DerivedFields(resolvedSummary.isEmpty() ? null : resolvedSummary, words, minutes);
+    }
+
+    static String plainText(String content) {
+        if (content == null) {
+            return "";
+        }
+        String text = CODE_FENCE.matcher(content).replaceAll("");
+        text = HTML_TAG.matcher(text).replaceAll(" ");
+        text = HTML_ENTITY.matcher(text).replaceAll(match -> switch (match.group(1)) {
+            case "amp" -> "&";
+            case "lt" -> "<";
+            case "gt" -> ">";
+            case "quot" -> "\"";
+            case "#39" -> "'";
+            default -> " ";
+        });
+        text = IMAGE_OR_LINK.matcher(text).replaceAll(match -> Matcher.quoteReplacement(match.group(1)));
+        text = BLOCK_MARKER.matcher(text).replaceAll("");
+        text = INLINE_MARKER.matcher(text).replaceAll("");
+        return WHITESPACE.matcher(text).replaceAll(" ").strip();
+    }
+
+    static int countWords(String text) {
+        Matcher matcher = WORD.matcher(text);
+        int words = 0;
+        while (matcher.find()) {
+            words++;
+        }
+        return words;
+    }
+
+    /**
+     * Corta o texto no último espaço antes do limite, acrescentando reticências.
+     */
+    static String truncate(String text, int maxLength) {
+        if (text.length() <= maxLength) {
+            return text;
+        }
+        int cut = text.lastIndexOf(' ', maxLength - 1);
+        if (cut <= 0) {
+            cut = maxLength - 1;
+        }
+        return text.substring(0, cut).stripTrailing() + "…";
+    }
+
+    /**
+     * Campos derivados de um conteúdo.
+     *
+     * @param summary            resumo (informado ou gerado); null se o conteúdo não tem texto
+     * @param wordCount          número de palavras do texto sem marcação
+     * @param readingTimeMinutes minutos estimados de leitura, arredondados para cima
+     */
+    public record DerivedFields(String summary, int wordCount, int readingTimeMinutes) {
+    }
+}
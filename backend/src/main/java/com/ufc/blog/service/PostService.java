@@ -0,0 +1,280 @@
+package com.ufc.blog.service;
+
+import com.ufc.blog.archive.CommentArchiver;
+import com.ufc.blog.entity.Post;
+import com.ufc.blog.entity.PostStatus;
+import com.ufc.blog.entity.User;
+import com.ufc.blog.exception.ConflictException;
+import com.ufc.blog.exception.ResourceNotFoundException;
+import com.ufc.blog.fields.FieldSelection;
+import com.ufc.blog.fields.SparseResources;
+import com.ufc.blog.repository.CommentRepository;
+import com.ufc.blog.repository.IdCount;
+import com.ufc.blog.repository.PostAccess;
+import com.ufc.blog.repository.PostRepository;
+import com.ufc.blog.repository.SparseFieldRepository;
+import com.ufc.blog.security.UserPrincipal;
+import com.ufc.blog.util.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Leitura e escrita de posts. Cada método público, exceto a remoção, é uma transação: as leituras rodam em transações
+ * somente leitura e devolvem posts já materializados (autor carregado, contagens preenchidas),
+ * de modo que a conexão é devolvida ao pool antes da serialização da resposta.
+ *
+ * <p>Os eventos de alteração são publicados pelo controller, depois do commit.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostService {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final SecurityUtils securityUtils;
+    private final PurgeService purgeService;
+    private final PostViewService postViewService;
+    private final CommentArchiver commentArchiver;
+    private final PostEnrichmentService postEnrichmentService;
+    private final SparseFieldRepository sparseFieldRepository;
+    private final SparseResources sparseResources;
+
+    // ===== Escrita =====
+
+    /**
+     * Cria um post como rascunho do usuário autenticado, com os campos derivados do conteúdo.
+     */
+    @Transactional
+    public Post createPost(Post request, Authentication authentication) {
+        User author = securityUtils.getAuthenticatedUser(authentication);
+        log.info("Criando novo post pelo usuário {}", author.getUsername());
+
+        Post post = new Post();
+        post.setTitle(request.getTitle());
+        post.setContent(request.getContent());
+        postEnrichmentService.enrich(post, request.getSummary());
+        post.setAuthor(author);
+        post.setStatus(PostStatus.DRAFT);
+        return postRepository.save(post);
+    }
+
+    /**
+     * Atualiza título e conteúdo; os campos derivados são recalculados apenas quando o conteúdo ou o resumo mudam.
+     * Sem resumo na requisição, o resumo escrito pelo autor é mantido e só o gerado acompanha o novo conteúdo.
+     *
+     * @throws ResourceNotFoundException    se o post não for encontrado
+     * @throws AuthorizationDeniedException se o usuário não for o autor ou administrador
+     */
+    @Transactional
+    public Post updatePost(Long id, Post request, Authentication authentication) {
+        User user = securityUtils.getAuthenticatedUser(authentication);
+        log.info("Atualizando post ID {} pelo usuário {}", id, user.getUsername());
+
+        Post post = postRepository.findWithBodyById(id).orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
+        securityUtils.checkOwnershipOrAdmin(authentication, post.getAuthor());
+
+        boolean contentChanged = !Objects.equals(post.getContent(), request.getContent());
+        String summary = request.getSummary();
+        if (summary == null && contentChanged && !postEnrichmentService.hasGeneratedSummary(post)) {
+            // Resumo escrito pelo autor e omitido na requisição: é mantido. Um resumo vazio volta a ser gerado.
+            summary = post.getSummary();
+        }
+        post.setTitle(request.getTitle());
+        post.setContent(request.getContent());
+        if (contentChanged || request.getSummary() != null) {
+            postEnrichmentService.enrich(post, summary);
+        }
+        return postRepository.save(post);
+    }
+
+    /**
+     * Apaga o post com seus comentários em {@code DELETE}s em conjunto (ver {@link PurgeService}).
+     * Sem transação própria: a remoção abre uma por lote de comentários.
+     *
+     * @throws ResourceNotFoundException    se o post não for encontrado
+     * @throws AuthorizationDeniedException se o usuário não for o autor ou administrador
+     */
+    public void deletePost(Long id, Authentication authentication) {
+        User user = securityUtils.getAuthenticatedUser(authentication);
+        log.info("Deletando post ID {} pelo usuário {}", id, user.getUsername());
+
+        Post post = postRepository.findWithAuthorById(id).orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
+        securityUtils.checkOwnershipOrAdmin(authentication, post.getAuthor());
+        purgeService.deletePost(id);
+    }
+
+    /**
+     * Muda o status num único {@code UPDATE} condicional (ver {@link PostRepository#transitionStatus}), sem carregar
+     * o post: a verificação de autoria e a máquina de estados de {@link PostStatus} ficam na cláusula {@code WHERE},
+     * de modo que transições concorrentes não se sobrescrevem. Só quando nada muda o post é lido, para explicar o motivo.
+     *
+     * <p>Ao voltar a rascunho (a única saída de {@code ARCHIVED}), traz os comentários de volta da camada fria na
+     * mesma transação (ver {@link CommentArchiver}); o {@code UPDATE} já travou o post, então o arquivador não
+     * move comentários depois da restauração.
+     *
+     * @return o novo estado
+     * @throws ResourceNotFoundException se o post não for encontrado
+     * @throws ResponseStatusException   se o usuário não for o autor ou administrador (403)
+     * @throws ConflictException         se o status atual não permitir a transição
+     */
+    @Transactional
+    public PostStatusChange changeStatus(Long id, PostStatus status, Authentication authentication) {
+        UserPrincipal user = securityUtils.getAuthenticatedPrincipal(authentication);
+        log.info("Alterando status do post ID {} para {} pelo usuário {}", id, status, user.getUsername());
+
+        boolean admin = securityUtils.isAdmin(authentication);
+        LocalDateTime now = LocalDateTime.now();
+        if (postRepository.transitionStatus(id, status, status.sources(), admin, user.getId(), now) == 0) {
+            PostAccess post = postRepository.findAccessById(id).orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
+            if (!admin && !post.authorId().equals(user.getId())) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Acesso negado.");
+            }
+            throw new ConflictException("Transição de status não permitida: " + post.status().name() + " -> " + status.name());
+        }
+        if (status == PostStatus.DRAFT) {
+            commentArchiver.restore(id);
+        }
+        return new PostStatusChange(id, status, status == PostStatus.PUBLISHED ? now : null, now);
+    }
+
+    // ===== Leitura =====
+
+    /**
+     * Busca um post com corpo e autor. Posts publicados são acessíveis a todos e contam uma visualização;
+     * os demais, apenas ao autor e a administradores.
+     *
+     * @param viewerKey visitante para a deduplicação de visualizações, ou null para não contar a leitura
+     * @throws ResourceNotFoundException    se o post não for encontrado
+     * @throws AuthorizationDeniedException se o usuário não tiver permissão para ver o post
+     */
+    @Transactional(readOnly = true)
+    public Post getPost(Long id, Authentication authentication, String viewerKey) {
+        Post post = postRepository.findWithBodyById(id).orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
+
+        if (post.getStatus() == PostStatus.PUBLISHED) {
+            recordView(id, viewerKey);
+        } else if (authentication != null) {
+            securityUtils.checkOwnershipOrAdmin(authentication, post.getAuthor());
+        } else {
+            throw new AuthorizationDeniedException("Acesso negado");
+        }
+        fillCounts(List.of(post));
+        return post;
+    }
+
+    /**
+     * Versão esparsa de {@link #getPost}: as mesmas regras de acesso, verificadas com consultas
+     * de status e autor, sem carregar a entidade.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getSparsePost(Long id, FieldSelection selection, Authentication authentication, String viewerKey) {
+        PostStatus status = postRepository.findStatusById(id).orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
+        if (status == PostStatus.PUBLISHED) {
+            recordView(id, viewerKey);
+        } else if (authentication == null || !(securityUtils.isAdmin(authentication)
+                || securityUtils.isSelf(authentication, postRepository.findAuthorIdById(id).orElse(null)))) {
+            throw new AuthorizationDeniedException("Acesso negado");
+        }
+        return sparseFieldRepository.findOne(sparseResources.posts(), selection, "r.id = :id", Map.of("id", id))
+                .orElseThrow(() -> new ResourceNotFoundException("Post", "id", id));
+    }
+
+    /**
+     * Administradores veem todos os posts, usuários autenticados apenas os seus e anônimos apenas os publicados.
+     */
+    @Transactional(readOnly = true)
+    public Page<?> getPosts(FieldSelection selection, Authentication authentication, Pageable pageable) {
+        if (securityUtils.isAdmin(authentication)) {
+            return findPosts(selection, null, Map.of(), pageable, () -> postRepository.findAll(pageable));
+        } else if (authentication != null && authentication.isAuthenticated()) {
+            User user = securityUtils.getAuthenticatedUser(authentication);
+            return findPosts(selection, "r.author.id = :authorId", Map.of("authorId", user.getId()), pageable,
+                    () -> postRepository.findByAuthorId(user.getId(), pageable));
+        }
+        return getPostsByStatus(PostStatus.PUBLISHED, selection, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<?> getPostsByStatus(PostStatus status, FieldSelection selection, Pageable pageable) {
+        return findPosts(selection, "r.status = :status", Map.of("status", status), pageable,
+                () -> postRepository.findByStatus(status, pageable));
+    }
+
+    /**
+     * Administradores e o próprio autor veem todos os posts do autor; os demais, apenas os publicados.
+     */
+    @Transactional(readOnly = true)
+    public Page<?> getPostsByAuthor(Long authorId, FieldSelection selection, Authentication authentication, Pageable pageable) {
+        if (securityUtils.isAdmin(authentication) || securityUtils.isSelf(authentication, authorId)) {
+            return findPosts(selection, "r.author.id = :authorId", Map.of("authorId", authorId), pageable,
+                    () -> postRepository.findByAuthorId(authorId, pageable));
+        }
+        return getPostsByAuthorAndStatus(authorId, PostStatus.PUBLISHED, selection, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<?> getPostsByAuthorAndStatus(Long authorId, PostStatus status, FieldSelection selection, Pageable pageable) {
+        return findPosts(selection, "r.author.id = :authorId AND r.status = :status",
+                Map.of("authorId", authorId, "status", status), pageable,
+                () -> postRepository.findByAuthorIdAndStatus(authorId, status, pageable));
+    }
+
+    // ===== Utilitários =====
+
+    /**
+     * Preenche visualizações e comentários ativos dos posts com uma consulta agrupada para cada contagem.
+     */
+    private void fillCounts(Collection<Post> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+        postViewService.fillViewCounts(posts);
+        Map<Long, Long> comments = commentRepository.countActiveByPostIds(
+                        posts.stream().map(Post::getId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(IdCount::id, IdCount::count));
+        posts.forEach(post -> post.setCommentsCount(comments.getOrDefault(post.getId(), 0L)));
+    }
+
+    /**
+     * Lista posts com seleção esparsa quando o cliente pediu {@code fields}; caso contrário, carrega as entidades.
+     *
+     * @param selection campos pedidos (pode ser null)
+     * @param where     filtro JPQL sobre o alias {@code r}, equivalente à consulta de entidades (pode ser null)
+     * @param params    parâmetros do filtro
+     * @param pageable  paginação
+     * @param entities  consulta de entidades usada sem seleção
+     * @return página de mapas com os campos pedidos ou de posts completos
+     */
+    private Page<?> findPosts(FieldSelection selection, String where, Map<String, Object> params, Pageable pageable,
+                              Supplier<Page<Post>> entities) {
+        if (selection != null) {
+            return sparseFieldRepository.findPage(sparseResources.posts(), selection, where, params, pageable);
+        }
+        Page<Post> posts = entities.get();
+        fillCounts(posts.getContent());
+        return posts;
+    }
+
+    private void recordView(Long id, String viewerKey) {
+        if (viewerKey != null) {
+            postViewService.recordView(id, viewerKey);
+        }
+    }
+}
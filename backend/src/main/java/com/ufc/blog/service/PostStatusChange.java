@@ -0,0 +1,16 @@
+package com.ufc.blog.service;
+
+import com.ufc.blog.entity.PostStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado de um post depois de uma transição de status, montado sem reler o post.
+ *
+ * @param id          ID do post
+ * @param status      novo status
+ * @param publishedAt data da publicação, apenas quando a transição publica o post
+ * @param updatedAt   momento da transição
+ */
+public record PostStatusChange(Long id, PostStatus status, LocalDateTime publishedAt, LocalDateTime updatedAt) {
+}
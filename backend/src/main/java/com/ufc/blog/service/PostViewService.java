@@ -0,0 +1,206 @@
+package com.ufc.blog.service;
+
+import com.ufc.blog.entity.Post;
+import com.ufc.blog.entity.PostViewCount;
+import com.ufc.blog.event.PostDeletedEvent;
+import com.ufc.blog.event.PostViewedEvent;
+import com.ufc.blog.repository.PostViewCountRepository;
+import com.ufc.blog.util.RotatingBloomFilter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Contagem de visualizações de posts sem escrita no caminho da requisição.
+ *
+ * <p>Cada visualização incrementa um {@link LongAdder} (contador particionado entre threads) em memória.
+ * Visualizações repetidas do mesmo visitante no mesmo post dentro de {@code app.views.dedup-window}
+ * são descartadas por um {@link RotatingBloomFilter}. Periodicamente os deltas acumulados são gravados
+ * na tabela {@code post_views} com um único {@code MERGE} de várias linhas.
+ *
+ * <p>O flush é seguro contra falhas: o {@code MERGE} é uma única instrução, aplicada por inteiro ou
+ * não aplicada. Se o banco a rejeitar, ou se não houver conexão, os deltas voltam para os contadores e
+ * entram no próximo flush; se a conexão cair durante a instrução, não há como saber se ela foi confirmada
+ * e os deltas são descartados, para não contar duas vezes. Uma queda abrupta do processo perde no máximo as
+ * visualizações do último intervalo, nunca infla os totais. Contadores sem visualizações desde o flush
+ * anterior saem do mapa.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostViewService {
+
+    private static final int MAX_ROWS_PER_STATEMENT = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostViewCountRepository postViewCountRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+    /**
+     * Deltas retirados dos contadores e ainda não confirmados no banco, somados nas leituras
+     * para que a contagem não recue durante um flush.
+     */
+    private volatile Map<Long, Long> flushingViews = Map.of();
+
+    @Value("${app.views.dedup-window:PT30M}")
+    private Duration dedupWindow;
+    @Value("${app.views.dedup-expected-views:1000000}")
+    private long dedupExpectedViews;
+    @Value("${app.views.dedup-false-positive-rate:0.01}")
+    private double dedupFalsePositiveRate;
+
+    private RotatingBloomFilter recentViewers;
+
+    @PostConstruct
+    void init() {
+        recentViewers = new RotatingBloomFilter(dedupExpectedViews, dedupFalsePositiveRate, dedupWindow);
+        log.info("Deduplicação de visualizações usando {} KB", recentViewers.sizeInBytes() / 1024);
+    }
+
+    /**
+     * Registra uma visualização do post, ignorando repetições do mesmo visitante dentro da janela.
+     * Visualizações contabilizadas são publicadas como {@link PostViewedEvent}.
+     *
+     * @param postId    ID do post visualizado
+     * @param viewerKey identificador do visitante (usuário autenticado ou IP)
+     */
+    public void recordView(Long postId, String viewerKey) {
+        if (recentViewers.putIfAbsent(postId, viewerKey)) {
+            LongAdder adder;
+            do {
+                adder = pendingViews.computeIfAbsent(postId, id -> new LongAdder());
+                adder.increment();
+                // O flush só retira contadores zerados: se este saiu do mapa, o incremento não foi visto.
+            } while (pendingViews.get(postId) != adder);
+            eventPublisher.publishEvent(new PostViewedEvent(postId));
+        }
+    }
+
+    /**
+     * Descarta as visualizações ainda não gravadas de um post apagado, para que o flush não recrie
+     * sua linha em {@code post_views}.
+     */
+    @EventListener
+    public void onPostDeleted(PostDeletedEvent event) {
+        pendingViews.remove(event.postId());
+    }
+
+    /**
+     * Preenche {@link Post#getViewsCount()} com o total persistido mais o delta ainda em memória,
+     * usando uma única consulta para todos os posts.
+     */
+    public void fillViewCounts(Collection<Post> posts) {
+        if (posts.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = posts.stream().map(Post::getId).collect(Collectors.toSet());
+        Map<Long, Long> persisted = postViewCountRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(PostViewCount::getPostId, PostViewCount::getViews));
+        Map<Long, Long> flushing = flushingViews;
+        for (Post post : posts) {
+            LongAdder pending = pendingViews.get(post.getId());
+            post.setViewsCount(persisted.getOrDefault(post.getId(), 0L)
+                    + flushing.getOrDefault(post.getId(), 0L)
+                    + (pending != null ? pending.sum() : 0L));
+        }
+    }
+
+    public void fillViewCounts(Post post) {
+        fillViewCounts(List.of(post));
+    }
+
+    /**
+     * Visualizações do post ainda não gravadas em {@code post_views} (em memória ou em flush),
+     * para somar a uma contagem lida do banco.
+     */
+    public long unflushedViews(Long postId) {
+        LongAdder pending = pendingViews.get(postId);
+        return flushingViews.getOrDefault(postId, 0L) + (pending != null ? pending.sum() : 0L);
+    }
+
+    /**
+     * Grava os deltas acumulados desde o último flush.
+     */
+    @Scheduled(fixedDelayString = "${app.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+        pendingViews.forEach((postId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.put(postId, delta);
+            } else {
+                pendingViews.computeIfPresent(postId, (id, current) -> current == adder && current.sum() == 0 ? null : current);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        flushingViews = deltas;
+        try {
+            List<Map.Entry<Long, Long>> rows = new ArrayList<>(deltas.entrySet());
+            for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+                List<Map.Entry<Long, Long>> chunk = rows.subList(from, Math.min(rows.size(), from + MAX_ROWS_PER_STATEMENT));
+                try {
+                    merge(chunk);
+                } catch (CannotGetJdbcConnectionException e) {
+                    requeue(chunk, e);
+                } catch (DataAccessResourceFailureException | RecoverableDataAccessException e) {
+                    // Conexão perdida durante a instrução: o MERGE pode ter sido confirmado.
+                    log.error("Conexão perdida ao gravar {} contadores de visualização; deltas descartados para não contar em dobro: {}",
+                            chunk.size(), e.getMessage());
+                } catch (DataAccessException e) {
+                    requeue(chunk, e);
+                }
+            }
+        } finally {
+            flushingViews = Map.of();
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Devolve aos contadores os deltas de um {@code MERGE} que certamente não foi aplicado.
+     */
+    private void requeue(List<Map.Entry<Long, Long>> chunk, DataAccessException e) {
+        log.warn("Falha ao gravar {} contadores de visualização, tentando no próximo ciclo: {}", chunk.size(), e.getMessage());
+        chunk.forEach(row -> pendingViews.computeIfAbsent(row.getKey(), id -> new LongAdder()).add(row.getValue()));
+    }
+
+    private void merge(List<Map.Entry<Long, Long>> rows) {
+        Object[] args = new Object[rows.size() * 2];
+        int i = 0;
+        for (Map.Entry<Long, Long> row : rows) {
+            args[i++] = row.getKey();
+            args[i++] = row.getValue();
+        }
+        String values = String.join(", ", Collections.nCopies(rows.size(), "(CAST(? AS BIGINT), CAST(? AS BIGINT))"));
+        jdbcTemplate.update("MERGE INTO post_views t USING (VALUES " + values + ") AS s(post_id, delta) "
+                + "ON t.post_id = s.post_id "
+                + "WHEN MATCHED THEN UPDATE SET views = t.views + s.delta "
+                + "WHEN NOT MATCHED THEN INSERT (post_id, views) VALUES (s.post_id, s.delta)", args);
+    }
+}
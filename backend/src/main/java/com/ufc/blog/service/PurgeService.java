@@ -0,0 +1,268 @@
+package com.ufc.blog.service;
+
+import com.ufc.blog.event.CommentDeletedEvent;
+import com.ufc.blog.event.PostDeletedEvent;
+import com.ufc.blog.service.UserPurgeProgress.Phase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Remoção de posts e contas com {@code DELETE}s em conjunto, na ordem das chaves estrangeiras,
+ * em vez da remoção em cascata do JPA, que carrega cada post e comentário e os apaga um a um.
+ *
+ * <p>Os comentários são apagados em lotes de {@code app.purge.batch-size} linhas, cada lote na sua
+ * transação, o que limita o tempo em que as linhas ficam bloqueadas; só a última transação, que apaga
+ * o que restou junto com os posts ou o usuário, depende de todas as anteriores.
+ *
+ * <p>Remover uma conta começa marcando {@code users.deleted_at}: a partir daí o usuário some das consultas
+ * e não autentica mais. Contas com até {@code app.purge.sync-threshold} linhas são removidas na própria
+ * requisição; as maiores, por uma thread própria, com o andamento consultável em {@link #getProgress}.
+ * Remoções interrompidas (desligamento, falha) são retomadas na inicialização seguinte.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PurgeService {
+
+    private static final String PURGE_TIME = "blog.users.purge";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, Job> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService purger = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("user-purge").daemon(true).factory());
+
+    @Value("${app.purge.batch-size:500}")
+    private int batchSize;
+    @Value("${app.purge.sync-threshold:2000}")
+    private long syncThreshold;
+    @Value("${app.purge.progress-retention:PT1H}")
+    private Duration progressRetention;
+
+    // ===== Posts =====
+
+    /**
+     * Apaga um post com seus comentários, corpo, visualizações e pontuação de tendência.
+     * Não deve ser chamado dentro de uma transação: cada lote de comentários roda na sua.
+     */
+    public void deletePost(Long postId) {
+        long comments = deletePosts(List.of(postId));
+        log.debug("Post {} apagado com {} comentários", postId, comments);
+    }
+
+    // ===== Contas =====
+
+    /**
+     * Oculta o usuário e apaga sua conta com tudo o que depende dela: posts (com os comentários de
+     * terceiros neles), comentários em posts de terceiros e refresh token.
+     *
+     * @return o andamento: concluído se a conta era pequena o bastante para ser removida na requisição,
+     * ou ainda na fila da thread de remoção
+     */
+    public UserPurgeProgress deleteUser(Long userId) {
+        jdbcTemplate.update("UPDATE users SET deleted_at = ? WHERE id = ? AND deleted_at IS NULL", LocalDateTime.now(), userId);
+        Job job = newJob(userId);
+        if (job.totalPosts + job.totalComments <= syncThreshold) {
+            run(job, "sync");
+        } else {
+            log.info("Remoção do usuário {} agendada: {} posts e {} comentários", userId, job.totalPosts, job.totalComments);
+            purger.execute(() -> run(job, "async"));
+        }
+        return job.snapshot();
+    }
+
+    /**
+     * Andamento da remoção de uma conta, mantido por {@code app.purge.progress-retention} após o fim.
+     */
+    public Optional<UserPurgeProgress> getProgress(Long userId) {
+        return Optional.ofNullable(jobs.get(userId)).map(Job::snapshot);
+    }
+
+    /**
+     * Retoma as remoções que não terminaram antes do último desligamento.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE deleted_at IS NOT NULL ORDER BY id", Long.class);
+        if (!userIds.isEmpty()) {
+            log.info("Retomando a remoção de {} usuários", userIds.size());
+        }
+        for (Long userId : userIds) {
+            Job job = newJob(userId);
+            purger.execute(() -> run(job, "async"));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        purger.shutdownNow();
+    }
+
+    private Job newJob(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.plus(progressRetention).isBefore(now));
+        Job job = new Job(userId, now,
+                count("SELECT COUNT(*) FROM posts WHERE author_id = ?", userId),
+                count("SELECT COUNT(*) FROM comments WHERE author_id = ? OR post_id IN (SELECT id FROM posts WHERE author_id = ?)", userId, userId));
+        jobs.put(userId, job);
+        return job;
+    }
+
+    private void run(Job job, String mode) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "done";
+        try {
+            purgeUser(job);
+            log.info("Usuário {} removido: {} posts e {} comentários", job.userId, job.deletedPosts, job.deletedComments);
+        } catch (RuntimeException e) {
+            outcome = "failed";
+            job.phase = Phase.FAILED;
+            job.error = e.getMessage();
+            log.error("Remoção do usuário {} interrompida; será retomada na próxima inicialização", job.userId, e);
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            sample.stop(Timer.builder(PURGE_TIME)
+                    .description("Duração da remoção de uma conta")
+                    .tag("mode", mode)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void purgeUser(Job job) {
+        Long userId = job.userId;
+
+        job.phase = Phase.POSTS;
+        List<Long> postIds;
+        while (!(postIds = jdbcTemplate.queryForList("SELECT id FROM posts WHERE author_id = ? ORDER BY id LIMIT ?",
+                Long.class, userId, batchSize)).isEmpty()) {
+            checkInterrupted();
+            job.deletedComments += deletePosts(postIds);
+            job.deletedPosts += postIds.size();
+            postIds.forEach(postId -> eventPublisher.publishEvent(new PostDeletedEvent(postId)));
+        }
+
+        job.phase = Phase.COMMENTS;
+        List<long[]> comments;
+        while (!(comments = jdbcTemplate.query("SELECT id, post_id FROM comments WHERE author_id = ? ORDER BY id LIMIT ?",
+                (rs, i) -> new long[]{rs.getLong(1), rs.getLong(2)}, userId, batchSize)).isEmpty()) {
+            checkInterrupted();
+            List<Long> ids = comments.stream().map(row -> row[0]).toList();
+            transactionTemplate.executeWithoutResult(status -> deleteIn("comments", "id", ids));
+            job.deletedComments += ids.size();
+            comments.forEach(row -> eventPublisher.publishEvent(new CommentDeletedEvent(row[1], row[0])));
+        }
+
+        job.phase = Phase.ACCOUNT;
+        transactionTemplate.executeWithoutResult(status -> {
+            // Comentários aceitos pela ingestão write-behind depois dos lotes acima.
+            job.deletedComments += jdbcTemplate.update("DELETE FROM comments WHERE author_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM refresh_tokens WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        });
+        job.phase = Phase.DONE;
+    }
+
+    /**
+     * Apaga os posts e suas dependências: os comentários em lotes e, numa última transação,
+     * os comentários restantes, visualizações, pontuações, corpos e os próprios posts.
+     * Como {@link #deletePost}, não deve ser chamado dentro de uma transação.
+     *
+     * @return número de comentários apagados
+     */
+    public long deletePosts(List<Long> postIds) {
+        String in = placeholders(postIds.size());
+        Object[] args = postIds.toArray();
+        Object[] limited = new Object[args.length + 1];
+        System.arraycopy(args, 0, limited, 0, args.length);
+        limited[args.length] = batchSize;
+
+        long comments = 0;
+        List<Long> ids;
+        while (!(ids = jdbcTemplate.queryForList("SELECT id FROM comments WHERE post_id IN (" + in + ") ORDER BY id LIMIT ?",
+                Long.class, limited)).isEmpty()) {
+            List<Long> batch = ids;
+            transactionTemplate.executeWithoutResult(status -> deleteIn("comments", "id", batch));
+            comments += ids.size();
+        }
+        Integer remaining = transactionTemplate.execute(status -> {
+            int swept = deleteIn("comments", "post_id", postIds);
+            deleteIn("post_views", "post_id", postIds);
+            deleteIn("trending_scores", "post_id", postIds);
+            deleteIn("post_bodies", "post_id", postIds);
+            deleteIn("posts", "id", postIds);
+            return swept;
+        });
+        return comments + (remaining != null ? remaining : 0);
+    }
+
+    private int deleteIn(String table, String column, List<Long> ids) {
+        return jdbcTemplate.update("DELETE FROM " + table + " WHERE " + column + " IN (" + placeholders(ids.size()) + ")", ids.toArray());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private long count(String sql, Object... args) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, args);
+        return count != null ? count : 0;
+    }
+
+    private static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new IllegalStateException("Remoção interrompida pelo desligamento");
+        }
+    }
+
+    /**
+     * Estado mutável de uma remoção; escrito apenas pela thread que a executa.
+     */
+    private static final class Job {
+
+        final Long userId;
+        final LocalDateTime startedAt;
+        final long totalPosts;
+        final long totalComments;
+        volatile Phase phase = Phase.QUEUED;
+        volatile long deletedPosts;
+        volatile long deletedComments;
+        volatile LocalDateTime finishedAt;
+        volatile String error;
+
+        Job(Long userId, LocalDateTime startedAt, long totalPosts, long totalComments) {
+            this.userId = userId;
+            this.startedAt = startedAt;
+            this.totalPosts = totalPosts;
+            this.totalComments = totalComments;
+        }
+
+        UserPurgeProgress snapshot() {
+            return new UserPurgeProgress(userId, phase, totalPosts, deletedPosts, totalComments, deletedComments,
+                    startedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.ufc.blog.service;
+
+/**
+ * Entrada do ranking de posts em alta, servida diretamente da memória.
+ *
+ * @param postId         ID do post
+ * @param title          título do post
+ * @param summary        resumo do post (pode ser null)
+ * @param authorUsername username do autor
+ * @param score          pontuação atual, já com o decaimento aplicado
+ */
+public record TrendingPost(Long postId, String title, String summary, String authorUsername, double score) {
+}
@@ -0,0 +1,349 @@
+package com.ufc.blog.service;
+
+import com.ufc.blog.cluster.EntityType;
+import com.ufc.blog.cluster.InvalidationBus;
+import com.ufc.blog.entity.PostStatus;
+import com.ufc.blog.event.*;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ranking de posts em alta mantido em memória a partir de eventos de visualização e de comentário.
+ *
+ * <p>As pontuações decaem exponencialmente com meia-vida {@code app.trending.half-life}. Para não
+ * precisar recalcular todas as pontuações a cada instante, usa-se decaimento "para frente": um evento
+ * no instante {@code t} soma {@code peso * e^(λ(t - t0))}, com {@code t0} fixo. Como o fator de
+ * decaimento é comum a todos os posts, a ordem relativa não muda com o passar do tempo e só é preciso
+ * reposicionar o post que recebeu o evento. Quando o expoente fica grande, {@code t0} é rebaseado.
+ *
+ * <p>O top-K é um {@link TreeSet} limitado, atualizado incrementalmente em {@code O(log K)} por evento.
+ * As leituras usam uma cópia imutável do ranking, reconstruída apenas quando ele muda.
+ * As pontuações são gravadas periodicamente em {@code trending_scores} e recarregadas na inicialização.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrendingService {
+
+    private static final double MAX_EXPONENT = 500.0;
+    private static final double MIN_SCORE = 0.01;
+    private static final Comparator<Ranked> BY_SCORE_DESC = Comparator.comparingDouble(Ranked::score).reversed()
+            .thenComparingLong(Ranked::postId);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InvalidationBus invalidationBus;
+
+    @Value("${app.trending.half-life:PT6H}")
+    private Duration halfLife;
+    @Value("${app.trending.top-k:50}")
+    private int topK;
+    @Value("${app.trending.view-weight:1.0}")
+    private double viewWeight;
+    @Value("${app.trending.comment-weight:5.0}")
+    private double commentWeight;
+
+    // Estado protegido pelo monitor da instância.
+    private final Map<Long, Double> scores = new HashMap<>();
+    private final TreeSet<Ranked> top = new TreeSet<>(BY_SCORE_DESC);
+    private final Map<Long, Ranked> topIndex = new HashMap<>();
+    private long landmarkMillis = System.currentTimeMillis();
+
+    private final Map<Long, Headline> headlines = new ConcurrentHashMap<>();
+    private volatile Ranking ranking = new Ranking(List.of(), landmarkMillis);
+
+    // ===== Eventos =====
+
+    @EventListener
+    public void onPostViewed(PostViewedEvent event) {
+        record(event.postId(), viewWeight);
+    }
+
+    @EventListener
+    public void onCommentCreated(CommentCreatedEvent event) {
+        record(event.postId(), commentWeight);
+    }
+
+    @EventListener
+    public void onPostStatusChanged(PostStatusChangedEvent event) {
+        if (event.status() != PostStatus.PUBLISHED) {
+            remove(event.postId());
+        }
+    }
+
+    @EventListener
+    public void onPostUpdated(PostUpdatedEvent event) {
+        if (headlines.remove(event.postId()) != null) {
+            loadHeadline(event.postId());
+        }
+    }
+
+    @EventListener
+    public void onPostDeleted(PostDeletedEvent event) {
+        remove(event.postId());
+    }
+
+    /**
+     * Post alterado em outra instância: recarrega o título ou, se o post não estiver mais publicado, tira do ranking.
+     */
+    @EventListener
+    public void onEntityInvalidated(EntityInvalidatedEvent event) {
+        if (event.type() != EntityType.POST || !isScored(event.id())) {
+            return;
+        }
+        if (event.deleted() || !loadHeadline(event.id())) {
+            remove(event.id());
+            return;
+        }
+        synchronized (this) {
+            if (!topIndex.containsKey(event.id())) {
+                headlines.remove(event.id());
+            }
+        }
+    }
+
+    // ===== Leitura =====
+
+    /**
+     * Retorna os posts em alta, do maior para o menor, sem acessar o banco.
+     *
+     * @param limit quantidade máxima de posts
+     * @return posts em alta com a pontuação decaída até agora
+     */
+    public List<TrendingPost> getTrending(int limit) {
+        Ranking current = ranking;
+        double decay = Math.exp(-lambda() * (System.currentTimeMillis() - current.landmarkMillis()));
+        List<TrendingPost> result = new ArrayList<>(Math.min(limit, current.entries().size()));
+        for (Ranked entry : current.entries()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            Headline headline = headlines.get(entry.postId());
+            if (headline != null) {
+                result.add(new TrendingPost(entry.postId(), headline.title(), headline.summary(), headline.authorUsername(), entry.score() * decay));
+            }
+        }
+        return result;
+    }
+
+    // ===== Atualização incremental =====
+
+    private void record(Long postId, double weight) {
+        boolean entered;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            double exponent = lambda() * (now - landmarkMillis);
+            if (exponent > MAX_EXPONENT) {
+                rebase(now);
+                exponent = 0;
+            }
+            double score = scores.merge(postId, weight * Math.exp(exponent), Double::sum);
+            entered = updateTop(postId, score);
+        }
+        if (entered && !headlines.containsKey(postId)) {
+            loadHeadline(postId);
+        }
+    }
+
+    /**
+     * Reposiciona o post no top-K. Como as pontuações só crescem no espaço com decaimento para frente,
+     * um post fora do top-K só pode entrar nele quando recebe um evento.
+     *
+     * @return {@code true} se o post está no top-K após a atualização
+     */
+    private boolean updateTop(Long postId, double score) {
+        Ranked previous = topIndex.remove(postId);
+        if (previous != null) {
+            top.remove(previous);
+        } else if (top.size() >= topK && score <= top.last().score()) {
+            return false;
+        }
+
+        Ranked ranked = new Ranked(postId, score);
+        top.add(ranked);
+        topIndex.put(postId, ranked);
+        if (top.size() > topK) {
+            Ranked evicted = top.pollLast();
+            topIndex.remove(evicted.postId());
+            headlines.remove(evicted.postId());
+        }
+        publishRanking();
+        return topIndex.containsKey(postId);
+    }
+
+    private void remove(Long postId) {
+        Ranked promoted;
+        synchronized (this) {
+            scores.remove(postId);
+            headlines.remove(postId);
+            Ranked ranked = topIndex.remove(postId);
+            if (ranked == null) {
+                return;
+            }
+            top.remove(ranked);
+            // Uma saída do top-K abre vaga: promove o melhor candidato fora dele (operação rara, O(n)).
+            promoted = scores.entrySet().stream()
+                    .filter(e -> !topIndex.containsKey(e.getKey()))
+                    .max(Map.Entry.comparingByValue())
+                    .map(best -> new Ranked(best.getKey(), best.getValue()))
+                    .orElse(null);
+            if (promoted != null) {
+                top.add(promoted);
+                topIndex.put(promoted.postId(), promoted);
+            }
+            publishRanking();
+        }
+        // Como em record(): a consulta do título fica fora do monitor.
+        if (promoted != null && !headlines.containsKey(promoted.postId())) {
+            loadHeadline(promoted.postId());
+        }
+    }
+
+    /**
+     * Traz as pontuações para um novo marco {@code t0 = now} e descarta as que decaíram a quase zero.
+     */
+    private void rebase(long now) {
+        double factor = Math.exp(-lambda() * (now - landmarkMillis));
+        scores.replaceAll((id, score) -> score * factor);
+        scores.entrySet().removeIf(e -> e.getValue() < MIN_SCORE && !topIndex.containsKey(e.getKey()));
+        List<Ranked> rescaled = top.stream().map(r -> new Ranked(r.postId(), r.score() * factor)).toList();
+        top.clear();
+        topIndex.clear();
+        rescaled.forEach(r -> {
+            top.add(r);
+            topIndex.put(r.postId(), r);
+        });
+        landmarkMillis = now;
+        publishRanking();
+    }
+
+    private void publishRanking() {
+        ranking = new Ranking(List.copyOf(top), landmarkMillis);
+    }
+
+    private double lambda() {
+        return Math.log(2) / halfLife.toMillis();
+    }
+
+    private synchronized boolean isScored(Long postId) {
+        return scores.containsKey(postId);
+    }
+
+    /**
+     * Carrega o título do post, sem gravá-lo se o post mudou durante a leitura (ver {@link InvalidationBus#isCurrent}).
+     *
+     * @return {@code false} se o post não está publicado
+     */
+    private boolean loadHeadline(Long postId) {
+        long version = invalidationBus.version(EntityType.POST, postId);
+        try {
+            List<Headline> found = jdbcTemplate.query("""
+                            SELECT p.title, p.summary, u.username FROM posts p
+                            JOIN users u ON u.id = p.author_id
+                            WHERE p.id = ? AND p.status = 'PUBLISHED'""",
+                    (rs, i) -> new Headline(rs.getString(1), rs.getString(2), rs.getString(3)), postId);
+            if (found.isEmpty()) {
+                return false;
+            }
+            if (invalidationBus.isCurrent(EntityType.POST, postId, version)) {
+                headlines.put(postId, found.getFirst());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível carregar o título do post {} para o ranking: {}", postId, e.getMessage());
+        }
+        return true;
+    }
+
+    // ===== Snapshot =====
+
+    /**
+     * Grava as pontuações atuais, já decaídas até agora, substituindo o snapshot anterior. Na mesma passada
+     * descarta as pontuações fora do top-K que decaíram a quase zero, para que o mapa não guarde todo post
+     * já visto até o próximo rebase.
+     */
+    @Scheduled(fixedDelayString = "${app.trending.snapshot-interval-ms:60000}", initialDelayString = "${app.trending.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        long now = System.currentTimeMillis();
+        List<Object[]> rows = new ArrayList<>();
+        synchronized (this) {
+            double factor = Math.exp(-lambda() * (now - landmarkMillis));
+            Timestamp snapshotAt = new Timestamp(now);
+            for (Iterator<Map.Entry<Long, Double>> it = scores.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<Long, Double> entry = it.next();
+                double current = entry.getValue() * factor;
+                if (current >= MIN_SCORE) {
+                    rows.add(new Object[]{entry.getKey(), current, snapshotAt});
+                } else if (!topIndex.containsKey(entry.getKey())) {
+                    it.remove();
+                }
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM trending_scores");
+                jdbcTemplate.batchUpdate("INSERT INTO trending_scores (post_id, score, snapshot_at) VALUES (?, ?, ?)", rows);
+            });
+            log.debug("Snapshot do ranking gravado com {} posts", rows.size());
+        } catch (DataAccessException e) {
+            log.warn("Falha ao gravar snapshot do ranking: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    /**
+     * Recarrega o último snapshot, aplicando o decaimento do tempo em que o serviço ficou parado
+     * e ignorando posts que deixaram de estar publicados.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        long now = System.currentTimeMillis();
+        try {
+            jdbcTemplate.query("""
+                    SELECT t.post_id, t.score, t.snapshot_at, p.title, p.summary, u.username FROM trending_scores t
+                    JOIN posts p ON p.id = t.post_id
+                    JOIN users u ON u.id = p.author_id
+                    WHERE p.status = 'PUBLISHED'""", rs -> {
+                long postId = rs.getLong(1);
+                long snapshotAt = rs.getTimestamp(3).getTime();
+                double score = rs.getDouble(2) * Math.exp(-lambda() * Math.max(0, now - snapshotAt));
+                synchronized (this) {
+                    scores.merge(postId, score * Math.exp(lambda() * (now - landmarkMillis)), Double::sum);
+                    if (updateTop(postId, scores.get(postId))) {
+                        headlines.put(postId, new Headline(rs.getString(4), rs.getString(5), rs.getString(6)));
+                    }
+                }
+            });
+            log.info("Ranking de posts em alta restaurado com {} posts", scores.size());
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível restaurar o ranking de posts em alta: {}", e.getMessage());
+        }
+    }
+
+    private record Ranked(long postId, double score) {
+    }
+
+    private record Ranking(List<Ranked> entries, long landmarkMillis) {
+    }
+
+    private record Headline(String title, String summary, String authorUsername) {
+    }
+}
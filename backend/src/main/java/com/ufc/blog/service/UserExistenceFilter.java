@@ -0,0 +1,196 @@
+package com.ufc.blog.service;
+
+import com.ufc.blog.cluster.EntityType;
+import com.ufc.blog.event.EntityInvalidatedEvent;
+import com.ufc.blog.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Filtro de Bloom em memória sobre os usernames e emails normalizados (sem espaços nas pontas, em minúsculas) de
+ * todas as contas, inclusive as em remoção. Quando o filtro diz que o valor não existe, as verificações de
+ * unicidade respondem sem consultar o banco; nos demais casos a consulta continua decidindo.
+ *
+ * <p>Montado depois da inicialização a partir de {@code users}; até lá responde "talvez" para tudo. Cadastros e
+ * alterações de username/email inserem os novos valores antes de gravá-los ({@link #add}), de modo que o filtro
+ * nunca fica atrás do banco. Remoções não apagam nada do filtro: o valor antigo só custa uma consulta a mais, até
+ * a reconstrução periódica ({@code app.user-filter.rebuild-interval-ms}), que também redimensiona o filtro. Valores
+ * inseridos por transações ainda abertas durante a reconstrução são copiados para o filtro novo.
+ *
+ * <p>Contas criadas ou alteradas em outras instâncias chegam pelo barramento de invalidação, depois do commit;
+ * até lá esta instância pode dar o valor como livre, e o cadastro continua protegido pela restrição única, cuja
+ * violação vira o mesmo erro de valor em uso ({@link UserService#saveUnique}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserExistenceFilter {
+
+    private static final String CHECKS = "blog.users.existence.checks";
+    private static final String USERNAME = "u:";
+    private static final String EMAIL = "e:";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.user-filter.enabled:true}")
+    private boolean enabled;
+    @Value("${app.user-filter.expected-users:100000}")
+    private long expectedUsers;
+    @Value("${app.user-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+    @Value("${app.user-filter.max-memory:4MB}")
+    private DataSize maxMemory;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+    private final Set<String[]> inFlight = ConcurrentHashMap.newKeySet();
+
+    private Counter negative;
+    private Counter maybe;
+
+    @PostConstruct
+    void init() {
+        negative = check("negative");
+        maybe = check("maybe");
+        Gauge.builder("blog.users.existence.filter.bytes", this, f -> f.current != null ? f.current.sizeInBytes() : 0)
+                .description("Memória do filtro de existência de usernames e emails")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("blog.users.existence.filter.fpp", this, f -> f.current != null ? f.current.expectedFalsePositiveRate() : 1)
+                .description("Taxa de falsos positivos estimada do filtro de existência")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void onReady() {
+        rebuild();
+    }
+
+    /**
+     * Reconstrói o filtro a partir de {@code users}, descartando valores de contas removidas ou alteradas.
+     */
+    @Scheduled(fixedDelayString = "${app.user-filter.rebuild-interval-ms:21600000}",
+            initialDelayString = "${app.user-filter.rebuild-interval-ms:21600000}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        // Folga para crescer até a próxima reconstrução; dois valores por conta.
+        long capacity = 2 * Math.max(expectedUsers, 2 * (users != null ? users : 0));
+        BloomFilter next = new BloomFilter(capacity, falsePositiveRate, maxMemory.toBytes());
+
+        // Quem chamou add() antes desta atribuição está em inFlight ou já gravou e aparece na varredura.
+        building = next;
+        inFlight.forEach(values -> putAll(next, values));
+        jdbcTemplate.query("SELECT username, email FROM users", rs -> {
+            putAll(next, new String[]{USERNAME + normalize(rs.getString(1)), EMAIL + normalize(rs.getString(2))});
+        });
+        current = next;
+        building = null;
+
+        log.info("Filtro de existência de usuários reconstruído em {} ms: {} usuários, {} KB, falsos positivos ~{}",
+                System.currentTimeMillis() - start, users, next.sizeInBytes() / 1024,
+                String.format(Locale.ROOT, "%.4f", next.expectedFalsePositiveRate()));
+    }
+
+    /**
+     * @return {@code false} se nenhuma conta usa o username
+     */
+    public boolean mightContainUsername(String username) {
+        return mightContain(USERNAME + normalize(username));
+    }
+
+    /**
+     * @return {@code false} se nenhuma conta usa o email
+     */
+    public boolean mightContainEmail(String email) {
+        return mightContain(EMAIL + normalize(email));
+    }
+
+    /**
+     * Registra username e/ou email (podem ser null) que a transação corrente vai gravar. Deve ser chamado antes
+     * da gravação.
+     */
+    public void add(String username, String email) {
+        String[] values = new String[]{
+                username != null ? USERNAME + normalize(username) : null,
+                email != null ? EMAIL + normalize(email) : null};
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            inFlight.add(values);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    inFlight.remove(values);
+                }
+            });
+        }
+        BloomFilter filter = current;
+        if (filter != null) {
+            putAll(filter, values);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            putAll(next, values);
+        }
+    }
+
+    @EventListener
+    public void onEntityInvalidated(EntityInvalidatedEvent event) {
+        if (event.type() != EntityType.USER || event.deleted() || !enabled) {
+            return;
+        }
+        jdbcTemplate.query("SELECT username, email FROM users WHERE id = ?",
+                rs -> {
+                    add(rs.getString(1), rs.getString(2));
+                }, event.id());
+    }
+
+    private boolean mightContain(String key) {
+        BloomFilter filter = current;
+        if (filter == null || filter.mightContain(key)) {
+            maybe.increment();
+            return true;
+        }
+        negative.increment();
+        return false;
+    }
+
+    private static void putAll(BloomFilter filter, String[] values) {
+        for (String value : values) {
+            if (value != null) {
+                filter.put(value);
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private Counter check(String result) {
+        return Counter.builder(CHECKS)
+                .description("Verificações de username/email respondidas pelo filtro (negative) ou pelo banco (maybe)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
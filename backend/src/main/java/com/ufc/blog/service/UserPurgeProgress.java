@@ -0,0 +1,49 @@
+package com.ufc.blog.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Andamento da remoção de uma conta pelo {@link PurgeService}.
+ *
+ * @param userId          ID do usuário removido
+ * @param phase           etapa atual
+ * @param totalPosts      posts do usuário no início da remoção
+ * @param deletedPosts    posts já apagados
+ * @param totalComments   comentários a apagar no início: os do usuário e os feitos nos posts dele
+ * @param deletedComments comentários já apagados
+ * @param startedAt       início da remoção
+ * @param finishedAt      fim da remoção (null enquanto em andamento)
+ * @param error           mensagem da falha, quando {@code phase} é {@code FAILED}
+ */
+public record UserPurgeProgress(Long userId, Phase phase, long totalPosts, long deletedPosts,
+                                long totalComments, long deletedComments,
+                                LocalDateTime startedAt, LocalDateTime finishedAt, String error) {
+
+    public enum Phase {
+        /**
+         * Aguardando a thread de remoção.
+         */
+        QUEUED,
+        /**
+         * Apagando os posts do usuário, com seus comentários, corpos e contagens.
+         */
+        POSTS,
+        /**
+         * Apagando os comentários do usuário em posts de terceiros.
+         */
+        COMMENTS,
+        /**
+         * Apagando o refresh token e a linha do usuário.
+         */
+        ACCOUNT,
+        DONE,
+        /**
+         * A remoção parou; o usuário continua oculto e ela é retomada na próxima inicialização.
+         */
+        FAILED
+    }
+
+    public boolean finished() {
+        return phase == Phase.DONE;
+    }
+}
@@ -0,0 +1,308 @@
+package com.ufc.blog.service;
+
+import com.ufc.blog.entity.User;
+import com.ufc.blog.entity.UserStatus;
+import com.ufc.blog.exception.BadRequestException;
+import com.ufc.blog.exception.ConflictException;
+import com.ufc.blog.exception.ResourceNotFoundException;
+import com.ufc.blog.fields.FieldSelection;
+import com.ufc.blog.fields.SparseResources;
+import com.ufc.blog.repository.AuthorPostCounts;
+import com.ufc.blog.repository.CommentRepository;
+import com.ufc.blog.repository.IdCount;
+import com.ufc.blog.repository.PostRepository;
+import com.ufc.blog.repository.SparseFieldRepository;
+import com.ufc.blog.repository.UserRepository;
+import com.ufc.blog.util.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Leitura e escrita de usuários. Cada método público, exceto a remoção, é uma transação; os usuários devolvidos como
+ * recurso principal vêm com as contagens de posts e comentários preenchidas por consultas agrupadas,
+ * em vez de percorrer as coleções lazy durante a serialização.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserService {
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final SecurityUtils securityUtils;
+    private final PurgeService purgeService;
+    private final PasswordEncoder passwordEncoder;
+    private final SparseFieldRepository sparseFieldRepository;
+    private final SparseResources sparseResources;
+    private final UserExistenceFilter userExistenceFilter;
+
+    // ===== Leitura =====
+
+    @Transactional(readOnly = true)
+    public Page<?> getUsers(FieldSelection selection, Pageable pageable) {
+        if (selection != null) {
+            return sparseFieldRepository.findPage(sparseResources.users(), selection, "r.deletedAt IS NULL", Map.of(), pageable);
+        }
+        return withCounts(userRepository.findByDeletedAtIsNull(pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<?> getUsersByStatus(UserStatus status, FieldSelection selection, Pageable pageable) {
+        if (selection != null) {
+            return sparseFieldRepository.findPage(sparseResources.users(), selection, "r.status = :status AND r.deletedAt IS NULL", Map.of("status", status), pageable);
+        }
+        return withCounts(userRepository.findByStatusAndDeletedAtIsNull(status, pageable));
+    }
+
+    /**
+     * @throws ResourceNotFoundException se o usuário não for encontrado
+     */
+    @Transactional(readOnly = true)
+    public User getUser(Long id) {
+        return withCounts(findUser(id));
+    }
+
+    /**
+     * @throws ResourceNotFoundException se o usuário não for encontrado
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getSparseUser(Long id, FieldSelection selection) {
+        return sparseFieldRepository.findOne(sparseResources.users(), selection, "r.id = :id AND r.deletedAt IS NULL", Map.of("id", id))
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", id));
+    }
+
+    /**
+     * Busca pelo username ou, na falta dele, pelo email. Apenas o próprio usuário ou administradores.
+     *
+     * @throws BadRequestException          se nenhum parâmetro for fornecido
+     * @throws ResourceNotFoundException    se o usuário não for encontrado
+     * @throws AuthorizationDeniedException se o usuário não tiver permissão
+     */
+    @Transactional(readOnly = true)
+    public User searchUser(String username, String email, Authentication authentication) {
+        if (username == null && email == null) {
+            throw new BadRequestException("Parâmetro 'username' ou 'email' deve ser fornecido.");
+        }
+
+        User user = (username != null) ?
+                userRepository.findByUsernameAndDeletedAtIsNull(username)
+                        .orElseThrow(() -> new ResourceNotFoundException("Usuário", "username", username)) :
+                userRepository.findByEmailAndDeletedAtIsNull(email)
+                        .orElseThrow(() -> new ResourceNotFoundException("Usuário", "email", email));
+
+        securityUtils.checkOwnershipOrAdmin(authentication, user);
+        return withCounts(user);
+    }
+
+    /**
+     * Responde sem consultar o banco quando o {@link UserExistenceFilter} garante que o valor não está em uso.
+     */
+    @Transactional(readOnly = true)
+    public boolean exists(String username, String email) {
+        if (username != null) {
+            return userExistenceFilter.mightContainUsername(username) && userRepository.existsByUsername(username);
+        } else if (email != null) {
+            return userExistenceFilter.mightContainEmail(email) && userRepository.existsByEmail(email);
+        }
+        return false;
+    }
+
+    // ===== Escrita =====
+
+    /**
+     * Atualiza os campos informados. Apenas o próprio usuário ou administradores.
+     *
+     * @throws ResourceNotFoundException    se o usuário não for encontrado
+     * @throws BadRequestException          se o username ou email já estiverem em uso
+     * @throws AuthorizationDeniedException se o usuário não tiver permissão
+     */
+    @Transactional
+    public User updateUser(Long id, User request, Authentication authentication) {
+        User user = findUser(id);
+        securityUtils.checkOwnershipOrAdmin(authentication, user);
+
+        if (request.getUsername() != null) {
+            validateUserUniqueness(request.getUsername(), null, id);
+            userExistenceFilter.add(request.getUsername(), null);
+            user.setUsername(request.getUsername());
+        }
+        if (request.getEmail() != null) {
+            validateUserUniqueness(null, request.getEmail(), id);
+            userExistenceFilter.add(null, request.getEmail());
+            user.setEmail(request.getEmail());
+        }
+        if (request.getFirstName() != null) user.setFirstName(request.getFirstName());
+        if (request.getLastName() != null) user.setLastName(request.getLastName());
+        if (request.getRole() != null) user.setRole(request.getRole());
+
+        return withCounts(saveUnique(user));
+    }
+
+    /**
+     * Remove a conta com tudo o que depende dela. O usuário fica oculto de imediato; contas grandes
+     * são apagadas em segundo plano (ver {@link PurgeService}). Sem transação própria: a remoção
+     * abre uma por lote.
+     *
+     * @return andamento da remoção
+     * @throws ResourceNotFoundException    se o usuário não for encontrado
+     * @throws AuthorizationDeniedException se o usuário não tiver permissão
+     */
+    public UserPurgeProgress deleteUser(Long id, Authentication authentication) {
+        User user = findUser(id);
+        securityUtils.checkOwnershipOrAdmin(authentication, user);
+        return purgeService.deleteUser(id);
+    }
+
+    /**
+     * @throws ResourceNotFoundException se não houver remoção recente desse usuário
+     */
+    public UserPurgeProgress getPurgeProgress(Long id) {
+        return purgeService.getProgress(id).orElseThrow(() -> new ResourceNotFoundException("Usuário em remoção", "id", id));
+    }
+
+    /**
+     * Muda o status num único {@code UPDATE} condicional, restrito às transições de {@link UserStatus};
+     * só quando nada muda o status atual é lido, para explicar o motivo.
+     *
+     * @return o novo estado
+     * @throws ResourceNotFoundException se o usuário não for encontrado
+     * @throws ConflictException         se o status atual não permitir a transição
+     */
+    @Transactional
+    public UserStatusChange changeStatus(Long id, UserStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        if (userRepository.transitionStatus(id, status, status.sources(), now) == 0) {
+            UserStatus current = userRepository.findStatusById(id).orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", id));
+            throw new ConflictException("Transição de status não permitida: " + current.name() + " -> " + status.name());
+        }
+        return new UserStatusChange(id, status, now);
+    }
+
+    /**
+     * Troca a senha após conferir a atual. Apenas o próprio usuário ou administradores.
+     *
+     * @throws BadRequestException          se a senha atual estiver incorreta
+     * @throws ResourceNotFoundException    se o usuário não for encontrado
+     * @throws AuthorizationDeniedException se o usuário não tiver permissão
+     */
+    @Transactional
+    public void updatePassword(Long id, String currentPassword, String newPassword, Authentication authentication) {
+        User user = findUser(id);
+        securityUtils.checkOwnershipOrAdmin(authentication, user);
+
+        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+            throw new BadRequestException("Senha antiga está incorreta.");
+        }
+
+        user.setPassword(passwordEncoder.encode(newPassword));
+        userRepository.save(user);
+    }
+
+    // ===== Contagens =====
+
+    /**
+     * Preenche {@code postsCount}, {@code publishedPostsCount} e {@code commentsCount} do usuário.
+     */
+    @Transactional(readOnly = true)
+    public User withCounts(User user) {
+        fillCounts(List.of(user));
+        return user;
+    }
+
+    private Page<User> withCounts(Page<User> users) {
+        fillCounts(users.getContent());
+        return users;
+    }
+
+    /**
+     * Preenche as contagens dos usuários com uma consulta agrupada de posts e outra de comentários.
+     */
+    private void fillCounts(Collection<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = users.stream().map(User::getId).collect(Collectors.toSet());
+        Map<Long, AuthorPostCounts> posts = postRepository.countByAuthorIds(ids).stream()
+                .collect(Collectors.toMap(AuthorPostCounts::authorId, Function.identity()));
+        Map<Long, Long> comments = commentRepository.countByAuthorIds(ids).stream()
+                .collect(Collectors.toMap(IdCount::id, IdCount::count));
+        for (User user : users) {
+            AuthorPostCounts counts = posts.get(user.getId());
+            user.setPostsCount(counts != null ? counts.posts() : 0L);
+            user.setPublishedPostsCount(counts != null ? counts.publishedPosts() : 0L);
+            user.setCommentsCount(comments.getOrDefault(user.getId(), 0L));
+        }
+    }
+
+    // ===== Utilitários =====
+
+    private User findUser(Long id) {
+        return userRepository.findByIdAndDeletedAtIsNull(id).orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", id));
+    }
+
+    /**
+     * Grava o usuário de imediato, traduzindo a violação das restrições únicas de username ou email na mesma
+     * {@link BadRequestException} da validação. A verificação prévia pula o banco quando o
+     * {@link UserExistenceFilter} dá o valor como livre, e ele pode não conhecer ainda uma conta gravada em outra
+     * instância ou numa transação concorrente; a restrição é quem decide nesse caso.
+     *
+     * @throws BadRequestException se o username ou email já estiverem em uso
+     */
+    User saveUnique(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            // A coluna aparece entre parênteses no detalhe da violação: "USERS(USERNAME ..." no H2,
+            // "Key (username)=..." no PostgreSQL. O texto do comando SQL que vem depois lista todas as colunas.
+            String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+            int statement = message.indexOf("sql statement");
+            String detail = statement >= 0 ? message.substring(0, statement) : message;
+            if (detail.contains("(username")) {
+                throw new BadRequestException("Username já está em uso");
+            }
+            if (detail.contains("(email")) {
+                throw new BadRequestException("Email já está em uso");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Valida a unicidade do username e email.
+     *
+     * @param username  username a ser validado (pode ser null)
+     * @param email     email a ser validado (pode ser null)
+     * @param excludeId ID do usuário a ser excluído da verificação (usado em atualizações)
+     * @throws BadRequestException se o username ou email já estiverem em uso
+     */
+    private void validateUserUniqueness(String username, String email, Long excludeId) {
+        if (username != null && userExistenceFilter.mightContainUsername(username)) {
+            userRepository.findByUsername(username).filter(u -> !u.getId().equals(excludeId)).ifPresent(u -> {
+                throw new BadRequestException("Username já está em uso");
+            });
+        }
+        if (email != null && userExistenceFilter.mightContainEmail(email)) {
+            userRepository.findByEmail(email).filter(u -> !u.getId().equals(excludeId)).ifPresent(u -> {
+                throw new BadRequestException("Email já está em uso");
+            });
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ufc.blog.service;
+
+import com.ufc.blog.entity.UserStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado de um usuário depois de uma transição de status, montado sem reler o usuário.
+ *
+ * @param id        ID do usuário
+ * @param status    novo status
+ * @param updatedAt momento da transição
+ */
+public record UserStatusChange(Long id, UserStatus status, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,116 @@
+package com.ufc.blog.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de strings, sem remoção: responde "com certeza ausente" ou "talvez presente".
+ *
+ * <p>Dimensionado para {@code expectedInsertions} elementos com a taxa de falsos positivos pedida, limitado a
+ * {@code maxBytes}; com o limite, ou com mais inserções que o previsto, a taxa real sobe
+ * (ver {@link #expectedFalsePositiveRate()}). Falsos negativos não ocorrem. A inserção é lock-free.
+ */
+public class BloomFilter {
+
+    private final int numBits;
+    private final int numHashes;
+    private final AtomicLongArray words;
+    private final AtomicLong insertions = new AtomicLong();
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate, long maxBytes) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1 || maxBytes < Long.BYTES) {
+            throw new IllegalArgumentException("Parâmetros inválidos para o filtro de Bloom");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        bits = Math.min(bits, maxBytes * 8);
+        this.numBits = (int) Math.min(Integer.MAX_VALUE - 63L, Math.max(64L, bits));
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+        this.words = new AtomicLongArray((numBits + 63) / 64);
+    }
+
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        boolean changed = false;
+        for (int i = 1; i <= numHashes; i++) {
+            changed |= set(index(h1, h2, i));
+        }
+        if (changed) {
+            insertions.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return {@code false} se o valor certamente não foi inserido
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            int index = index(h1, h2, i);
+            if ((words.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Taxa de falsos positivos estimada para as inserções feitas até agora.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) numHashes * insertions.get() / numBits), numHashes);
+    }
+
+    /**
+     * Elementos distintos inseridos (aproximado: colisões totais não contam).
+     */
+    public long approximateElementCount() {
+        return insertions.get();
+    }
+
+    /**
+     * Memória ocupada pelos bits, em bytes.
+     */
+    public long sizeInBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    private int index(int h1, int h2, int i) {
+        int combined = h1 + i * h2;
+        return (combined & Integer.MAX_VALUE) % numBits;
+    }
+
+    /**
+     * Liga o bit e informa se ele estava desligado.
+     */
+    private boolean set(int index) {
+        int word = index >>> 6;
+        long mask = 1L << index;
+        long old;
+        do {
+            old = words.get(word);
+            if ((old & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(word, old, old | mask));
+        return true;
+    }
+
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
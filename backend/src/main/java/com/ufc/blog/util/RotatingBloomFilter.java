@@ -0,0 +1,125 @@
+package com.ufc.blog.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom com duas gerações para deduplicação aproximada dentro de uma janela de tempo.
+ *
+ * <p>Um elemento inserido é lembrado por no mínimo {@code window} e no máximo {@code 2 * window}:
+ * ao fim de cada janela a geração atual passa a ser a anterior e a anterior é descartada.
+ * Falsos positivos (elemento novo tratado como repetido) ocorrem com a probabilidade configurada;
+ * falsos negativos não ocorrem dentro da janela. A inserção é lock-free.
+ */
+public class RotatingBloomFilter {
+
+    private final int numBits;
+    private final int numHashes;
+    private final long windowNanos;
+
+    private volatile Generation current;
+    private volatile Generation previous;
+    private volatile long rotateAt;
+
+    public RotatingBloomFilter(long expectedInsertions, double falsePositiveRate, Duration window) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Parâmetros inválidos para o filtro de Bloom");
+        }
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.numBits = (int) Math.min(Integer.MAX_VALUE - 63L, Math.max(64L, bits));
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+        this.windowNanos = window.toNanos();
+        this.current = new Generation(numBits);
+        this.previous = new Generation(numBits);
+        this.rotateAt = System.nanoTime() + windowNanos;
+    }
+
+    /**
+     * Registra o par {@code (key, value)} se ele (provavelmente) não foi visto na janela.
+     *
+     * @return {@code true} se o par é novo, {@code false} se já foi visto ou colidiu com outro par
+     */
+    public boolean putIfAbsent(long key, String value) {
+        rotateIfNeeded();
+        long hash = hash(key, value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        Generation cur = current;
+        Generation prev = previous;
+        boolean seen = true;
+        for (int i = 1; i <= numHashes; i++) {
+            int combined = h1 + i * h2;
+            int index = (combined & Integer.MAX_VALUE) % numBits;
+            if (!cur.set(index) && !prev.get(index)) {
+                seen = false;
+            }
+        }
+        return !seen;
+    }
+
+    /**
+     * Memória ocupada pelos bits das duas gerações, em bytes.
+     */
+    public long sizeInBytes() {
+        return 2L * ((numBits + 63) / 64) * Long.BYTES;
+    }
+
+    private void rotateIfNeeded() {
+        if (System.nanoTime() - rotateAt < 0) {
+            return;
+        }
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (now - rotateAt >= 0) {
+                previous = current;
+                current = new Generation(numBits);
+                rotateAt = now + windowNanos;
+            }
+        }
+    }
+
+    private static long hash(long key, String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h ^ mix(key * 0x9E3779B97F4A7C15L));
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Generation {
+
+        private final AtomicLongArray words;
+
+        private Generation(int numBits) {
+            this.words = new AtomicLongArray((numBits + 63) / 64);
+        }
+
+        /**
+         * Liga o bit e informa se ele já estava ligado.
+         */
+        private boolean set(int index) {
+            int word = index >>> 6;
+            long mask = 1L << index;
+            long old;
+            do {
+                old = words.get(word);
+                if ((old & mask) != 0) {
+                    return true;
+                }
+            } while (!words.compareAndSet(word, old, old | mask));
+            return false;
+        }
+
+        private boolean get(int index) {
+            return (words.get(index >>> 6) & (1L << index)) != 0;
+        }
+    }
+}
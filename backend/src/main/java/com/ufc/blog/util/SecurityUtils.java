@@ -2,6 +2,7 @@ package com.ufc.blog.util;
 
 import com.ufc.blog.entity.User;
 import com.ufc.blog.repository.UserRepository;
+import com.ufc.blog.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
@@ -24,6 +25,16 @@ public class SecurityUtils {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Usuário não encontrado com username: " + username));
     }
 
+    /**
+     * Retorna o principal já carregado pelo {@code JwtAuthenticationFilter}, sem nova consulta ao banco.
+     */
+    public UserPrincipal getAuthenticatedPrincipal(Authentication authentication) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuário não autenticado.");
+        }
+        return principal;
+    }
+
     public boolean isAdmin(Authentication authentication) {
         return authentication != null && authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
@@ -0,0 +1,31 @@
+package com.ufc.blog.warmup;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+
+/**
+ * Identifica as requisições sintéticas do {@link WarmupRunner}: elas levam no cabeçalho
+ * {@value #HEADER} um token aleatório gerado a cada inicialização, para que efeitos colaterais
+ * de leitura (contagem de visualizações) possam ignorá-las sem que clientes consigam imitá-las.
+ */
+@Component
+public class WarmupRequests {
+
+    static final String HEADER = "X-Warmup-Token";
+
+    private final String token = UUID.randomUUID().toString();
+
+    String token() {
+        return token;
+    }
+
+    public boolean isWarmup(HttpServletRequest request) {
+        String header = request.getHeader(HEADER);
+        return header != null && MessageDigest.isEqual(
+                header.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
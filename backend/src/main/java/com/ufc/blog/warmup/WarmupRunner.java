@@ -0,0 +1,325 @@
+package com.ufc.blog.warmup;
+
+import com.ufc.blog.entity.Post;
+import com.ufc.blog.entity.PostStatus;
+import com.ufc.blog.entity.User;
+import com.ufc.blog.entity.UserStatus;
+import com.ufc.blog.repository.PostRepository;
+import com.ufc.blog.repository.UserRepository;
+import com.ufc.blog.security.JwtService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aquecimento antes de a aplicação receber tráfego. Roda como {@link ApplicationRunner}, ou seja,
+ * depois de o servidor subir e antes do {@code ApplicationReadyEvent}: enquanto ele não termina,
+ * {@code /actuator/health/readiness} responde {@code OUT_OF_SERVICE} e o balanceador não envia requisições.
+ *
+ * <p>Preenche o pool de conexões e repete, pela porta local e com toda a cadeia de filtros, uma mistura
+ * sintética de leituras: feed (esparso, completo e em Smile), posts em alta, post individual renderizado,
+ * comentários e o próprio usuário, estas com um JWT válido. Isso exercita o Jackson, o Hibernate e o jjwt
+ * até o JIT compilá-los, além de encher o cache de HTML e carregar o dicionário de compressão.
+ * Para ao fim de {@code app.warmup.time-budget} ou de {@code app.warmup.max-rounds} rodadas.
+ *
+ * <p>Métricas: {@value #LATENCY} de cada requisição na primeira chamada e na média das últimas
+ * ({@code stage=first|final}), {@value #REQUESTS} por resultado, {@value #DURATION} e
+ * {@value #JIT_TIME} (tempo de compilação do JIT durante o aquecimento).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarmupRunner implements ApplicationRunner {
+
+    static final String LATENCY = "blog.warmup.latency";
+    static final String REQUESTS = "blog.warmup.requests";
+    static final String DURATION = "blog.warmup.duration";
+    static final String JIT_TIME = "blog.warmup.jit.compilation.time";
+
+    /**
+     * Os mesmos campos que o frontend pede para os cards do feed.
+     */
+    private static final String FEED_FIELDS = "id,title,summary,reading_time_minutes,created_at,author.id,author.username";
+    private static final String JSON = "application/json";
+    private static final String SMILE = "application/x-jackson-smile";
+
+    private final WarmupRequests warmupRequests;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final JwtService jwtService;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+    @Value("${app.warmup.time-budget:PT30S}")
+    private Duration timeBudget;
+    @Value("${app.warmup.max-rounds:500}")
+    private int maxRounds;
+    @Value("${app.warmup.threads:2}")
+    private int threads;
+    @Value("${app.warmup.posts:5}")
+    private int postCount;
+
+    private volatile int port;
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (event.getApplicationContext().getServerNamespace() == null) {
+            port = event.getWebServer().getPort();
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        if (port <= 0) {
+            log.warn("Aquecimento ignorado: porta do servidor desconhecida");
+            return;
+        }
+        long start = System.nanoTime();
+        long jitBefore = compilationTimeMs();
+
+        int connections = fillConnectionPool();
+        Map<String, StepStats> stats = new LinkedHashMap<>();
+        List<Step> mix = buildMix(stats);
+        int rounds = replay(mix, start + timeBudget.toNanos());
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long jitMs = compilationTimeMs() - jitBefore;
+        registerMetrics(stats.values(), seconds, jitMs);
+
+        StringJoiner latencies = new StringJoiner(", ");
+        stats.values().forEach(step -> latencies.add(String.format(Locale.ROOT, "%s %.1f→%.1f ms",
+                step.name, step.firstMs(), step.finalMs())));
+        log.info("Aquecimento concluído em {} s: {} rodadas, {} conexões no pool, JIT {} ms; latência {}",
+                String.format(Locale.ROOT, "%.1f", seconds), rounds, connections, jitMs, latencies);
+    }
+
+    /**
+     * Abre e devolve ao mesmo tempo tantas conexões quanto o tamanho máximo do pool.
+     */
+    private int fillConnectionPool() {
+        int size = 1;
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                size = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.debug("Tamanho do pool indisponível: {}", e.getMessage());
+        }
+        List<Connection> held = new ArrayList<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                held.add(dataSource.getConnection());
+            }
+        } catch (SQLException e) {
+            log.warn("Aquecimento do pool parou em {} conexões: {}", held.size(), e.getMessage());
+        } finally {
+            for (Connection connection : held) {
+                try {
+                    connection.close();
+                } catch (SQLException ignored) {
+                    // devolução ao pool; nada a fazer
+                }
+            }
+        }
+        return held.size();
+    }
+
+    private List<Step> buildMix(Map<String, StepStats> stats) {
+        List<Step> mix = new ArrayList<>();
+        mix.add(step(stats, "feed", "/api/posts/published?page=0&size=10&fields=" + FEED_FIELDS, null, JSON));
+        mix.add(step(stats, "feed-full", "/api/posts/published?page=0&size=10", null, JSON));
+        mix.add(step(stats, "feed-smile", "/api/posts/published?page=0&size=10", null, SMILE));
+        mix.add(step(stats, "trending", "/api/posts/trending?limit=10", null, JSON));
+
+        // Post, comentários e usuário exigem autenticação: usa um token de um usuário ativo qualquer.
+        Optional<User> user = userRepository.findByStatusAndDeletedAtIsNull(UserStatus.ACTIVE, PageRequest.of(0, 1)).stream().findFirst();
+        if (user.isEmpty()) {
+            log.info("Aquecimento sem requisições autenticadas: nenhum usuário ativo");
+            return mix;
+        }
+        String token = jwtService.generateTokenFromUsername(user.get().getUsername());
+        mix.add(step(stats, "user", "/api/users/" + user.get().getId(), token, JSON));
+        List<Long> postIds = postRepository.findByStatus(PostStatus.PUBLISHED,
+                PageRequest.of(0, postCount, Sort.by(Sort.Direction.DESC, "publishedAt"))).map(Post::getId).toList();
+        for (Long id : postIds) {
+            mix.add(step(stats, "post", "/api/posts/" + id + "?render=html", token, JSON));
+            mix.add(step(stats, "comments", "/api/posts/" + id + "/comments?page=0&size=10", token, JSON));
+        }
+        return mix;
+    }
+
+    private Step step(Map<String, StepStats> stats, String name, String path, String token, String accept) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(10))
+                .header("Accept", accept)
+                .header(WarmupRequests.HEADER, warmupRequests.token());
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return new Step(stats.computeIfAbsent(name, StepStats::new), request.GET().build());
+    }
+
+    /**
+     * Repete a mistura em {@code app.warmup.threads} threads até o prazo ou o limite de rodadas.
+     *
+     * @return rodadas completadas
+     */
+    private int replay(List<Step> mix, long deadline) {
+        AtomicInteger rounds = new AtomicInteger();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("warmup-", 0).factory());
+        for (int i = 0; i < threads; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline && rounds.getAndIncrement() < maxRounds) {
+                    for (Step step : mix) {
+                        if (System.nanoTime() >= deadline) {
+                            return;
+                        }
+                        send(client, step);
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(Math.max(0, deadline - System.nanoTime()) + TimeUnit.SECONDS.toNanos(15),
+                    TimeUnit.NANOSECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        client.close();
+        return Math.min(rounds.get(), maxRounds);
+    }
+
+    private void send(HttpClient client, Step step) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(step.request, HttpResponse.BodyHandlers.discarding());
+            step.stats.record(System.nanoTime() - start, response.statusCode() < 400);
+            if (response.statusCode() >= 400) {
+                log.debug("Aquecimento: {} respondeu {}", step.request.uri(), response.statusCode());
+            }
+        } catch (IOException e) {
+            step.stats.record(System.nanoTime() - start, false);
+            log.debug("Aquecimento: falha em {}: {}", step.request.uri(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void registerMetrics(Collection<StepStats> stats, double seconds, long jitMs) {
+        for (StepStats step : stats) {
+            Gauge.builder(LATENCY, step, StepStats::firstMs)
+                    .description("Latência das requisições de aquecimento: primeira chamada e média das últimas")
+                    .tags("request", step.name, "stage", "first").baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder(LATENCY, step, StepStats::finalMs)
+                    .description("Latência das requisições de aquecimento: primeira chamada e média das últimas")
+                    .tags("request", step.name, "stage", "final").baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Counter.builder(REQUESTS).tags("request", step.name, "outcome", "success")
+                    .register(meterRegistry).increment(step.successes);
+            Counter.builder(REQUESTS).tags("request", step.name, "outcome", "failure")
+                    .register(meterRegistry).increment(step.failures);
+        }
+        Gauge.builder(DURATION, () -> seconds).description("Duração do aquecimento").baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder(JIT_TIME, () -> jitMs).description("Tempo de compilação do JIT durante o aquecimento")
+                .baseUnit("milliseconds").register(meterRegistry);
+    }
+
+    private static long compilationTimeMs() {
+        CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        return compilation != null && compilation.isCompilationTimeMonitoringSupported()
+                ? compilation.getTotalCompilationTime() : 0;
+    }
+
+    private record Step(StepStats stats, HttpRequest request) {
+    }
+
+    /**
+     * Latências de um tipo de requisição: a primeira e as {@value #RECENT} mais recentes.
+     */
+    private static final class StepStats {
+
+        private static final int RECENT = 20;
+
+        private final String name;
+        private final long[] recent = new long[RECENT];
+        private long firstNanos = -1;
+        private int count;
+        private int successes;
+        private int failures;
+
+        StepStats(String name) {
+            this.name = name;
+        }
+
+        synchronized void record(long nanos, boolean success) {
+            if (firstNanos < 0) {
+                firstNanos = nanos;
+            }
+            recent[count++ % RECENT] = nanos;
+            if (success) {
+                successes++;
+            } else {
+                failures++;
+            }
+        }
+
+        synchronized double firstMs() {
+            return firstNanos < 0 ? Double.NaN : firstNanos / 1e6;
+        }
+
+        synchronized double finalMs() {
+            int n = Math.min(count, RECENT);
+            if (n == 0) {
+                return Double.NaN;
+            }
+            long sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += recent[i];
+            }
+            return sum / 1e6 / n;
+        }
+    }
+}
@@ -1,41 +1,60 @@
 -- Inserindo 5 posts para o author_id = 1
-INSERT INTO posts (title, content, summary, status, author_id, created_at, updated_at)
-VALUES ('Primeiro Post do Usuário 1', 'Conteúdo detalhado do primeiro post.', 'Resumo do primeiro post.', 'PUBLISHED',
-        1, '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
-       ('Segunda Publicação do Usuário 1', 'Conteúdo sobre a segunda publicação.', 'Resumo da segunda publicação.',
-        'PUBLISHED', 1, '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
-       ('Terceiro Tópico do Usuário 1', 'Conteúdo aprofundado sobre o terceiro tópico.', 'Resumo do terceiro tópico.',
-        'PUBLISHED', 1, '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
-       ('Quarta Ideia do Usuário 1', 'Explorando a quarta ideia em detalhes.', 'Resumo da quarta ideia.', 'PUBLISHED',
-        1, '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
-       ('Quinto Artigo do Usuário 1', 'Artigo completo sobre o quinto assunto.', 'Resumo do quinto artigo.',
-        'PUBLISHED', 1, '2025-09-11 20:23:00', '2025-09-11 20:23:00');
+INSERT INTO posts (title, summary, status, author_id, created_at, updated_at)
+VALUES ('Primeiro Post do Usuário 1', 'Resumo do primeiro post.', 'PUBLISHED', 1,
+        '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
+       ('Segunda Publicação do Usuário 1', 'Resumo da segunda publicação.', 'PUBLISHED', 1,
+        '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
+       ('Terceiro Tópico do Usuário 1', 'Resumo do terceiro tópico.', 'PUBLISHED', 1,
+        '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
+       ('Quarta Ideia do Usuário 1', 'Resumo da quarta ideia.', 'PUBLISHED', 1,
+        '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
+       ('Quinto Artigo do Usuário 1', 'Resumo do quinto artigo.', 'PUBLISHED', 1,
+        '2025-09-11 20:23:00', '2025-09-11 20:23:00');
 
 -- Inserindo 5 posts para o author_id = 2
-INSERT INTO posts (title, content, summary, status, author_id, created_at, updated_at)
-VALUES ('Primeiro Post do Usuário 2', 'Conteúdo detalhado do primeiro post do usuário 2.',
-        'Resumo do primeiro post do usuário 2.', 'PUBLISHED', 2, '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
-       ('Segunda Publicação do Usuário 2', 'Conteúdo sobre a segunda publicação do usuário 2.',
-        'Resumo da segunda publicação do usuário 2.', 'PUBLISHED', 2, '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
-       ('Terceiro Tópico do Usuário 2', 'Conteúdo aprofundado sobre o terceiro tópico do usuário 2.',
-        'Resumo do terceiro tópico do usuário 2.', 'PUBLISHED', 2, '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
-       ('Quarta Ideia do Usuário 2', 'Explorando a quarta ideia em detalhes do usuário 2.',
-        'Resumo da quarta ideia do usuário 2.', 'PUBLISHED', 2, '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
-       ('Quinto Artigo do Usuário 2', 'Artigo completo sobre o quinto assunto do usuário 2.',
-        'Resumo do quinto artigo do usuário 2.', 'PUBLISHED', 2, '2025-09-11 20:23:00', '2025-09-11 20:23:00');
+INSERT INTO posts (title, summary, status, author_id, created_at, updated_at)
+VALUES ('Primeiro Post do Usuário 2', 'Resumo do primeiro post do usuário 2.', 'PUBLISHED', 2,
+        '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
+       ('Segunda Publicação do Usuário 2', 'Resumo da segunda publicação do usuário 2.', 'PUBLISHED', 2,
+        '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
+       ('Terceiro Tópico do Usuário 2', 'Resumo do terceiro tópico do usuário 2.', 'PUBLISHED', 2,
+        '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
+       ('Quarta Ideia do Usuário 2', 'Resumo da quarta ideia do usuário 2.', 'PUBLISHED', 2,
+        '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
+       ('Quinto Artigo do Usuário 2', 'Resumo do quinto artigo do usuário 2.', 'PUBLISHED', 2,
+        '2025-09-11 20:23:00', '2025-09-11 20:23:00');
 
 -- Inserindo 5 posts para o author_id = 3
-INSERT INTO posts (title, content, summary, status, author_id, created_at, updated_at)
-VALUES ('Primeiro Post do Usuário 3', 'Conteúdo detalhado do primeiro post do usuário 3.',
-        'Resumo do primeiro post do usuário 3.', 'PUBLISHED', 3, '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
-       ('Segunda Publicação do Usuário 3', 'Conteúdo sobre a segunda publicação do usuário 3.',
-        'Resumo da segunda publicação do usuário 3.', 'PUBLISHED', 3, '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
-       ('Terceiro Tópico do Usuário 3', 'Conteúdo aprofundado sobre o terceiro tópico do usuário 3.',
-        'Resumo do terceiro tópico do usuário 3.', 'PUBLISHED', 3, '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
-       ('Quarta Ideia do Usuário 3', 'Explorando a quarta ideia em detalhes do usuário 3.',
-        'Resumo da quarta ideia do usuário 3.', 'PUBLISHED', 3, '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
-       ('Quinto Artigo do Usuário 3', 'Artigo completo sobre o quinto assunto do usuário 3.',
-        'Resumo do quinto artigo do usuário 3.', 'PUBLISHED', 3, '2025-09-11 20:23:00', '2025-09-11 20:23:00');
+INSERT INTO posts (title, summary, status, author_id, created_at, updated_at)
+VALUES ('Primeiro Post do Usuário 3', 'Resumo do primeiro post do usuário 3.', 'PUBLISHED', 3,
+        '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
+       ('Segunda Publicação do Usuário 3', 'Resumo da segunda publicação do usuário 3.', 'PUBLISHED', 3,
+        '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
+       ('Terceiro Tópico do Usuário 3', 'Resumo do terceiro tópico do usuário 3.', 'PUBLISHED', 3,
+        '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
+       ('Quarta Ideia do Usuário 3', 'Resumo da quarta ideia do usuário 3.', 'PUBLISHED', 3,
+        '2025-09-11 20:23:00', '2025-09-11 20:23:00'),
+       ('Quinto Artigo do Usuário 3', 'Resumo do quinto artigo do usuário 3.', 'PUBLISHED', 3,
+        '2025-09-11 20:23:00', '2025-09-11 20:23:00');
+
+-- Corpos dos 15 posts (tabela post_bodies, mesma chave do post): texto em UTF-8 sem o byte de formato,
+-- que o ContentCodec lê como conteúdo sem compressão (CAST para BYTEA funciona no PostgreSQL e no H2)
+INSERT INTO post_bodies (post_id, content_data)
+VALUES (1, CAST('Conteúdo detalhado do primeiro post.' AS BYTEA)),
+       (2, CAST('Conteúdo sobre a segunda publicação.' AS BYTEA)),
+       (3, CAST('Conteúdo aprofundado sobre o terceiro tópico.' AS BYTEA)),
+       (4, CAST('Explorando a quarta ideia em detalhes.' AS BYTEA)),
+       (5, CAST('Artigo completo sobre o quinto assunto.' AS BYTEA)),
+       (6, CAST('Conteúdo detalhado do primeiro post do usuário 2.' AS BYTEA)),
+       (7, CAST('Conteúdo sobre a segunda publicação do usuário 2.' AS BYTEA)),
+       (8, CAST('Conteúdo aprofundado sobre o terceiro tópico do usuário 2.' AS BYTEA)),
+       (9, CAST('Explorando a quarta ideia em detalhes do usuário 2.' AS BYTEA)),
+       (10, CAST('Artigo completo sobre o quinto assunto do usuário 2.' AS BYTEA)),
+       (11, CAST('Conteúdo detalhado do primeiro post do usuário 3.' AS BYTEA)),
+       (12, CAST('Conteúdo sobre a segunda publicação do usuário 3.' AS BYTEA)),
+       (13, CAST('Conteúdo aprofundado sobre o terceiro tópico do usuário 3.' AS BYTEA)),
+       (14, CAST('Explorando a quarta ideia em detalhes do usuário 3.' AS BYTEA)),
+       (15, CAST('Artigo completo sobre o quinto assunto do usuário 3.' AS BYTEA));
 
 -- Inserindo 3 comentários para cada um dos 15 posts
 -- Comentários para o Post 1 (author_id: 1)
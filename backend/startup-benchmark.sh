@@ -0,0 +1,79 @@
+#!/usr/bin/env bash
+# Compara o tempo de inicialização do backend nos modos gerados pelos perfis do pom.
+#
+#   mvn -Paot,cds package        (e, com GraalVM, mvn -Pnative package)
+#   ./startup-benchmark.sh [execuções por modo, padrão 5]
+#
+# Cada execução sobe a aplicação contra um H2 em memória, em porta aleatória, e lê o
+# "Started BlogApplication in X seconds (process running for Y)" do log; o tempo reportado
+# é Y, que inclui a inicialização da JVM. Modos cujo artefato não existe são ignorados.
+set -euo pipefail
+
+cd "$(dirname "$0")"
+RUNS=${1:-5}
+APP_DIR=target/application
+JAR=backend-1.0-SNAPSHOT.jar
+NATIVE=$PWD/target/blog-backend
+
+export JWT_SECRET=${JWT_SECRET:-$(head -c 48 /dev/urandom | base64 -w0)}
+APP_ARGS=(
+  --server.port=0
+  --spring.profiles.active=default
+  --spring.datasource.url=jdbc:h2:mem:benchmark
+  --spring.datasource.driver-class-name=org.h2.Driver
+  --spring.datasource.username=sa
+  --spring.datasource.password=
+  --spring.sql.init.mode=never
+  --app.markdown.cache.disk-enabled=false
+)
+
+# Retorna o "process running for" de uma execução, em segundos. Roda de dentro de $APP_DIR, como o
+# treino do CDS: o arquivo só é aceito com o mesmo classpath, caminhos relativos inclusive.
+startup_seconds() {
+  local log
+  log=$(mktemp)
+  (cd "$APP_DIR" && exec "$@" "${APP_ARGS[@]}") > "$log" 2>&1 &
+  local pid=$!
+  for _ in $(seq 1 600); do
+    if grep -q "Started BlogApplication" "$log" || ! kill -0 "$pid" 2> /dev/null; then
+      break
+    fi
+    sleep 0.1
+  done
+  kill "$pid" 2> /dev/null || true
+  wait "$pid" 2> /dev/null || true
+  grep -o "process running for [0-9.]*" "$log" | grep -o "[0-9.]*$" || echo "falhou (ver $log)" >&2
+  rm -f "$log"
+}
+
+benchmark() {
+  local mode=$1
+  shift
+  local times=()
+  for _ in $(seq 1 "$RUNS"); do
+    times+=("$(startup_seconds "$@")")
+  done
+  printf '%s\n' "${times[@]}" | sort -n | awk -v mode="$mode" '
+    { t[NR] = $1 }
+    END { printf "%-10s min %6.3fs  mediana %6.3fs  max %6.3fs  (%d execuções)\n", mode, t[1], t[int((NR + 1) / 2)], t[NR], NR }'
+}
+
+if [[ -f $APP_DIR/$JAR ]]; then
+  benchmark jvm java -jar "$JAR"
+  if [[ -d target/spring-aot ]]; then
+    benchmark aot java -Dspring.aot.enabled=true -jar "$JAR"
+  fi
+  if [[ -f $APP_DIR/application.jsa ]]; then
+    # O arquivo traz as classes do treino, que usou o código AOT quando ele foi gerado.
+    if [[ -d target/spring-aot ]]; then
+      benchmark aot+cds java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "$JAR"
+    else
+      benchmark cds java -XX:SharedArchiveFile=application.jsa -jar "$JAR"
+    fi
+  fi
+else
+  echo "Jar extraído não encontrado em $APP_DIR; rode mvn -Pcds package (ou -Paot,cds)." >&2
+fi
+if [[ -x $NATIVE ]]; then
+  benchmark native "$NATIVE"
+fi
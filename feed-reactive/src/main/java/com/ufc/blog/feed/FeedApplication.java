@@ -0,0 +1,13 @@
+package com.ufc.blog.feed;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class FeedApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(FeedApplication.class, args);
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.ufc.blog.feed.controller;
+
+import com.ufc.blog.feed.exception.BadRequestException;
+import com.ufc.blog.feed.exception.ResourceNotFoundException;
+import com.ufc.blog.feed.model.FeedComment;
+import com.ufc.blog.feed.model.FeedPage;
+import com.ufc.blog.feed.model.FeedPost;
+import com.ufc.blog.feed.repository.CommentFeedRepository;
+import com.ufc.blog.feed.repository.PostFeedRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Endpoints públicos de leitura do feed, servidos de forma não bloqueante.
+ * Mantêm o mesmo caminho e o mesmo contrato JSON dos endpoints equivalentes do backend,
+ * mas restritos ao que um usuário anônimo pode ver (posts publicados).
+ */
+@RestController
+@RequestMapping("/api/posts")
+@RequiredArgsConstructor
+public class FeedController {
+
+    private final PostFeedRepository postFeedRepository;
+    private final CommentFeedRepository commentFeedRepository;
+
+    @Value("${app.feed.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Value("${app.feed.fetch-size:100}")
+    private int fetchSize;
+
+    /**
+     * Recupera uma página contendo todos os posts publicados.
+     *
+     * @param page número da página (padrão: 0)
+     * @param size tamanho da página (padrão: 10)
+     * @return página de posts publicados
+     */
+    @GetMapping(value = "/published", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<FeedPage<FeedPost>> getPublishedPosts(@RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size) {
+        validatePage(page, size);
+        return postFeedRepository.findPublished(page, size, fetchSize).collectList()
+                .zipWith(postFeedRepository.countPublished(),
+                        (content, total) -> FeedPage.of(content, page, size, total));
+    }
+
+    /**
+     * Transmite os posts publicados como NDJSON, um post por linha, sem materializar a página.
+     * A leitura do banco avança conforme o cliente consome a resposta.
+     *
+     * @param page número da página (padrão: 0)
+     * @param size tamanho da página (padrão: 10)
+     * @return fluxo de posts publicados
+     */
+    @GetMapping(value = "/published", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<FeedPost> streamPublishedPosts(@RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size) {
+        validatePage(page, size);
+        return postFeedRepository.findPublished(page, size, fetchSize);
+    }
+
+    /**
+     * Recupera um post publicado pelo ID.
+     *
+     * @param id ID do post a ser buscado
+     * @return detalhes do post
+     * @throws ResourceNotFoundException se o post não existir ou não estiver publicado
+     */
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<FeedPost> getPostById(@PathVariable("id") Long id) {
+        return findPublishedPost(id);
+    }
+
+    /**
+     * Lista comentários de um post publicado.
+     *
+     * @param postId ID do post cujos comentários serão listados
+     * @param page   número da página (padrão: 0)
+     * @param size   tamanho da página (padrão: 10)
+     * @return página de comentários
+     * @throws ResourceNotFoundException se o post não existir ou não estiver publicado
+     */
+    @GetMapping(value = "/{postId}/comments", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<FeedPage<FeedComment>> getCommentsByPost(@PathVariable("postId") Long postId, @RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size) {
+        validatePage(page, size);
+        return findPublishedPost(postId).flatMap(post -> commentFeedRepository.findByPostId(postId, page, size, fetchSize)
+                .doOnNext(comment -> comment.setPost(post))
+                .collectList()
+                .zipWith(commentFeedRepository.countByPostId(postId),
+                        (content, total) -> FeedPage.of(content, page, size, total)));
+    }
+
+    /**
+     * Transmite os comentários de um post publicado como NDJSON.
+     *
+     * @param postId ID do post cujos comentários serão listados
+     * @param page   número da página (padrão: 0)
+     * @param size   tamanho da página (padrão: 10)
+     * @return fluxo de comentários
+     */
+    @GetMapping(value = "/{postId}/comments", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<FeedComment> streamCommentsByPost(@PathVariable("postId") Long postId, @RequestParam(defaultValue = "0", name = "page") int page, @RequestParam(defaultValue = "10", name = "size") int size) {
+        validatePage(page, size);
+        return findPublishedPost(postId).flatMapMany(post -> commentFeedRepository.findByPostId(postId, page, size, fetchSize)
+                .doOnNext(comment -> comment.setPost(post)));
+    }
+
+    // ===== Utility =====
+
+    private Mono<FeedPost> findPublishedPost(Long id) {
+        return postFeedRepository.findPublishedById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Post", "id", id)));
+    }
+
+    private void validatePage(int page, int size) {
+        if (page < 0 || size < 1 || size > maxPageSize) {
+            throw new BadRequestException("Parâmetros de paginação inválidos (size entre 1 e " + maxPageSize + ").");
+        }
+    }
+
+}
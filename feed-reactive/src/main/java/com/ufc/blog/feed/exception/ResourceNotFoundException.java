@@ -0,0 +1,11 @@
+package com.ufc.blog.feed.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ResourceNotFoundException extends RuntimeException {
+    public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
+        super(String.format("%s não encontrado com %s : '%s'", resourceName, fieldName, fieldValue));
+    }
+}
@@ -0,0 +1,26 @@
+package com.ufc.blog.feed.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção somente leitura da tabela {@code comments}, com o mesmo contrato JSON de
+ * {@code com.ufc.blog.entity.Comment} no backend.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class FeedComment {
+
+    private Long id;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private String content;
+    private Boolean active;
+    private FeedUser author;
+    private FeedPost post;
+
+}
@@ -0,0 +1,18 @@
+package com.ufc.blog.feed.model;
+
+import java.util.List;
+
+/**
+ * Página no mesmo formato que o backend serializa com
+ * {@code spring.data.web.pageable.serialization-mode: via_dto}.
+ */
+public record FeedPage<T>(List<T> content, Metadata page) {
+
+    public static <T> FeedPage<T> of(List<T> content, int number, int size, long totalElements) {
+        long totalPages = size == 0 ? 1 : (totalElements + size - 1) / size;
+        return new FeedPage<>(content, new Metadata(size, number, totalElements, totalPages));
+    }
+
+    public record Metadata(long size, long number, long totalElements, long totalPages) {
+    }
+}
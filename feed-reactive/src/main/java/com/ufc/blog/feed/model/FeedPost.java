@@ -0,0 +1,45 @@
+package com.ufc.blog.feed.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção somente leitura da tabela {@code posts}, com o mesmo contrato JSON de
+ * {@code com.ufc.blog.entity.Post} no backend.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class FeedPost {
+
+    private Long id;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private String title;
+    private String content;
+    private String summary;
+    private Integer wordCount;
+    private Integer readingTimeMinutes;
+    private String status;
+    private LocalDateTime publishedAt;
+    private FeedUser author;
+
+    @JsonProperty("commentsCount")
+    private long commentsCount;
+
+    /**
+     * Total de visualizações já gravado em {@code post_views}; não inclui o delta ainda em memória no backend.
+     */
+    @JsonProperty("viewsCount")
+    private long viewsCount;
+
+    @JsonProperty("hasComments")
+    public boolean hasComments() {
+        return commentsCount > 0;
+    }
+
+}
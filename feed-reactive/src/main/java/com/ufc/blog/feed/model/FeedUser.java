@@ -0,0 +1,51 @@
+package com.ufc.blog.feed.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção somente leitura da tabela {@code users}, com o mesmo contrato JSON de
+ * {@code com.ufc.blog.entity.User} no backend (contadores calculados no SQL).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class FeedUser {
+
+    private Long id;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private String username;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private String bio;
+    private String role;
+    private String status;
+
+    @JsonProperty("postsCount")
+    private long postsCount;
+
+    @JsonProperty("publishedPostsCount")
+    private long publishedPostsCount;
+
+    @JsonProperty("commentsCount")
+    private long commentsCount;
+
+    @JsonProperty("fullName")
+    public String getFullName() {
+        if (firstName != null && lastName != null) {
+            return firstName + " " + lastName;
+        } else if (firstName != null) {
+            return firstName;
+        } else if (lastName != null) {
+            return lastName;
+        }
+        return username;
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.ufc.blog.feed.repository;
+
+import com.ufc.blog.feed.model.FeedComment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Leituras não bloqueantes de comentários de um post.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CommentFeedRepository {
+
+    private static final String SELECT_BY_POST = "SELECT c.id, c.created_at, c.updated_at, c.content, c.active, "
+            + FeedRows.AUTHOR_COLUMNS + """
+             FROM comments c
+            JOIN users u ON u.id = c.author_id
+            WHERE c.post_id = :postId
+            ORDER BY c.id LIMIT :limit OFFSET :offset""";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<FeedComment> findByPostId(Long postId, int page, int size, int fetchSize) {
+        return databaseClient.sql(SELECT_BY_POST)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .bind("postId", postId)
+                .bind("limit", size)
+                .bind("offset", (long) page * size)
+                .map(row -> {
+                    FeedComment comment = new FeedComment();
+                    comment.setId(row.get("id", Long.class));
+                    comment.setCreatedAt(row.get("created_at", LocalDateTime.class));
+                    comment.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+                    comment.setContent(row.get("content", String.class));
+                    comment.setActive(row.get("active", Boolean.class));
+                    comment.setAuthor(FeedRows.author(row));
+                    return comment;
+                })
+                .all();
+    }
+
+    public Mono<Long> countByPostId(Long postId) {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM comments WHERE post_id = :postId")
+                .bind("postId", postId)
+                .map(row -> FeedRows.count(row, "total"))
+                .one();
+    }
+}
@@ -0,0 +1,85 @@
+package com.ufc.blog.feed.repository;
+
+import com.ufc.blog.feed.model.FeedPost;
+import com.ufc.blog.feed.model.FeedUser;
+import io.r2dbc.spi.Readable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fragmentos SQL e mapeadores de linha compartilhados pelos repositórios do feed.
+ * Os nomes de tabelas e colunas seguem exatamente o mapeamento JPA das entidades do backend
+ * ({@code posts}, {@code post_bodies}, {@code users}, {@code comments}), que continua sendo o dono do schema.
+ */
+final class FeedRows {
+
+    static final String PUBLISHED = "PUBLISHED";
+
+    /**
+     * Colunas do autor com prefixo {@code author_}, incluindo os contadores que o backend
+     * calcula carregando as coleções lazy de {@code User}.
+     */
+    static final String AUTHOR_COLUMNS = """
+            u.id AS author_id, u.created_at AS author_created_at, u.updated_at AS author_updated_at,
+            u.username AS author_username, u.email AS author_email, u.first_name AS author_first_name,
+            u.last_name AS author_last_name, u.bio AS author_bio, u.role AS author_role, u.status AS author_status,
+            (SELECT COUNT(*) FROM posts ap WHERE ap.author_id = u.id) AS author_posts_count,
+            (SELECT COUNT(*) FROM posts ap WHERE ap.author_id = u.id AND ap.status = 'PUBLISHED') AS author_published_posts_count,
+            (SELECT COUNT(*) FROM comments ac WHERE ac.author_id = u.id) AS author_comments_count""";
+
+    static final String POST_COLUMNS = """
+            p.id, p.created_at, p.updated_at, p.title, p.summary, p.word_count, p.reading_time_minutes,
+            p.status, p.published_at,
+            (SELECT COUNT(*) FROM comments pc WHERE pc.post_id = p.id AND pc.active = TRUE) AS comments_count,
+            (SELECT pv.views FROM post_views pv WHERE pv.post_id = p.id) AS views_count""";
+
+    /**
+     * Corpo do post, em {@code post_bodies} (decodificado pelo {@link PostBodyDecoder}); como no backend,
+     * só entra na leitura de um post
+     * ({@code JOIN post_bodies b ON b.post_id = p.id}), nunca nas listagens.
+     */
+    static final String BODY_COLUMNS = "b.content_data";
+
+    private FeedRows() {
+    }
+
+    static FeedUser author(Readable row) {
+        FeedUser user = new FeedUser();
+        user.setId(row.get("author_id", Long.class));
+        user.setCreatedAt(row.get("author_created_at", LocalDateTime.class));
+        user.setUpdatedAt(row.get("author_updated_at", LocalDateTime.class));
+        user.setUsername(row.get("author_username", String.class));
+        user.setEmail(row.get("author_email", String.class));
+        user.setFirstName(row.get("author_first_name", String.class));
+        user.setLastName(row.get("author_last_name", String.class));
+        user.setBio(row.get("author_bio", String.class));
+        user.setRole(row.get("author_role", String.class));
+        user.setStatus(row.get("author_status", String.class));
+        user.setPostsCount(count(row, "author_posts_count"));
+        user.setPublishedPostsCount(count(row, "author_published_posts_count"));
+        user.setCommentsCount(count(row, "author_comments_count"));
+        return user;
+    }
+
+    static FeedPost post(Readable row) {
+        FeedPost post = new FeedPost();
+        post.setId(row.get("id", Long.class));
+        post.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        post.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        post.setTitle(row.get("title", String.class));
+        post.setSummary(row.get("summary", String.class));
+        post.setWordCount(row.get("word_count", Integer.class));
+        post.setReadingTimeMinutes(row.get("reading_time_minutes", Integer.class));
+        post.setStatus(row.get("status", String.class));
+        post.setPublishedAt(row.get("published_at", LocalDateTime.class));
+        post.setCommentsCount(count(row, "comments_count"));
+        post.setViewsCount(count(row, "views_count"));
+        post.setAuthor(author(row));
+        return post;
+    }
+
+    static long count(Readable row, String column) {
+        Long value = row.get(column, Long.class);
+        return value != null ? value : 0L;
+    }
+}
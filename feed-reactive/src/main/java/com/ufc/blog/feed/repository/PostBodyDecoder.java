@@ -0,0 +1,81 @@
+package com.ufc.blog.feed.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Leitura de {@code post_bodies.content_data} no formato do {@code ContentCodec} do backend:
+ * um byte de codec ({@code 0} texto UTF-8, {@code 1} Deflate, {@code 2} Deflate com dicionário),
+ * o ID do dicionário (short, apenas no codec 2), o tamanho original (int) e os dados.
+ * Os dicionários de {@code content_dictionaries} são imutáveis e ficam em cache após a primeira leitura.
+ */
+@Component
+@RequiredArgsConstructor
+class PostBodyDecoder {
+
+    private static final byte RAW = 0;
+    private static final byte DEFLATE = 1;
+    private static final byte DEFLATE_DICTIONARY = 2;
+
+    private final DatabaseClient databaseClient;
+
+    private final Map<Integer, byte[]> dictionaries = new ConcurrentHashMap<>();
+
+    Mono<String> decode(byte[] stored) {
+        ByteBuffer buffer = ByteBuffer.wrap(stored);
+        byte codec = buffer.get();
+        return switch (codec) {
+            case RAW -> Mono.just(new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8));
+            case DEFLATE -> Mono.fromCallable(() -> inflate(buffer, null));
+            case DEFLATE_DICTIONARY -> dictionary(Short.toUnsignedInt(buffer.getShort()))
+                    .map(dictionary -> inflate(buffer, dictionary));
+            default -> Mono.error(new IllegalStateException("Codec de conteúdo desconhecido: " + codec));
+        };
+    }
+
+    private Mono<byte[]> dictionary(int id) {
+        byte[] cached = dictionaries.get(id);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return databaseClient.sql("SELECT data FROM content_dictionaries WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("data", byte[].class))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Dicionário de compressão " + id + " não encontrado")))
+                .doOnNext(data -> dictionaries.put(id, data));
+    }
+
+    private static String inflate(ByteBuffer buffer, byte[] dictionary) {
+        byte[] utf8 = new byte[buffer.getInt()];
+        Inflater inflater = new Inflater(true);
+        try {
+            if (dictionary != null) {
+                inflater.setDictionary(dictionary);
+            }
+            inflater.setInput(buffer);
+            int read = 0;
+            while (read < utf8.length && !inflater.finished()) {
+                int n = inflater.inflate(utf8, read, utf8.length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Conteúdo comprimido truncado");
+                }
+                read += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Conteúdo comprimido inválido", e);
+        } finally {
+            inflater.end();
+        }
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,66 @@
+package com.ufc.blog.feed.repository;
+
+import com.ufc.blog.feed.model.FeedPost;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuples;
+
+/**
+ * Leituras não bloqueantes de posts publicados. Cada linha já traz o autor e os contadores,
+ * evitando o N+1 que a serialização das entidades JPA provoca no backend.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostFeedRepository {
+
+    private static final String SELECT_PUBLISHED = "SELECT " + FeedRows.POST_COLUMNS + ", " + FeedRows.AUTHOR_COLUMNS + """
+             FROM posts p
+            JOIN users u ON u.id = p.author_id
+            WHERE p.status = :status""";
+
+    private static final String SELECT_PUBLISHED_WITH_BODY = "SELECT " + FeedRows.POST_COLUMNS + ", " + FeedRows.BODY_COLUMNS
+            + ", " + FeedRows.AUTHOR_COLUMNS + """
+             FROM posts p
+            JOIN post_bodies b ON b.post_id = p.id
+            JOIN users u ON u.id = p.author_id
+            WHERE p.status = :status""";
+
+    private final DatabaseClient databaseClient;
+    private final PostBodyDecoder postBodyDecoder;
+
+    /**
+     * Busca uma página de posts publicados. O {@code fetchSize} faz o driver ler o resultado
+     * em lotes sob demanda, de modo que a contrapressão do consumidor chega até o banco.
+     */
+    public Flux<FeedPost> findPublished(int page, int size, int fetchSize) {
+        return databaseClient.sql(SELECT_PUBLISHED + " ORDER BY p.id LIMIT :limit OFFSET :offset")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .bind("status", FeedRows.PUBLISHED)
+                .bind("limit", size)
+                .bind("offset", (long) page * size)
+                .map(FeedRows::post)
+                .all();
+    }
+
+    public Mono<Long> countPublished() {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM posts WHERE status = :status")
+                .bind("status", FeedRows.PUBLISHED)
+                .map(row -> FeedRows.count(row, "total"))
+                .one();
+    }
+
+    public Mono<FeedPost> findPublishedById(Long id) {
+        return databaseClient.sql(SELECT_PUBLISHED_WITH_BODY + " AND p.id = :id")
+                .bind("status", FeedRows.PUBLISHED)
+                .bind("id", id)
+                .map(row -> Tuples.of(FeedRows.post(row), row.get("content_data", byte[].class)))
+                .one()
+                .flatMap(postAndBody -> postBodyDecoder.decode(postAndBody.getT2()).map(content -> {
+                    postAndBody.getT1().setContent(content);
+                    return postAndBody.getT1();
+                }));
+    }
+}
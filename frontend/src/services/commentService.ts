@@ -11,6 +11,9 @@ export const getCommentsByPost = async (postId: number, page: number = 0, size:
     return response.data;
 };
 
+export const commentStreamUrl = (postId: number): string =>
+    `${apiClient.defaults.baseURL}/posts/${postId}/comments/stream`;
+
 export const getCommentsByAuthor = async (authorId: number, page: number = 0, size: number = 10): Promise<Page<Comment>> => {
     const response = await apiClient.get<Page<Comment>>(`/users/${authorId}/comments`, {
         params: { page, size },
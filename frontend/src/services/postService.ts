@@ -1,10 +1,10 @@
 import apiClient from './apiClient';
-import type { Post } from '@/types/Post';
+import type { Post, PostStatusChange } from '@/types/Post';
 import type { Page } from '@/types/api';
 import type { PostStatus } from '@/types/enums';
 
-export type PostCreationPayload = Pick<Post, 'title' | 'content'>;
-export type PostUpdatePayload = Pick<Post, 'title' | 'content'>;
+export type PostCreationPayload = Pick<Post, 'title' | 'content' | 'summary'>;
+export type PostUpdatePayload = Pick<Post, 'title' | 'content' | 'summary'>;
 
 export const getAllPosts = async (page: number = 0, size: number = 10): Promise<Page<Post>> => {
     const response = await apiClient.get<Page<Post>>('/posts', {
@@ -13,15 +13,20 @@ export const getAllPosts = async (page: number = 0, size: number = 10): Promise<
     return response.data;
 }
 
+// Campos exibidos pelo PostCard; o conteúdo completo só é lido na página do post.
+const POST_CARD_FIELDS = 'id,title,summary,reading_time_minutes,created_at,author.id,author.username';
+
 export const getPublishedPosts = async (page: number = 0, size: number = 10): Promise<Page<Post>> => {
     const response = await apiClient.get<Page<Post>>('/posts/published', {
-        params: { page, size },
+        params: { page, size, fields: POST_CARD_FIELDS },
     });
     return response.data;
 };
 
-export const getPostById = async (id: number): Promise<Post> => {
-    const response = await apiClient.get<Post>(`/posts/${id}`);
+export const getPostById = async (id: number, options: { render?: 'html' } = {}): Promise<Post> => {
+    const response = await apiClient.get<Post>(`/posts/${id}`, {
+        params: options.render ? { render: options.render } : undefined,
+    });
     return response.data;
 };
 
@@ -42,8 +47,8 @@ export const updatePost = async (id: number, postData: PostUpdatePayload): Promi
     return response.data;
 };
 
-export const updatePostStatus = async (id: number, status: PostStatus): Promise<Post> => {
-    const response = await apiClient.patch<Post>(`/posts/${id}/status`, null, {
+export const updatePostStatus = async (id: number, status: PostStatus): Promise<PostStatusChange> => {
+    const response = await apiClient.patch<PostStatusChange>(`/posts/${id}/status`, null, {
         params: { status },
     });
     return response.data;
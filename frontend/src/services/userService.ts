@@ -1,5 +1,5 @@
 import apiClient from './apiClient';
-import type { User } from '@/types/User';
+import type { User, UserStatusChange } from '@/types/User';
 import type { Page } from '@/types/api';
 import type { UserStatus} from '@/types/enums';
 
@@ -25,8 +25,8 @@ export const deleteUser = async (id: number): Promise<void> => {
     await apiClient.delete(`/users/${id}`);
 };
 
-export const updateUserStatus = async (id: number, status: UserStatus): Promise<User> => {
-    const response = await apiClient.patch<User>(`/users/${id}/status`, null, {
+export const updateUserStatus = async (id: number, status: UserStatus): Promise<UserStatusChange> => {
+    const response = await apiClient.patch<UserStatusChange>(`/users/${id}/status`, null, {
         params: { status },
     });
     return response.data;
@@ -2,7 +2,8 @@ import type { User } from './User.js';
 import type { Post } from './Post.js';
 
 export interface Comment {
-    id: number;
+    id?: number;
+    ingestion_id?: string;
     content: string;
     active: boolean;
     created_at: string;
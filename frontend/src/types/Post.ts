@@ -4,13 +4,25 @@ export interface Post {
     id: number;
     title: string;
     content: string;
+    content_html?: string;
     summary?: string;
+    word_count?: number;
+    reading_time_minutes?: number;
     status: PostStatus;
     published_at?: string;
     created_at: string;
     updated_at: string;
+    viewsCount?: number;
     author: {
         id: number;
         username: string;
     };
-}
\ No newline at end of file
+}
+
+// Resposta de PATCH /posts/{id}/status: só os campos que a transição altera.
+export interface PostStatusChange {
+    id: number;
+    status: PostStatus;
+    published_at?: string;
+    updated_at: string;
+}
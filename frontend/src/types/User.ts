@@ -17,4 +17,11 @@ export interface User {
     publishedPostsCount?: number;
     commentsCount?: number;
     fullName?: string;
-}
\ No newline at end of file
+}
+
+// Resposta de PATCH /users/{id}/status: só os campos que a transição altera.
+export interface UserStatusChange {
+    id: number;
+    status: UserStatus;
+    updated_at: string;
+}
@@ -4,6 +4,13 @@ export enum PostStatus {
     ARCHIVED = 'ARCHIVED',
 }
 
+// Transições aceitas por PATCH /posts/{id}/status (PostStatus.sources() no backend).
+export const POST_STATUS_TRANSITIONS: Record<PostStatus, PostStatus[]> = {
+    [PostStatus.DRAFT]: [PostStatus.PUBLISHED, PostStatus.ARCHIVED],
+    [PostStatus.PUBLISHED]: [PostStatus.DRAFT, PostStatus.ARCHIVED],
+    [PostStatus.ARCHIVED]: [PostStatus.DRAFT],
+};
+
 export enum UserRole {
     USER = 'USER',
     ADMIN = 'ADMIN',
@@ -14,4 +21,12 @@ export enum UserStatus {
     INACTIVE = 'INACTIVE',
     SUSPENDED = 'SUSPENDED',
     PENDING = 'PENDING',
-}
\ No newline at end of file
+}
+
+// Transições aceitas por PATCH /users/{id}/status (UserStatus.sources() no backend).
+export const USER_STATUS_TRANSITIONS: Record<UserStatus, UserStatus[]> = {
+    [UserStatus.ACTIVE]: [UserStatus.SUSPENDED, UserStatus.INACTIVE],
+    [UserStatus.SUSPENDED]: [UserStatus.ACTIVE, UserStatus.INACTIVE],
+    [UserStatus.INACTIVE]: [UserStatus.ACTIVE],
+    [UserStatus.PENDING]: [UserStatus.ACTIVE, UserStatus.INACTIVE],
+};
\ No newline at end of file